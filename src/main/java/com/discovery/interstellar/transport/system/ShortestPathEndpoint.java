@@ -6,8 +6,15 @@ import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
 import org.springframework.ws.server.endpoint.annotation.RequestPayload;
 import org.springframework.ws.server.endpoint.annotation.ResponsePayload;
 
+import com.discovery.interstellar.transport.system.routing.SearchAlgorithm;
+import com.discovery.interstellar.transport.system.schema.GetAllShortestPathsRequest;
+import com.discovery.interstellar.transport.system.schema.GetAllShortestPathsResponse;
+import com.discovery.interstellar.transport.system.schema.GetKShortestPathsRequest;
+import com.discovery.interstellar.transport.system.schema.GetKShortestPathsResponse;
 import com.discovery.interstellar.transport.system.schema.GetShortestPathRequest;
 import com.discovery.interstellar.transport.system.schema.GetShortestPathResponse;
+import com.discovery.interstellar.transport.system.schema.GetShortestPathsRequest;
+import com.discovery.interstellar.transport.system.schema.GetShortestPathsResponse;
 
 /**
  * The Class ShortestPathEndpoint.
@@ -34,7 +41,62 @@ public class ShortestPathEndpoint {
     @ResponsePayload
     public GetShortestPathResponse getShortestPath(@RequestPayload GetShortestPathRequest request) {
         GetShortestPathResponse response = new GetShortestPathResponse();
-        response.setPath(pathRepository.getShortestPath(request.getName()));
+        boolean trafficAllowed = Boolean.TRUE.equals(request.isTrafficAllowed());
+        boolean undirectedGraph = Boolean.TRUE.equals(request.isUndirectedGraph());
+        SearchAlgorithm algorithm = SearchAlgorithm.fromStringOrDefault(request.getAlgorithm());
+        response.setPath(pathRepository.getShortestPath(request.getName(), trafficAllowed, undirectedGraph, algorithm));
+
+        return response;
+    }
+
+    /**
+     * Gets the shortest paths to a batch of destinations.
+     *
+     * @param request the request
+     * @return the shortest paths
+     */
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getShortestPathsRequest")
+    @ResponsePayload
+    public GetShortestPathsResponse getShortestPaths(@RequestPayload GetShortestPathsRequest request) {
+        GetShortestPathsResponse response = new GetShortestPathsResponse();
+        boolean trafficAllowed = Boolean.TRUE.equals(request.isTrafficAllowed());
+        boolean undirectedGraph = Boolean.TRUE.equals(request.isUndirectedGraph());
+        response.getRoute().addAll(pathRepository.getShortestPaths(request.getSource(), request.getDestination(), trafficAllowed, undirectedGraph));
+
+        return response;
+    }
+
+    /**
+     * Gets the shortest paths from a source to every reachable planet.
+     *
+     * @param request the request
+     * @return the shortest paths
+     */
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getAllShortestPathsRequest")
+    @ResponsePayload
+    public GetAllShortestPathsResponse getAllShortestPaths(@RequestPayload GetAllShortestPathsRequest request) {
+        GetAllShortestPathsResponse response = new GetAllShortestPathsResponse();
+        boolean trafficAllowed = Boolean.TRUE.equals(request.isTrafficAllowed());
+        boolean undirectedGraph = Boolean.TRUE.equals(request.isUndirectedGraph());
+        response.getRoute().addAll(pathRepository.getAllShortestPaths(request.getSource(), trafficAllowed, undirectedGraph));
+
+        return response;
+    }
+
+    /**
+     * Gets the shortest loopless paths between two planets, best first.
+     *
+     * @param request the request
+     * @return the shortest paths
+     */
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getKShortestPathsRequest")
+    @ResponsePayload
+    public GetKShortestPathsResponse getKShortestPaths(@RequestPayload GetKShortestPathsRequest request) {
+        GetKShortestPathsResponse response = new GetKShortestPathsResponse();
+        boolean trafficAllowed = Boolean.TRUE.equals(request.isTrafficAllowed());
+        boolean undirectedGraph = Boolean.TRUE.equals(request.isUndirectedGraph());
+        response.getRoute().addAll(pathRepository.getKShortestPaths(request.getSource(), request.getName(), request.getCount(),
+                trafficAllowed, undirectedGraph));
 
         return response;
     }
@@ -9,12 +9,24 @@ import org.springframework.transaction.support.TransactionCallbackWithoutResult;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import com.discovery.interstellar.transport.system.entity.Vertex;
-import com.discovery.interstellar.transport.system.helper.Graph;
+import com.discovery.interstellar.transport.system.routing.CompactGraph;
+import com.discovery.interstellar.transport.system.routing.GraphSnapshot;
+import com.discovery.interstellar.transport.system.routing.RouteResult;
+import com.discovery.interstellar.transport.system.routing.SearchAlgorithm;
+import com.discovery.interstellar.transport.system.routing.ShortestPathTree;
+import com.discovery.interstellar.transport.system.schema.Destination;
+import com.discovery.interstellar.transport.system.schema.Route;
 import com.discovery.interstellar.transport.system.service.EntityManagerService;
+import com.discovery.interstellar.transport.system.service.RouteCache;
 import com.discovery.interstellar.transport.system.service.ShortestPathService;
 
 import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The Class ShortestPathRepository.
@@ -34,40 +46,61 @@ public class ShortestPathRepository {
     /** The Constant PLANET_DOES_NOT_EXIST. */
     private static final String PLANET_DOES_NOT_EXIST = " does not exist in the Interstellar Transport System.";
     
+    /** The Constant DEFAULT_ROUTE_COUNT, the number of alternative routes when none is asked for. */
+    private static final int DEFAULT_ROUTE_COUNT = 3;
+
+    /** The Constant MAX_ROUTE_COUNT. */
+    private static final int MAX_ROUTE_COUNT = 16;
+
     /** The platform transaction manager. */
     protected PlatformTransactionManager platformTransactionManager;
     
-    /** The graph. */
-    private Graph graph;
-    
     /** The entity manager service. */
     private EntityManagerService entityManagerService;
 
+    /** The shortest path service. */
+    private ShortestPathService shortestPathService;
+
+    /** The route cache. */
+    private RouteCache routeCache;
+
     /**
      * Instantiates a new shortest path repository.
      *
      * @param platformTransactionManager the platform transaction manager
      * @param entityManagerService the entity manager service
+     * @param shortestPathService the shortest path service
+     * @param routeCache the route cache
      */
     @Autowired
-    public ShortestPathRepository(@Qualifier("transactionManager") PlatformTransactionManager platformTransactionManager, EntityManagerService entityManagerService) {
+    public ShortestPathRepository(@Qualifier("transactionManager") PlatformTransactionManager platformTransactionManager, EntityManagerService entityManagerService,
+                                  ShortestPathService shortestPathService, RouteCache routeCache) {
         this.platformTransactionManager = platformTransactionManager;
         this.entityManagerService = entityManagerService;
+        this.shortestPathService = shortestPathService;
+        this.routeCache = routeCache;
     }
 
     /**
-     * Inits the data.
+     * Inits the data. The graph file of the last import is mapped if it is still current;
+     * otherwise the workbook is imported again and the graph file rewritten.
      */
     @PostConstruct
     public void initData() {
+        if (entityManagerService.loadGraphSnapshot()) {
+            return;
+        }
 
         TransactionTemplate tmpl = new TransactionTemplate(platformTransactionManager);
         tmpl.execute(new TransactionCallbackWithoutResult() {
             @Override
             protected void doInTransactionWithoutResult(TransactionStatus transactionStatus) {
+                entityManagerService.clearGraph();
                 entityManagerService.persistGraph();
             }
         });
+        // only reached once the import has been committed
+        entityManagerService.writeGraphSnapshot();
     }
 
     /**
@@ -77,17 +110,29 @@ public class ShortestPathRepository {
      * @return the shortest path
      */
     public String getShortestPath(String name) {
+        return getShortestPath(name, false, false, SearchAlgorithm.DIJKSTRA);
+    }
+
+    /**
+     * Gets the shortest path.
+     *
+     * @param name the name
+     * @param trafficAllowed the traffic allowed
+     * @param undirectedGraph the undirected graph
+     * @param algorithm the algorithm
+     * @return the shortest path
+     */
+    public String getShortestPath(String name, boolean trafficAllowed, boolean undirectedGraph, SearchAlgorithm algorithm) {
         StringBuilder path = new StringBuilder();
-        graph = entityManagerService.selectGraph();
-        ShortestPathService sp = new ShortestPathService(graph);
+        GraphSnapshot snapshot = entityManagerService.getGraphSnapshot();
 
-        if (graph == null || graph.getVertexes() == null || graph.getVertexes().isEmpty()) {
+        if (snapshot == null || snapshot.isEmpty()) {
             return NO_PLANET_FOUND;
         }
-        Vertex source = graph.getVertexes().get(0);
-        Vertex destination = entityManagerService.getVertexByName(name);
+        Vertex source = snapshot.getHomeVertex();
+        Vertex destination = snapshot.getVertexByName(name);
         if (destination == null) {
-            destination = entityManagerService.getVertexById(name);
+            destination = snapshot.getVertexById(name);
             if (destination == null) {
                 return name + PLANET_DOES_NOT_EXIST;
             }
@@ -95,13 +140,9 @@ public class ShortestPathRepository {
             return PATH_NOT_NEEDED + source.getName() + ".";
         }
 
-        sp.run(source);
-        LinkedList<Vertex> paths = sp.getPath(destination);
+        LinkedList<Vertex> paths = routeCache.findRoute(snapshot, source, destination, trafficAllowed, undirectedGraph, algorithm).getPath();
         if (paths != null) {
-            for (Vertex v : paths) {
-                path.append(v.getName() + " (" + v.getVertexId() + ")");
-                path.append("\t");
-            }
+            appendPath(path, paths);
         } else {
             path.append(PATH_NOT_AVAILABLE + destination.getName());
             path.append(".");
@@ -109,4 +150,190 @@ public class ShortestPathRepository {
 
         return path.toString();
     }
+
+    /**
+     * Gets the shortest paths to a batch of destinations. Destinations without a source of their
+     * own start from the given source, or from the home planet if there is none. Every distinct
+     * source is answered from one shortest path tree, and the trees of several sources are
+     * computed in parallel.
+     *
+     * @param sourceName the name or id of the default source, may be null
+     * @param destinations the destinations
+     * @param trafficAllowed the traffic allowed
+     * @param undirectedGraph the undirected graph
+     * @return the routes, in the order of the destinations
+     */
+    public List<Route> getShortestPaths(String sourceName, List<Destination> destinations, boolean trafficAllowed, boolean undirectedGraph) {
+        List<Route> routes = new ArrayList<>(destinations.size());
+        GraphSnapshot snapshot = entityManagerService.getGraphSnapshot();
+        if (snapshot == null || snapshot.isEmpty()) {
+            for (Destination destination : destinations) {
+                String name = destination.getSource() != null ? destination.getSource() : sourceName;
+                routes.add(route(name, destination.getName(), NO_PLANET_FOUND, null));
+            }
+            return routes;
+        }
+
+        Vertex[] sources = new Vertex[destinations.size()];
+        Map<String, Vertex> distinctSources = new LinkedHashMap<>();
+        for (int i = 0; i < sources.length; i++) {
+            String name = destinations.get(i).getSource() != null ? destinations.get(i).getSource() : sourceName;
+            sources[i] = name == null ? snapshot.getHomeVertex() : findVertex(snapshot, name);
+            if (sources[i] != null) {
+                distinctSources.put(sources[i].getVertexId(), sources[i]);
+            }
+        }
+        CompactGraph graph = snapshot.getCompactGraph(trafficAllowed, undirectedGraph);
+        Map<String, ShortestPathTree> trees = new ConcurrentHashMap<>();
+        if (distinctSources.size() > 1) {
+            distinctSources.values().parallelStream().forEach(source -> trees.put(source.getVertexId(), shortestPathService.getShortestPathTree(graph, source)));
+        } else {
+            for (Vertex source : distinctSources.values()) {
+                trees.put(source.getVertexId(), shortestPathService.getShortestPathTree(graph, source));
+            }
+        }
+
+        for (int i = 0; i < sources.length; i++) {
+            Destination request = destinations.get(i);
+            Vertex source = sources[i];
+            Vertex destination = findVertex(snapshot, request.getName());
+            String requestedSource = request.getSource() != null ? request.getSource() : sourceName;
+            if (source == null) {
+                routes.add(route(requestedSource, request.getName(), requestedSource + PLANET_DOES_NOT_EXIST, null));
+            } else if (destination == null) {
+                routes.add(route(source.getName(), request.getName(), request.getName() + PLANET_DOES_NOT_EXIST, null));
+            } else if (source.getVertexId().equals(destination.getVertexId())) {
+                routes.add(route(source.getName(), destination.getName(), PATH_NOT_NEEDED + source.getName() + ".", 0f));
+            } else {
+                RouteResult result = trees.get(source.getVertexId()).getRoute(graph.indexOf(destination.getVertexId()));
+                StringBuilder path = new StringBuilder();
+                if (result.getPath() != null) {
+                    appendPath(path, result.getPath());
+                } else {
+                    path.append(PATH_NOT_AVAILABLE + destination.getName() + ".");
+                }
+                routes.add(route(source.getName(), destination.getName(), path.toString(), result.isReachable() ? result.getCost() : null));
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * Gets the shortest paths from a source to every planet it can reach, all read off a single
+     * shortest path tree.
+     *
+     * @param sourceName the name or id of the source, the home planet if null
+     * @param trafficAllowed the traffic allowed
+     * @param undirectedGraph the undirected graph
+     * @return the routes, in planet order, none if the source does not exist
+     */
+    public List<Route> getAllShortestPaths(String sourceName, boolean trafficAllowed, boolean undirectedGraph) {
+        List<Route> routes = new ArrayList<>();
+        GraphSnapshot snapshot = entityManagerService.getGraphSnapshot();
+        if (snapshot == null || snapshot.isEmpty()) {
+            return routes;
+        }
+        Vertex source = sourceName == null ? snapshot.getHomeVertex() : findVertex(snapshot, sourceName);
+        if (source == null) {
+            return routes;
+        }
+        CompactGraph graph = snapshot.getCompactGraph(trafficAllowed, undirectedGraph);
+        ShortestPathTree tree = shortestPathService.getShortestPathTree(graph, source);
+        for (Vertex destination : snapshot.getVertexes()) {
+            if (source.getVertexId().equals(destination.getVertexId())) {
+                continue;
+            }
+            RouteResult result = tree.getRoute(graph.indexOf(destination.getVertexId()));
+            if (result.getPath() != null) {
+                StringBuilder path = new StringBuilder();
+                appendPath(path, result.getPath());
+                routes.add(route(source.getName(), destination.getName(), path.toString(), result.getCost()));
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * Gets the shortest loopless routes between two planets, best first, to offer backup routes
+     * when the best one is closed.
+     *
+     * @param sourceName the name or id of the source, the home planet if null
+     * @param name the name or id of the destination
+     * @param count the number of routes, {@value #DEFAULT_ROUTE_COUNT} if null, at most {@value #MAX_ROUTE_COUNT}
+     * @param trafficAllowed the traffic allowed
+     * @param undirectedGraph the undirected graph
+     * @return the routes, or a single route whose path explains why there is none
+     */
+    public List<Route> getKShortestPaths(String sourceName, String name, Integer count, boolean trafficAllowed, boolean undirectedGraph) {
+        List<Route> routes = new ArrayList<>();
+        GraphSnapshot snapshot = entityManagerService.getGraphSnapshot();
+        if (snapshot == null || snapshot.isEmpty()) {
+            routes.add(route(sourceName, name, NO_PLANET_FOUND, null));
+            return routes;
+        }
+        Vertex source = sourceName == null ? snapshot.getHomeVertex() : findVertex(snapshot, sourceName);
+        Vertex destination = findVertex(snapshot, name);
+        if (source == null) {
+            routes.add(route(sourceName, name, sourceName + PLANET_DOES_NOT_EXIST, null));
+        } else if (destination == null) {
+            routes.add(route(source.getName(), name, name + PLANET_DOES_NOT_EXIST, null));
+        } else if (source.getVertexId().equals(destination.getVertexId())) {
+            routes.add(route(source.getName(), destination.getName(), PATH_NOT_NEEDED + source.getName() + ".", 0f));
+        } else {
+            int k = count == null ? DEFAULT_ROUTE_COUNT : Math.max(1, Math.min(count, MAX_ROUTE_COUNT));
+            CompactGraph graph = snapshot.getCompactGraph(trafficAllowed, undirectedGraph);
+            for (RouteResult result : shortestPathService.findRoutes(graph, source, destination, k)) {
+                StringBuilder path = new StringBuilder();
+                appendPath(path, result.getPath());
+                routes.add(route(source.getName(), destination.getName(), path.toString(), result.getCost()));
+            }
+            if (routes.isEmpty()) {
+                routes.add(route(source.getName(), destination.getName(), PATH_NOT_AVAILABLE + destination.getName() + ".", null));
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * Finds a vertex by name, or by id if no vertex has that name.
+     *
+     * @param snapshot the snapshot
+     * @param name the name or id
+     * @return the vertex, or null
+     */
+    private static Vertex findVertex(GraphSnapshot snapshot, String name) {
+        Vertex vertex = snapshot.getVertexByName(name);
+        return vertex != null ? vertex : snapshot.getVertexById(name);
+    }
+
+    /**
+     * Appends the vertices of a path, each followed by a tab.
+     *
+     * @param path the path text
+     * @param vertices the vertices
+     */
+    private static void appendPath(StringBuilder path, List<Vertex> vertices) {
+        for (Vertex v : vertices) {
+            path.append(v.getName() + " (" + v.getVertexId() + ")");
+            path.append("\t");
+        }
+    }
+
+    /**
+     * Creates a route of the batch response.
+     *
+     * @param source the source
+     * @param destination the destination
+     * @param path the path
+     * @param cost the cost, or null
+     * @return the route
+     */
+    private static Route route(String source, String destination, String path, Float cost) {
+        Route route = new Route();
+        route.setSource(source);
+        route.setDestination(destination);
+        route.setPath(path);
+        route.setCost(cost);
+        return route;
+    }
 }
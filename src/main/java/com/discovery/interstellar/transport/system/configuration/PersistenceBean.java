@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.dao.annotation.PersistenceExceptionTranslationPostProcessor;
 import org.springframework.orm.hibernate5.HibernateTransactionManager;
 import org.springframework.orm.hibernate5.LocalSessionFactoryBean;
@@ -20,6 +21,9 @@ import java.util.Properties;
 @EnableTransactionManagement
 public class PersistenceBean {
 
+    /** The Constant JDBC_BATCH_SIZE, the number of inserts sent to the database in one round trip. */
+    public static final int JDBC_BATCH_SIZE = 100;
+
     /**
      * Session factory.
      *
@@ -66,15 +70,20 @@ public class PersistenceBean {
     /**
      * Properties.
      *
+     * @param environment the environment, whose {@code interstellar.persistence.hbm2ddl-auto} keeps the
+     *            database between runs when set to {@code update} and whose
+     *            {@code interstellar.persistence.show-sql} logs every statement when set to {@code true}
      * @return the properties
      */
     @Bean
     @Qualifier("hibernateProperties")
-    public Properties properties() {
+    public Properties properties(Environment environment) {
         Properties properties = new Properties();
         properties.setProperty("hibernate.dialect", "org.hibernate.dialect.DerbyTenSevenDialect");
-        properties.setProperty("hibernate.show_sql", "true");
-        properties.setProperty("hibernate.hbm2ddl.auto", "create");
+        properties.setProperty("hibernate.show_sql", environment.getProperty("interstellar.persistence.show-sql", "false"));
+        properties.setProperty("hibernate.hbm2ddl.auto", environment.getProperty("interstellar.persistence.hbm2ddl-auto", "create"));
+        properties.setProperty("hibernate.jdbc.batch_size", String.valueOf(JDBC_BATCH_SIZE));
+        properties.setProperty("hibernate.order_inserts", "true");
 
         return properties;
     }
@@ -7,16 +7,25 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 
 import com.discovery.interstellar.transport.system.entity.Edge;
 import com.discovery.interstellar.transport.system.entity.Traffic;
 import com.discovery.interstellar.transport.system.entity.Vertex;
-import com.discovery.interstellar.transport.system.helper.Graph;
 import com.discovery.interstellar.transport.system.helper.ValidationCodes;
+import com.discovery.interstellar.transport.system.model.DistanceMatrixModel;
 import com.discovery.interstellar.transport.system.model.ShortestPathModel;
+import com.discovery.interstellar.transport.system.routing.CompactGraph;
+import com.discovery.interstellar.transport.system.routing.GraphSnapshot;
+import com.discovery.interstellar.transport.system.routing.RouteResult;
+import com.discovery.interstellar.transport.system.routing.SearchAlgorithm;
+import com.discovery.interstellar.transport.system.routing.ShortestPathTree;
 import com.discovery.interstellar.transport.system.service.EntityManagerService;
+import com.discovery.interstellar.transport.system.service.RouteCache;
 import com.discovery.interstellar.transport.system.service.ShortestPathService;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -35,6 +44,9 @@ public class InterstellarController {
     /** The Constant NO_PLANET_FOUND. */
     private static final String NO_PLANET_FOUND = "No planet found.";
     
+    /** The Constant PLANET_DOES_NOT_EXIST. */
+    private static final String PLANET_DOES_NOT_EXIST = " does not exist in the Interstellar Transport System.";
+
     /** The Constant DUPLICATE_ROUTE. */
     private static final String DUPLICATE_ROUTE = "You cannot link a route to itself.";
     
@@ -50,16 +62,21 @@ public class InterstellarController {
     /** The shortest path service. */
     private ShortestPathService shortestPathService;
 
+    /** The route cache. */
+    private RouteCache routeCache;
+
     /**
      * Instantiates a new interstellar controller.
      *
      * @param entityManagerService the entity manager service
      * @param shortestPathService the shortest path service
+     * @param routeCache the route cache
      */
     @Autowired
-    public InterstellarController(EntityManagerService entityManagerService, ShortestPathService shortestPathService) {
+    public InterstellarController(EntityManagerService entityManagerService, ShortestPathService shortestPathService, RouteCache routeCache) {
         this.entityManagerService = entityManagerService;
         this.shortestPathService = shortestPathService;
+        this.routeCache = routeCache;
     }
 
     /**
@@ -491,6 +508,7 @@ public class InterstellarController {
         pathModel.setVertexName(origin.getName());
         model.addAttribute("shortest", pathModel);
         model.addAttribute("pathList", allVertices);
+        model.addAttribute("algorithmList", SearchAlgorithm.values());
         return "shortest";
     }
 
@@ -505,24 +523,20 @@ public class InterstellarController {
     public String shortestSubmit(@ModelAttribute ShortestPathModel pathModel, Model model) {
 
         StringBuilder path = new StringBuilder();
-        Graph graph = entityManagerService.selectGraph();
-        if (pathModel.isTrafficAllowed()) {
-            graph.setTrafficAllowed(true);
-        }
-        if (pathModel.isUndirectedGraph()) {
-            graph.setUndirectedGraph(true);
-        }
-        shortestPathService.initializePlanets(graph);
-        Vertex source = entityManagerService.getVertexByName(pathModel.getVertexName());
-        Vertex destination = entityManagerService.getVertexById(pathModel.getSelectedVertex());
+        GraphSnapshot snapshot = entityManagerService.getGraphSnapshot();
+        Vertex source = snapshot.getVertexByName(pathModel.getVertexName());
+        Vertex destination = snapshot.getVertexById(pathModel.getSelectedVertex());
         //
-        shortestPathService.run(source);
-        LinkedList<Vertex> paths = shortestPathService.getPath(destination);
+        SearchAlgorithm algorithm = SearchAlgorithm.fromStringOrDefault(pathModel.getAlgorithm());
+        RouteResult route = routeCache.findRoute(snapshot, source, destination, pathModel.isTrafficAllowed(),
+                pathModel.isUndirectedGraph(), algorithm);
+        LinkedList<Vertex> paths = route.getPath();
         if (paths != null) {
             for (Vertex v : paths) {
                 path.append(v.getName() + " (" + v.getVertexId() + ")");
                 path.append("\t");
             }
+            pathModel.setTotalCost(route.getCost());
         } else if (source != null && destination != null && source.getVertexId().equals(destination.getVertexId())) {
             path.append(PATH_NOT_NEEDED + source.getName());
         } else {
@@ -533,4 +547,112 @@ public class InterstellarController {
         model.addAttribute("shortest", pathModel);
         return "result";
     }
-}
\ No newline at end of file
+
+    /**
+     * Routes submit. Lists the shortest path from the source to every reachable planet, all read
+     * off a single shortest path tree.
+     *
+     * @param pathModel the path model
+     * @param model the model
+     * @return the string
+     */
+    @RequestMapping(value = "/routes", method = RequestMethod.POST)
+    public String routesSubmit(@ModelAttribute ShortestPathModel pathModel, Model model) {
+        GraphSnapshot snapshot = entityManagerService.getGraphSnapshot();
+        Vertex source = snapshot.getVertexByName(pathModel.getVertexName());
+        if (source == null) {
+            model.addAttribute("validationMessage", pathModel.getVertexName() + PLANET_DOES_NOT_EXIST);
+            return "validation";
+        }
+        CompactGraph graph = snapshot.getCompactGraph(pathModel.isTrafficAllowed(), pathModel.isUndirectedGraph());
+        ShortestPathTree tree = shortestPathService.getShortestPathTree(graph, source);
+        List<ShortestPathModel> routes = new ArrayList<>();
+        for (Vertex destination : snapshot.getVertexes()) {
+            if (source.getVertexId().equals(destination.getVertexId())) {
+                continue;
+            }
+            RouteResult route = tree.getRoute(graph.indexOf(destination.getVertexId()));
+            if (route.getPath() != null) {
+                StringBuilder path = new StringBuilder();
+                for (Vertex v : route.getPath()) {
+                    path.append(v.getName() + " (" + v.getVertexId() + ")");
+                    path.append("\t");
+                }
+                ShortestPathModel routeModel = new ShortestPathModel();
+                routeModel.setVertexName(source.getName());
+                routeModel.setSelectedVertex(destination.getVertexId());
+                routeModel.setSelectedVertexName(destination.getName());
+                routeModel.setThePath(path.toString());
+                routeModel.setTotalCost(route.getCost());
+                routes.add(routeModel);
+            }
+        }
+        model.addAttribute("shortest", pathModel);
+        model.addAttribute("routes", routes);
+        return "routes";
+    }
+
+    /**
+     * Distance matrix.
+     *
+     * @param sourceIds the source vertex ids, all vertices if missing
+     * @param destinationIds the destination vertex ids, all vertices if missing
+     * @param trafficAllowed the traffic allowed
+     * @param undirectedGraph the undirected graph
+     * @return the distance matrix model
+     */
+    @RequestMapping(value = "/matrix", method = RequestMethod.GET)
+    @ResponseBody
+    public DistanceMatrixModel distanceMatrix(@RequestParam(value = "source", required = false) List<String> sourceIds,
+                                              @RequestParam(value = "destination", required = false) List<String> destinationIds,
+                                              @RequestParam(value = "trafficAllowed", defaultValue = "false") boolean trafficAllowed,
+                                              @RequestParam(value = "undirectedGraph", defaultValue = "false") boolean undirectedGraph) {
+        GraphSnapshot snapshot = entityManagerService.getGraphSnapshot();
+        List<String> sourceList = sourceIds == null ? vertexIds(snapshot) : sourceIds;
+        List<String> destinationList = destinationIds == null ? vertexIds(snapshot) : destinationIds;
+        CompactGraph graph = snapshot.getCompactGraph(trafficAllowed, undirectedGraph);
+        float[][] table = shortestPathService.getDistanceTable(graph, vertices(snapshot, sourceList), vertices(snapshot, destinationList));
+
+        Float[][] distances = new Float[table.length][];
+        for (int i = 0; i < table.length; i++) {
+            distances[i] = new Float[table[i].length];
+            for (int j = 0; j < table[i].length; j++) {
+                distances[i][j] = table[i][j] == Float.POSITIVE_INFINITY ? null : table[i][j];
+            }
+        }
+        DistanceMatrixModel matrixModel = new DistanceMatrixModel();
+        matrixModel.setSources(sourceList);
+        matrixModel.setDestinations(destinationList);
+        matrixModel.setDistances(distances);
+        return matrixModel;
+    }
+
+    /**
+     * Gets the ids of all vertices of a snapshot.
+     *
+     * @param snapshot the snapshot
+     * @return the vertex ids
+     */
+    private static List<String> vertexIds(GraphSnapshot snapshot) {
+        List<String> vertexIds = new ArrayList<>();
+        for (Vertex vertex : snapshot.getVertexes()) {
+            vertexIds.add(vertex.getVertexId());
+        }
+        return vertexIds;
+    }
+
+    /**
+     * Looks up vertices by id.
+     *
+     * @param snapshot the snapshot
+     * @param vertexIds the vertex ids
+     * @return the vertices, null for unknown ids
+     */
+    private static List<Vertex> vertices(GraphSnapshot snapshot, List<String> vertexIds) {
+        List<Vertex> vertices = new ArrayList<>();
+        for (String vertexId : vertexIds) {
+            vertices.add(snapshot.getVertexById(vertexId));
+        }
+        return vertices;
+    }
+}
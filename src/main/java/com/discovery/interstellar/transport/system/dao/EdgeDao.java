@@ -46,6 +46,21 @@ public class EdgeDao {
         session.save(edge);
     }
 
+    /**
+     * Save batch. The edges are written with one flush, batched by the JDBC driver, and then
+     * cleared from the session, so that a bulk load does not keep every row in the session.
+     *
+     * @param edges the edges
+     */
+    public void saveBatch(List<Edge> edges) {
+        Session session = sessionFactory.getCurrentSession();
+        for (Edge edge : edges) {
+            session.save(edge);
+        }
+        session.flush();
+        session.clear();
+    }
+
     /**
      * Update.
      *
@@ -71,6 +86,27 @@ public class EdgeDao {
         return query.executeUpdate();
     }
 
+    /**
+     * Delete all.
+     *
+     * @return the number of deleted edges
+     */
+    public int deleteAll() {
+        Session session = sessionFactory.getCurrentSession();
+        return session.createQuery("DELETE FROM edge").executeUpdate();
+    }
+
+    /**
+     * Count.
+     *
+     * @return the number of edges
+     */
+    public long count() {
+        return (Long) sessionFactory.getCurrentSession()
+                .createCriteria(Edge.class)
+                .setProjection(Projections.rowCount()).uniqueResult();
+    }
+
     /**
      * Select unique.
      *
@@ -45,6 +45,21 @@ public class TrafficDao {
         session.save(traffic);
     }
 
+    /**
+     * Save batch. The traffics are written with one flush, batched by the JDBC driver, and then
+     * cleared from the session, so that a bulk load does not keep every row in the session.
+     *
+     * @param traffics the traffics
+     */
+    public void saveBatch(List<Traffic> traffics) {
+        Session session = sessionFactory.getCurrentSession();
+        for (Traffic traffic : traffics) {
+            session.save(traffic);
+        }
+        session.flush();
+        session.clear();
+    }
+
     /**
      * Update.
      *
@@ -70,6 +85,27 @@ public class TrafficDao {
         return query.executeUpdate();
     }
 
+    /**
+     * Delete all.
+     *
+     * @return the number of deleted traffics
+     */
+    public int deleteAll() {
+        Session session = sessionFactory.getCurrentSession();
+        return session.createQuery("DELETE FROM traffic").executeUpdate();
+    }
+
+    /**
+     * Count.
+     *
+     * @return the number of traffics
+     */
+    public long count() {
+        return (Long) sessionFactory.getCurrentSession()
+                .createCriteria(Traffic.class)
+                .setProjection(Projections.rowCount()).uniqueResult();
+    }
+
     /**
      * Select unique.
      *
@@ -4,6 +4,7 @@ import org.hibernate.Criteria;
 import org.hibernate.Query;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
@@ -31,6 +32,15 @@ public class VertexDao {
         session.save(vertex);
     }
 
+    public void saveBatch(List<Vertex> vertexes) {
+        Session session = sessionFactory.getCurrentSession();
+        for (Vertex vertex : vertexes) {
+            session.save(vertex);
+        }
+        session.flush();
+        session.clear();
+    }
+
     public void update(Vertex vertex) {
         Session session = sessionFactory.getCurrentSession();
         session.merge(vertex);
@@ -45,6 +55,17 @@ public class VertexDao {
         return query.executeUpdate();
     }
 
+    public int deleteAll() {
+        Session session = sessionFactory.getCurrentSession();
+        return session.createQuery("DELETE FROM vertex").executeUpdate();
+    }
+
+    public long count() {
+        return (Long) sessionFactory.getCurrentSession()
+                .createCriteria(Vertex.class)
+                .setProjection(Projections.rowCount()).uniqueResult();
+    }
+
     public Vertex selectUnique(String vertexId) {
         Session session = sessionFactory.getCurrentSession();
         Criteria criteria = session.createCriteria(Vertex.class);
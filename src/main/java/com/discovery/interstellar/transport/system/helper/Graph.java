@@ -6,6 +6,7 @@ import java.util.List;
 import com.discovery.interstellar.transport.system.entity.Edge;
 import com.discovery.interstellar.transport.system.entity.Traffic;
 import com.discovery.interstellar.transport.system.entity.Vertex;
+import com.discovery.interstellar.transport.system.routing.TrafficOverlay;
 
 /**
  * The Class Graph.
@@ -104,19 +105,15 @@ public class Graph {
     }
 
     /**
-     * Process traffics.
+     * Process traffics, setting the delay of every matching traffic on its edge.
+     *
+     * @deprecated modifies the edges; use a {@link TrafficOverlay}, which keeps the weights apart
      */
+    @Deprecated
     public void processTraffics() {
-        if (traffics != null && !traffics.isEmpty()) {
-            for (Traffic traffic : traffics) {
-                for (Edge edge : edges) {
-                    if (checkObjectsEqual(edge.getEdgeId(), traffic.getRouteId())) {
-                        if (checkObjectsEqual(edge.getSource(), traffic.getSource()) && checkObjectsEqual(edge.getDestination(), traffic.getDestination())) {
-                            edge.setTimeDelay(traffic.getDelay());
-                        }
-                    }
-                }
-            }
+        TrafficOverlay overlay = TrafficOverlay.build(edges, traffics);
+        for (int match = 0; match < overlay.size(); match++) {
+            edges.get(overlay.getEdgeIndex(match)).setTimeDelay(overlay.getDelay(match));
         }
     }
 
@@ -124,7 +121,10 @@ public class Graph {
      * Gets the undirected edges.
      *
      * @return the undirected edges
+     * @deprecated copies every edge; use the undirected view of a
+     *             {@link com.discovery.interstellar.transport.system.routing.CompactGraph}
      */
+    @Deprecated
     public List<Edge> getUndirectedEdges() {
         List<Edge> undirectedEdges = new ArrayList<Edge>();
         for (Edge fromEdge : edges) {
@@ -0,0 +1,72 @@
+package com.discovery.interstellar.transport.system.model;
+
+import java.util.List;
+
+/**
+ * The Class DistanceMatrixModel.
+ */
+public class DistanceMatrixModel {
+
+    /** The source vertex ids. */
+    private List<String> sources;
+
+    /** The destination vertex ids. */
+    private List<String> destinations;
+
+    /** The distances, by source then destination, null where the destination is not reachable. */
+    private Float[][] distances;
+
+    /**
+     * Gets the sources.
+     *
+     * @return the sources
+     */
+    public List<String> getSources() {
+        return sources;
+    }
+
+    /**
+     * Sets the sources.
+     *
+     * @param sources the new sources
+     */
+    public void setSources(List<String> sources) {
+        this.sources = sources;
+    }
+
+    /**
+     * Gets the destinations.
+     *
+     * @return the destinations
+     */
+    public List<String> getDestinations() {
+        return destinations;
+    }
+
+    /**
+     * Sets the destinations.
+     *
+     * @param destinations the new destinations
+     */
+    public void setDestinations(List<String> destinations) {
+        this.destinations = destinations;
+    }
+
+    /**
+     * Gets the distances.
+     *
+     * @return the distances
+     */
+    public Float[][] getDistances() {
+        return distances;
+    }
+
+    /**
+     * Sets the distances.
+     *
+     * @param distances the new distances
+     */
+    public void setDistances(Float[][] distances) {
+        this.distances = distances;
+    }
+}
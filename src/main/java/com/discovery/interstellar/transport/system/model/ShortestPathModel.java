@@ -20,6 +20,9 @@ public class ShortestPathModel {
     
     /** The path. */
     private String thePath;
+
+    /** The total cost of the path. */
+    private Float totalCost;
     
     /** The source vertex. */
     private String sourceVertex;
@@ -33,6 +36,9 @@ public class ShortestPathModel {
     /** The traffic allowed. */
     private boolean trafficAllowed;
 
+    /** The search algorithm. */
+    private String algorithm;
+
     /**
      * Gets the selected vertex.
      *
@@ -105,6 +111,24 @@ public class ShortestPathModel {
         this.thePath = thePath;
     }
 
+    /**
+     * Gets the total cost.
+     *
+     * @return the total cost
+     */
+    public Float getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Sets the total cost.
+     *
+     * @param totalCost the new total cost
+     */
+    public void setTotalCost(Float totalCost) {
+        this.totalCost = totalCost;
+    }
+
     /**
      * Gets the selected vertex name.
      *
@@ -194,4 +218,22 @@ public class ShortestPathModel {
     public void setTrafficAllowed(boolean trafficAllowed) {
         this.trafficAllowed = trafficAllowed;
     }
+
+    /**
+     * Gets the search algorithm.
+     *
+     * @return the search algorithm
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Sets the search algorithm.
+     *
+     * @param algorithm the new search algorithm
+     */
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
 }
@@ -0,0 +1,75 @@
+package com.discovery.interstellar.transport.system.routing;
+
+/**
+ * The Class AltEngine.
+ *
+ * <p>A* search guided by the landmark lower bounds of a {@link LandmarkIndex}. Vertices whose
+ * bound proves the target unreachable are never queued.
+ */
+public final class AltEngine {
+
+    /** The graph. */
+    private final CompactGraph graph;
+
+    /** The landmark index. */
+    private final LandmarkIndex landmarkIndex;
+
+    /**
+     * Instantiates a new ALT engine.
+     *
+     * @param landmarkIndex the landmark index
+     */
+    public AltEngine(LandmarkIndex landmarkIndex) {
+        this.graph = landmarkIndex.getGraph();
+        this.landmarkIndex = landmarkIndex;
+    }
+
+    /**
+     * Finds the shortest route between two vertices.
+     *
+     * @param source the source vertex number, may be -1
+     * @param target the target vertex number, may be -1
+     * @return the route result
+     */
+    public RouteResult route(int source, int target) {
+        if (source < 0 || target < 0) {
+            return RouteResult.unreachable();
+        }
+        float sourceBound = landmarkIndex.lowerBound(source, target);
+        if (sourceBound == Float.POSITIVE_INFINITY) {
+            return RouteResult.unreachable();
+        }
+        SearchContext context = SearchContext.acquire(SearchContext.FORWARD, graph.getVertexCount());
+        MinHeap heap = context.heap;
+        context.update(source, 0f, -1);
+        heap.push(source, sourceBound);
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            // The bound is consistent, so the first time a vertex is polled its distance is final
+            if (context.isSettled(current)) {
+                continue;
+            }
+            context.settle(current);
+            if (current == target) {
+                break;
+            }
+            float currentDistance = context.distance(current);
+            for (int arc = graph.beginArc(current), end = graph.endArc(current); arc < end; arc++) {
+                int neighbor = graph.arcTarget(arc);
+                if (context.isSettled(neighbor)) {
+                    continue;
+                }
+                float alternateDistance = currentDistance + graph.arcWeight(arc);
+                if (alternateDistance < context.distance(neighbor)) {
+                    float bound = landmarkIndex.lowerBound(neighbor, target);
+                    if (bound == Float.POSITIVE_INFINITY) {
+                        continue;
+                    }
+                    context.update(neighbor, alternateDistance, current);
+                    heap.push(neighbor, alternateDistance + bound);
+                }
+            }
+        }
+        return RouteResult.fromSearch(graph, context, target);
+    }
+}
@@ -0,0 +1,163 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import com.discovery.interstellar.transport.system.entity.Vertex;
+
+import java.util.LinkedList;
+
+/**
+ * The Class BidirectionalDijkstraEngine.
+ *
+ * <p>Point-to-point search that grows one Dijkstra frontier forward from the source over the
+ * outgoing arcs and one backward from the target over the reverse adjacency, always advancing
+ * the side with the smaller tentative distance. The search stops once the two frontier minima
+ * together can no longer improve the best meeting point found so far.
+ */
+public final class BidirectionalDijkstraEngine {
+
+    /** The graph. */
+    private final CompactGraph graph;
+
+    /**
+     * Instantiates a new bidirectional dijkstra engine.
+     *
+     * @param graph the graph
+     */
+    public BidirectionalDijkstraEngine(CompactGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Finds the shortest route between two vertices.
+     *
+     * @param source the source vertex number, may be -1
+     * @param target the target vertex number, may be -1
+     * @return the route result
+     */
+    public RouteResult route(int source, int target) {
+        if (source < 0 || target < 0) {
+            return RouteResult.unreachable();
+        }
+        if (source == target) {
+            return new RouteResult(null, 0f);
+        }
+        int vertexCount = graph.getVertexCount();
+        SearchContext forward = SearchContext.acquire(SearchContext.FORWARD, vertexCount);
+        SearchContext backward = SearchContext.acquire(SearchContext.BACKWARD, vertexCount);
+        forward.update(source, 0f, -1);
+        forward.heap.push(source, 0f);
+        backward.update(target, 0f, -1);
+        backward.heap.push(target, 0f);
+
+        float best = Float.POSITIVE_INFINITY;
+        int meeting = -1;
+        while (true) {
+            float forwardMin = forward.heap.isEmpty() ? Float.POSITIVE_INFINITY : forward.heap.peekKey();
+            float backwardMin = backward.heap.isEmpty() ? Float.POSITIVE_INFINITY : backward.heap.peekKey();
+            // Also true once either frontier is exhausted, as its minimum is then infinite
+            if (forwardMin + backwardMin >= best) {
+                break;
+            }
+            int candidate = forwardMin <= backwardMin ? stepForward(forward, backward) : stepBackward(backward, forward);
+            if (candidate >= 0) {
+                float length = forward.distance(candidate) + backward.distance(candidate);
+                if (length < best) {
+                    best = length;
+                    meeting = candidate;
+                }
+            }
+        }
+        if (meeting < 0) {
+            return RouteResult.unreachable();
+        }
+        return new RouteResult(buildPath(forward, backward, meeting), best);
+    }
+
+    /**
+     * Settles the closest vertex of the forward frontier.
+     *
+     * @param forward the forward context
+     * @param backward the backward context
+     * @return the best meeting vertex touched by this step, or -1
+     */
+    private int stepForward(SearchContext forward, SearchContext backward) {
+        float key = forward.heap.peekKey();
+        int current = forward.heap.poll();
+        if (forward.isSettled(current) || key > forward.distance(current)) {
+            return -1;
+        }
+        forward.settle(current);
+        int meeting = -1;
+        float best = Float.POSITIVE_INFINITY;
+        for (int arc = graph.beginArc(current), end = graph.endArc(current); arc < end; arc++) {
+            int neighbor = graph.arcTarget(arc);
+            if (forward.isSettled(neighbor)) {
+                continue;
+            }
+            float alternateDistance = key + graph.arcWeight(arc);
+            if (alternateDistance < forward.distance(neighbor)) {
+                forward.update(neighbor, alternateDistance, current);
+                forward.heap.push(neighbor, alternateDistance);
+            }
+            float length = forward.distance(neighbor) + backward.distance(neighbor);
+            if (length < best) {
+                best = length;
+                meeting = neighbor;
+            }
+        }
+        return meeting;
+    }
+
+    /**
+     * Settles the closest vertex of the backward frontier.
+     *
+     * @param backward the backward context
+     * @param forward the forward context
+     * @return the best meeting vertex touched by this step, or -1
+     */
+    private int stepBackward(SearchContext backward, SearchContext forward) {
+        float key = backward.heap.peekKey();
+        int current = backward.heap.poll();
+        if (backward.isSettled(current) || key > backward.distance(current)) {
+            return -1;
+        }
+        backward.settle(current);
+        int meeting = -1;
+        float best = Float.POSITIVE_INFINITY;
+        for (int arc = graph.beginReverseArc(current), end = graph.endReverseArc(current); arc < end; arc++) {
+            int neighbor = graph.reverseArcSource(arc);
+            if (backward.isSettled(neighbor)) {
+                continue;
+            }
+            float alternateDistance = key + graph.reverseArcWeight(arc);
+            if (alternateDistance < backward.distance(neighbor)) {
+                backward.update(neighbor, alternateDistance, current);
+                backward.heap.push(neighbor, alternateDistance);
+            }
+            float length = forward.distance(neighbor) + backward.distance(neighbor);
+            if (length < best) {
+                best = length;
+                meeting = neighbor;
+            }
+        }
+        return meeting;
+    }
+
+    /**
+     * Joins the forward predecessor chain and the backward successor chain at the meeting vertex.
+     *
+     * @param forward the forward context, holding the predecessors
+     * @param backward the backward context, holding the successors
+     * @param meeting the meeting vertex
+     * @return the path
+     */
+    private LinkedList<Vertex> buildPath(SearchContext forward, SearchContext backward, int meeting) {
+        LinkedList<Vertex> path = new LinkedList<>();
+        for (int step = meeting; step >= 0; step = forward.previous(step)) {
+            path.addFirst(graph.getVertex(step));
+        }
+        for (int step = backward.previous(meeting); step >= 0; step = backward.previous(step)) {
+            path.addLast(graph.getVertex(step));
+        }
+        return path;
+    }
+}
@@ -0,0 +1,498 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import com.discovery.interstellar.transport.system.entity.Edge;
+import com.discovery.interstellar.transport.system.entity.Vertex;
+import com.discovery.interstellar.transport.system.helper.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The Class CompactGraph.
+ *
+ * <p>Compressed sparse row (CSR) view of a {@link Graph}. Vertices are numbered 0..n-1. The block
+ * of vertex {@code v} in the head and weight arrays holds its outgoing arcs followed by its
+ * incoming arcs, so the outgoing arcs occupy {@code [beginArc(v), endArc(v))} and the incoming
+ * arcs, for searches that run backward from a target, {@code [beginReverseArc(v), endReverseArc(v))}.
+ * An undirected view ({@link #undirectedView()}) shares every array and only widens both ranges
+ * to the whole block, so undirected queries cost no more memory than directed ones. The graph
+ * with traffic shares everything but the weight array, see {@link #withTraffic(TrafficOverlay)}.
+ */
+public final class CompactGraph {
+
+    /** The island name prefix. */
+    private static final String ISLAND_PREFIX = "Island ";
+
+    /** The Constant FINGERPRINT_SEED. */
+    private static final long FINGERPRINT_SEED = 0xcbf29ce484222325L;
+
+    /** The Constant FINGERPRINT_PRIME. */
+    private static final long FINGERPRINT_PRIME = 0x100000001b3L;
+
+    /** The vertices, indexed by vertex number. */
+    private final Vertex[] vertices;
+
+    /** The vertex numbers, keyed by vertex id ignoring case. */
+    private final VertexIndex vertexIndex;
+
+    /** The block offsets, of length vertex count + 1. */
+    private final int[] blockOffsets;
+
+    /** The first incoming arc of every vertex block. */
+    private final int[] reverseOffsets;
+
+    /** The arc heads: the target of an outgoing arc, the source of an incoming arc. */
+    private final int[] heads;
+
+    /** The arc weights. */
+    private final float[] weights;
+
+    /** The outgoing arc of every edge, in edge order. */
+    private final int[] edgeArcs;
+
+    /** The incoming arc of every edge, in edge order. */
+    private final int[] edgeReverseArcs;
+
+    /** Whether the weights include the traffic delays. */
+    private final boolean trafficAllowed;
+
+    /** Whether every edge can be traversed in both directions. */
+    private final boolean undirectedGraph;
+
+    /**
+     * Instantiates a new compact graph.
+     *
+     * @param vertices the vertices
+     * @param vertexIndex the vertex index
+     * @param blockOffsets the block offsets
+     * @param reverseOffsets the reverse offsets
+     * @param heads the heads
+     * @param weights the weights
+     * @param edgeArcs the edge arcs
+     * @param edgeReverseArcs the edge reverse arcs
+     * @param trafficAllowed the traffic allowed
+     * @param undirectedGraph the undirected graph
+     */
+    private CompactGraph(Vertex[] vertices, VertexIndex vertexIndex, int[] blockOffsets, int[] reverseOffsets,
+                         int[] heads, float[] weights, int[] edgeArcs, int[] edgeReverseArcs, boolean trafficAllowed,
+                         boolean undirectedGraph) {
+        this.vertices = vertices;
+        this.vertexIndex = vertexIndex;
+        this.blockOffsets = blockOffsets;
+        this.reverseOffsets = reverseOffsets;
+        this.heads = heads;
+        this.weights = weights;
+        this.edgeArcs = edgeArcs;
+        this.edgeReverseArcs = edgeReverseArcs;
+        this.trafficAllowed = trafficAllowed;
+        this.undirectedGraph = undirectedGraph;
+    }
+
+    /**
+     * Builds the compact graph from the vertices and edges of a graph, honouring its traffic and
+     * undirected options. Vertex ids are matched ignoring case, the first of several equal ids
+     * wins, and edge end points that are not known vertices become island vertices, one per id.
+     * The edges of the graph are not modified.
+     *
+     * @param graph the graph
+     * @return the compact graph
+     */
+    public static CompactGraph fromGraph(Graph graph) {
+        List<Edge> edges = graph.getEdges();
+
+        List<Vertex> vertexList = new ArrayList<>();
+        VertexIndex vertexIndex = new VertexIndex(graph.getVertexes() == null ? 0 : graph.getVertexes().size());
+        if (graph.getVertexes() != null) {
+            for (Vertex vertex : graph.getVertexes()) {
+                if (vertexIndex.putIfAbsent(vertex.getVertexId(), vertexList.size()) == VertexIndex.NOT_FOUND) {
+                    vertexList.add(vertex);
+                }
+            }
+        }
+
+        int edgeCount = edges == null ? 0 : edges.size();
+        int[] sources = new int[edgeCount];
+        int[] destinations = new int[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            Edge edge = edges.get(i);
+            sources[i] = indexOf(edge.getSource(), vertexList, vertexIndex);
+            destinations[i] = indexOf(edge.getDestination(), vertexList, vertexIndex);
+        }
+
+        int vertexCount = vertexList.size();
+        int[] blockOffsets = new int[vertexCount + 1];
+        int[] reverseOffsets = new int[vertexCount];
+        for (int i = 0; i < edgeCount; i++) {
+            blockOffsets[sources[i] + 1]++;
+            blockOffsets[destinations[i] + 1]++;
+            reverseOffsets[sources[i]]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            blockOffsets[v + 1] += blockOffsets[v];
+            reverseOffsets[v] += blockOffsets[v];
+        }
+
+        int[] heads = new int[edgeCount * 2];
+        float[] weights = new float[edgeCount * 2];
+        int[] edgeArcs = new int[edgeCount];
+        int[] edgeReverseArcs = new int[edgeCount];
+        int[] nextArc = Arrays.copyOf(blockOffsets, vertexCount);
+        int[] nextReverseArc = reverseOffsets.clone();
+        for (int i = 0; i < edgeCount; i++) {
+            Edge edge = edges.get(i);
+            float weight = edge.getDistance() + edge.getTimeDelay();
+            int arc = nextArc[sources[i]]++;
+            heads[arc] = destinations[i];
+            weights[arc] = weight;
+            edgeArcs[i] = arc;
+            int reverseArc = nextReverseArc[destinations[i]]++;
+            heads[reverseArc] = sources[i];
+            weights[reverseArc] = weight;
+            edgeReverseArcs[i] = reverseArc;
+        }
+
+        CompactGraph compactGraph = new CompactGraph(vertexList.toArray(new Vertex[vertexCount]), vertexIndex,
+                blockOffsets, reverseOffsets, heads, weights, edgeArcs, edgeReverseArcs, false, false);
+        if (graph.isTrafficAllowed()) {
+            compactGraph = compactGraph.withTraffic(TrafficOverlay.build(edges, graph.getTraffics()));
+        }
+        return graph.isUndirectedGraph() ? compactGraph.undirectedView() : compactGraph;
+    }
+
+    /**
+     * Creates a directed compact graph from its arrays, as written by {@link GraphFile}.
+     *
+     * @param vertices the vertices, with distinct ids ignoring case
+     * @param blockOffsets the block offsets
+     * @param reverseOffsets the reverse offsets
+     * @param heads the heads
+     * @param weights the weights
+     * @param edgeArcs the edge arcs
+     * @param edgeReverseArcs the edge reverse arcs
+     * @return the compact graph
+     */
+    static CompactGraph fromArrays(Vertex[] vertices, int[] blockOffsets, int[] reverseOffsets, int[] heads,
+                                   float[] weights, int[] edgeArcs, int[] edgeReverseArcs) {
+        VertexIndex vertexIndex = new VertexIndex(vertices.length);
+        for (int v = 0; v < vertices.length; v++) {
+            vertexIndex.putIfAbsent(vertices[v].getVertexId(), v);
+        }
+        return new CompactGraph(vertices, vertexIndex, blockOffsets, reverseOffsets, heads, weights, edgeArcs,
+                edgeReverseArcs, false, false);
+    }
+
+    /**
+     * Creates the graph with traffic from this graph and its weights with traffic, as written by
+     * {@link GraphFile}.
+     *
+     * @param trafficWeights the weights with traffic
+     * @return the compact graph with traffic
+     */
+    CompactGraph withTrafficWeights(float[] trafficWeights) {
+        return new CompactGraph(vertices, vertexIndex, blockOffsets, reverseOffsets, heads, trafficWeights, edgeArcs,
+                edgeReverseArcs, true, undirectedGraph);
+    }
+
+    /**
+     * Creates the graph with traffic from this graph. The vertices and arcs are shared; only the
+     * weight array is copied, and the weights of the edges matched by the overlay are replaced,
+     * which costs O(T) on top of the copy. The copy (4 bytes per arc) is kept dense rather than
+     * overriding the T matched arcs sparsely, so that relaxing an arc stays a single array read
+     * and {@link #getWeights()} can be written to the graph file and read by the index builders
+     * as is.
+     *
+     * @param overlay the traffic overlay, joined onto the same edge list this graph was built from
+     * @return the compact graph with traffic
+     */
+    public CompactGraph withTraffic(TrafficOverlay overlay) {
+        float[] trafficWeights = weights.clone();
+        for (int match = 0; match < overlay.size(); match++) {
+            int edge = overlay.getEdgeIndex(match);
+            trafficWeights[edgeArcs[edge]] = overlay.getWeight(match);
+            trafficWeights[edgeReverseArcs[edge]] = overlay.getWeight(match);
+        }
+        return new CompactGraph(vertices, vertexIndex, blockOffsets, reverseOffsets, heads, trafficWeights, edgeArcs,
+                edgeReverseArcs, true, undirectedGraph);
+    }
+
+    /**
+     * Creates the undirected view of this graph, in which every edge can be traversed in both
+     * directions. Nothing is copied: the outgoing and the incoming arcs of a vertex are both its
+     * whole block.
+     *
+     * @return the undirected view, or this graph if it already is one
+     */
+    public CompactGraph undirectedView() {
+        if (undirectedGraph) {
+            return this;
+        }
+        return new CompactGraph(vertices, vertexIndex, blockOffsets, reverseOffsets, heads, weights, edgeArcs,
+                edgeReverseArcs, trafficAllowed, true);
+    }
+
+    /**
+     * Returns the vertex number of an edge end point, registering an island vertex if the id is unknown.
+     *
+     * @param vertexId the vertex id
+     * @param vertexList the vertex list
+     * @param vertexIndex the vertex index
+     * @return the vertex number
+     */
+    private static int indexOf(String vertexId, List<Vertex> vertexList, VertexIndex vertexIndex) {
+        int index = vertexIndex.putIfAbsent(vertexId, vertexList.size());
+        if (index == VertexIndex.NOT_FOUND) {
+            index = vertexList.size();
+            vertexList.add(islandVertex(vertexId));
+        }
+        return index;
+    }
+
+    /**
+     * Creates the island vertex of an id.
+     *
+     * @param vertexId the vertex id
+     * @return the island vertex
+     */
+    static Vertex islandVertex(String vertexId) {
+        Vertex islandVertex = new Vertex();
+        islandVertex.setVertexId(vertexId);
+        islandVertex.setName(ISLAND_PREFIX + vertexId);
+        return islandVertex;
+    }
+
+    /**
+     * Gets the block offsets.
+     *
+     * @return the block offsets
+     */
+    int[] getBlockOffsets() {
+        return blockOffsets;
+    }
+
+    /**
+     * Gets the reverse offsets.
+     *
+     * @return the reverse offsets
+     */
+    int[] getReverseOffsets() {
+        return reverseOffsets;
+    }
+
+    /**
+     * Gets the heads.
+     *
+     * @return the heads
+     */
+    int[] getHeads() {
+        return heads;
+    }
+
+    /**
+     * Gets the weights.
+     *
+     * @return the weights
+     */
+    float[] getWeights() {
+        return weights;
+    }
+
+    /**
+     * Gets the edge arcs.
+     *
+     * @return the edge arcs
+     */
+    int[] getEdgeArcs() {
+        return edgeArcs;
+    }
+
+    /**
+     * Gets the edge reverse arcs.
+     *
+     * @return the edge reverse arcs
+     */
+    int[] getEdgeReverseArcs() {
+        return edgeReverseArcs;
+    }
+
+    /**
+     * Gets the vertex count.
+     *
+     * @return the vertex count
+     */
+    public int getVertexCount() {
+        return vertices.length;
+    }
+
+    /**
+     * Checks if the weights include the traffic delays.
+     *
+     * @return true, if traffic is allowed
+     */
+    public boolean isTrafficAllowed() {
+        return trafficAllowed;
+    }
+
+    /**
+     * Checks if every edge can be traversed in both directions.
+     *
+     * @return true, if undirected
+     */
+    public boolean isUndirectedGraph() {
+        return undirectedGraph;
+    }
+
+    /**
+     * Gets the arc count, the number of arcs a forward search can traverse. Arc numbers are
+     * positions in the vertex blocks and may be larger than this count.
+     *
+     * @return the arc count
+     */
+    public int getArcCount() {
+        return undirectedGraph ? heads.length : heads.length >> 1;
+    }
+
+    /**
+     * Computes a fingerprint of the vertex ids, arcs and weights, which identifies the graph that
+     * data derived from it (for example persisted indexes) belongs to.
+     *
+     * @return the fingerprint
+     */
+    public long fingerprint() {
+        long hash = FINGERPRINT_SEED;
+        for (Vertex vertex : vertices) {
+            hash = mix(hash, vertex.getVertexId() == null ? 0 : vertex.getVertexId().hashCode());
+        }
+        hash = mix(hash, undirectedGraph ? 1 : 0);
+        for (int v = 0; v < reverseOffsets.length; v++) {
+            hash = mix(mix(hash, blockOffsets[v]), reverseOffsets[v]);
+        }
+        for (int arc = 0; arc < heads.length; arc++) {
+            hash = mix(mix(hash, heads[arc]), Float.floatToIntBits(weights[arc]));
+        }
+        return hash;
+    }
+
+    /**
+     * Mixes a value into a 64 bit FNV-1a hash.
+     *
+     * @param hash the hash
+     * @param value the value
+     * @return the new hash
+     */
+    private static long mix(long hash, int value) {
+        return (hash ^ value) * FINGERPRINT_PRIME;
+    }
+
+    /**
+     * Gets the vertex number of a vertex id, ignoring case.
+     *
+     * @param vertexId the vertex id
+     * @return the vertex number, or -1 if the id is not part of the graph
+     */
+    public int indexOf(String vertexId) {
+        return vertexIndex.get(vertexId);
+    }
+
+    /**
+     * Gets the vertex of an id. Ids of the graph, including the island end points of its edges,
+     * give the vertex held by the graph; other ids give a new island vertex.
+     *
+     * @param vertexId the vertex id
+     * @return the vertex
+     */
+    public Vertex getVertexOrIsland(String vertexId) {
+        int index = vertexIndex.get(vertexId);
+        return index == VertexIndex.NOT_FOUND ? islandVertex(vertexId) : vertices[index];
+    }
+
+    /**
+     * Gets the vertex.
+     *
+     * @param index the vertex number
+     * @return the vertex
+     */
+    public Vertex getVertex(int index) {
+        return vertices[index];
+    }
+
+    /**
+     * Gets the first outgoing arc of a vertex.
+     *
+     * @param vertex the vertex number
+     * @return the first arc
+     */
+    public int beginArc(int vertex) {
+        return blockOffsets[vertex];
+    }
+
+    /**
+     * Gets the arc after the last outgoing arc of a vertex.
+     *
+     * @param vertex the vertex number
+     * @return the end arc (exclusive)
+     */
+    public int endArc(int vertex) {
+        return undirectedGraph ? blockOffsets[vertex + 1] : reverseOffsets[vertex];
+    }
+
+    /**
+     * Gets the target of an arc.
+     *
+     * @param arc the arc
+     * @return the target vertex number
+     */
+    public int arcTarget(int arc) {
+        return heads[arc];
+    }
+
+    /**
+     * Gets the weight of an arc.
+     *
+     * @param arc the arc
+     * @return the weight
+     */
+    public float arcWeight(int arc) {
+        return weights[arc];
+    }
+
+    /**
+     * Gets the first incoming arc of a vertex.
+     *
+     * @param vertex the vertex number
+     * @return the first reverse arc
+     */
+    public int beginReverseArc(int vertex) {
+        return undirectedGraph ? blockOffsets[vertex] : reverseOffsets[vertex];
+    }
+
+    /**
+     * Gets the reverse arc after the last incoming arc of a vertex.
+     *
+     * @param vertex the vertex number
+     * @return the end reverse arc (exclusive)
+     */
+    public int endReverseArc(int vertex) {
+        return blockOffsets[vertex + 1];
+    }
+
+    /**
+     * Gets the source of a reverse arc.
+     *
+     * @param reverseArc the reverse arc
+     * @return the source vertex number
+     */
+    public int reverseArcSource(int reverseArc) {
+        return heads[reverseArc];
+    }
+
+    /**
+     * Gets the weight of a reverse arc.
+     *
+     * @param reverseArc the reverse arc
+     * @return the weight
+     */
+    public float reverseArcWeight(int reverseArc) {
+        return weights[reverseArc];
+    }
+}
@@ -0,0 +1,264 @@
+package com.discovery.interstellar.transport.system.routing;
+
+/**
+ * The Class ContractionHierarchy.
+ *
+ * <p>Result of contracting the vertices of a {@link CompactGraph} one by one in rank order,
+ * adding shortcut arcs that preserve the distances between the remaining vertices. Every arc
+ * (original or shortcut) is stored once: in the upward arcs of its lower ranked end when it
+ * leads to a higher ranked vertex, otherwise in the downward arcs of its lower ranked head, so
+ * that a query only ever climbs the hierarchy from both ends. The highest ranked vertices may be
+ * left uncontracted as a core; the arcs between core vertices are stored both ways, so that
+ * queries run a plain bidirectional search inside it. Shortcuts keep the vertex they bypass,
+ * which is how the original path is unpacked.
+ */
+public final class ContractionHierarchy {
+
+    /** The Constant NO_MIDDLE, the middle vertex of original arcs. */
+    public static final int NO_MIDDLE = -1;
+
+    /** The graph. */
+    private final CompactGraph graph;
+
+    /** The contraction rank of every vertex. */
+    private final int[] rank;
+
+    /** The rank of the first core vertex. */
+    private final int coreRank;
+
+    /** The upward arc offsets, of length vertex count + 1. */
+    private final int[] upOffsets;
+
+    /** The upward arc targets. */
+    private final int[] upTargets;
+
+    /** The upward arc weights. */
+    private final float[] upWeights;
+
+    /** The upward arc middle vertices. */
+    private final int[] upMiddles;
+
+    /** The downward arc offsets, of length vertex count + 1. */
+    private final int[] downOffsets;
+
+    /** The downward arc sources. */
+    private final int[] downSources;
+
+    /** The downward arc weights. */
+    private final float[] downWeights;
+
+    /** The downward arc middle vertices. */
+    private final int[] downMiddles;
+
+    /**
+     * Instantiates a new contraction hierarchy.
+     *
+     * @param graph the graph
+     * @param rank the rank
+     * @param coreRank the core rank
+     * @param upOffsets the up offsets
+     * @param upTargets the up targets
+     * @param upWeights the up weights
+     * @param upMiddles the up middles
+     * @param downOffsets the down offsets
+     * @param downSources the down sources
+     * @param downWeights the down weights
+     * @param downMiddles the down middles
+     */
+    ContractionHierarchy(CompactGraph graph, int[] rank, int coreRank, int[] upOffsets, int[] upTargets, float[] upWeights, int[] upMiddles,
+                         int[] downOffsets, int[] downSources, float[] downWeights, int[] downMiddles) {
+        this.graph = graph;
+        this.rank = rank;
+        this.coreRank = coreRank;
+        this.upOffsets = upOffsets;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+        this.upMiddles = upMiddles;
+        this.downOffsets = downOffsets;
+        this.downSources = downSources;
+        this.downWeights = downWeights;
+        this.downMiddles = downMiddles;
+    }
+
+    /**
+     * Builds the contraction hierarchy of a graph. Independent sets of vertices are contracted in
+     * parallel on the common fork/join pool.
+     *
+     * @param graph the graph
+     * @return the contraction hierarchy
+     */
+    public static ContractionHierarchy build(CompactGraph graph) {
+        return new ContractionHierarchyBuilder(graph).build();
+    }
+
+    /**
+     * Gets the graph.
+     *
+     * @return the graph
+     */
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Gets the rank of a vertex.
+     *
+     * @param vertex the vertex number
+     * @return the rank
+     */
+    public int getRank(int vertex) {
+        return rank[vertex];
+    }
+
+    /**
+     * Checks if a vertex was left uncontracted in the core.
+     *
+     * @param vertex the vertex number
+     * @return true, if in the core
+     */
+    public boolean isCore(int vertex) {
+        return rank[vertex] >= coreRank;
+    }
+
+    /**
+     * Gets the core size.
+     *
+     * @return the number of uncontracted vertices
+     */
+    public int getCoreSize() {
+        return rank.length - coreRank;
+    }
+
+    /**
+     * Gets the number of stored arcs, shortcuts and both directions of core arcs included.
+     *
+     * @return the arc count
+     */
+    public int getArcCount() {
+        return upTargets.length + downSources.length;
+    }
+
+    /**
+     * Gets the first upward arc of a vertex.
+     *
+     * @param vertex the vertex number
+     * @return the first upward arc
+     */
+    public int beginUpArc(int vertex) {
+        return upOffsets[vertex];
+    }
+
+    /**
+     * Gets the upward arc after the last upward arc of a vertex.
+     *
+     * @param vertex the vertex number
+     * @return the end upward arc (exclusive)
+     */
+    public int endUpArc(int vertex) {
+        return upOffsets[vertex + 1];
+    }
+
+    /**
+     * Gets the target of an upward arc.
+     *
+     * @param arc the arc
+     * @return the target vertex number
+     */
+    public int upArcTarget(int arc) {
+        return upTargets[arc];
+    }
+
+    /**
+     * Gets the weight of an upward arc.
+     *
+     * @param arc the arc
+     * @return the weight
+     */
+    public float upArcWeight(int arc) {
+        return upWeights[arc];
+    }
+
+    /**
+     * Gets the vertex bypassed by an upward arc.
+     *
+     * @param arc the arc
+     * @return the middle vertex number, or {@link #NO_MIDDLE}
+     */
+    public int upArcMiddle(int arc) {
+        return upMiddles[arc];
+    }
+
+    /**
+     * Gets the first downward arc of a vertex.
+     *
+     * @param vertex the vertex number
+     * @return the first downward arc
+     */
+    public int beginDownArc(int vertex) {
+        return downOffsets[vertex];
+    }
+
+    /**
+     * Gets the downward arc after the last downward arc of a vertex.
+     *
+     * @param vertex the vertex number
+     * @return the end downward arc (exclusive)
+     */
+    public int endDownArc(int vertex) {
+        return downOffsets[vertex + 1];
+    }
+
+    /**
+     * Gets the source of a downward arc.
+     *
+     * @param arc the arc
+     * @return the source vertex number
+     */
+    public int downArcSource(int arc) {
+        return downSources[arc];
+    }
+
+    /**
+     * Gets the weight of a downward arc.
+     *
+     * @param arc the arc
+     * @return the weight
+     */
+    public float downArcWeight(int arc) {
+        return downWeights[arc];
+    }
+
+    /**
+     * Gets the vertex bypassed by a downward arc.
+     *
+     * @param arc the arc
+     * @return the middle vertex number, or {@link #NO_MIDDLE}
+     */
+    public int downArcMiddle(int arc) {
+        return downMiddles[arc];
+    }
+
+    /**
+     * Gets the vertex bypassed by the arc between two vertices.
+     *
+     * @param from the tail vertex number
+     * @param to the head vertex number
+     * @return the middle vertex number, or {@link #NO_MIDDLE} if the arc is an original arc
+     */
+    int middleOf(int from, int to) {
+        if (rank[from] < rank[to] || isCore(from) && isCore(to)) {
+            for (int arc = upOffsets[from], end = upOffsets[from + 1]; arc < end; arc++) {
+                if (upTargets[arc] == to) {
+                    return upMiddles[arc];
+                }
+            }
+        } else {
+            for (int arc = downOffsets[to], end = downOffsets[to + 1]; arc < end; arc++) {
+                if (downSources[arc] == from) {
+                    return downMiddles[arc];
+                }
+            }
+        }
+        throw new IllegalStateException("No arc from " + from + " to " + to);
+    }
+}
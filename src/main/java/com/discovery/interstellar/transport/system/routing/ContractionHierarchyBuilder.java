@@ -0,0 +1,506 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * The Class ContractionHierarchyBuilder.
+ *
+ * <p>Contracts the vertices in rounds. Each round picks the vertices whose priority (edge
+ * difference plus contracted neighbours) is a local minimum; no two of them are adjacent, so
+ * their witness searches run in parallel against the same remaining graph before the shortcuts
+ * are inserted. A shortcut is skipped only when a witness path no longer than it is found that
+ * avoids every vertex of the round. Once the remaining graph becomes too dense for contraction
+ * to pay off, the remaining vertices are kept as an uncontracted core whose arcs are searched
+ * in both directions.
+ */
+final class ContractionHierarchyBuilder {
+
+    /** The Constant WITNESS_SETTLE_LIMIT, above which a witness search gives up and keeps the shortcut. */
+    private static final int WITNESS_SETTLE_LIMIT = 64;
+
+    /** The Constant CORE_DEGREE_LIMIT, the average out degree at which the remaining vertices are left as the core. */
+    private static final int CORE_DEGREE_LIMIT = 32;
+
+    /** The graph. */
+    private final CompactGraph graph;
+
+    /** The vertex count. */
+    private final int vertexCount;
+
+    /** The outgoing arcs of the remaining graph. */
+    private final ArcList[] outArcs;
+
+    /** The incoming arcs of the remaining graph. */
+    private final ArcList[] inArcs;
+
+    /** The contracted flags. */
+    private final boolean[] contracted;
+
+    /** The priorities. */
+    private final int[] priority;
+
+    /** The number of contracted neighbours of every vertex. */
+    private final int[] contractedNeighbors;
+
+    /** The witness search of every worker thread. */
+    private final ThreadLocal<WitnessSearch> witnessSearches;
+
+    /**
+     * Instantiates a new contraction hierarchy builder.
+     *
+     * @param graph the graph
+     */
+    ContractionHierarchyBuilder(CompactGraph graph) {
+        this.graph = graph;
+        this.vertexCount = graph.getVertexCount();
+        this.outArcs = new ArcList[vertexCount];
+        this.inArcs = new ArcList[vertexCount];
+        this.contracted = new boolean[vertexCount];
+        this.priority = new int[vertexCount];
+        this.contractedNeighbors = new int[vertexCount];
+        this.witnessSearches = ThreadLocal.withInitial(() -> new WitnessSearch(vertexCount));
+        for (int v = 0; v < vertexCount; v++) {
+            outArcs[v] = new ArcList();
+            inArcs[v] = new ArcList();
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            for (int arc = graph.beginArc(v), end = graph.endArc(v); arc < end; arc++) {
+                int target = graph.arcTarget(arc);
+                if (target != v) {
+                    addArc(v, target, graph.arcWeight(arc), ContractionHierarchy.NO_MIDDLE);
+                }
+            }
+        }
+    }
+
+    /**
+     * Contracts all vertices.
+     *
+     * @return the contraction hierarchy
+     */
+    ContractionHierarchy build() {
+        int[] rank = new int[vertexCount];
+        ArcList[] upArcs = new ArcList[vertexCount];
+        ArcList[] downArcs = new ArcList[vertexCount];
+        boolean[] dirty = new boolean[vertexCount];
+        int[] dirtyVertices = new int[vertexCount];
+
+        IntStream.range(0, vertexCount).parallel().forEach(v -> priority[v] = computePriority(v));
+        int nextRank = 0;
+        while (nextRank < vertexCount) {
+            long remainingArcs = IntStream.range(0, vertexCount).parallel().filter(v -> !contracted[v]).mapToLong(v -> outArcs[v].size).sum();
+            if (remainingArcs > (long) CORE_DEGREE_LIMIT * (vertexCount - nextRank)) {
+                break;
+            }
+            int[] selected = IntStream.range(0, vertexCount).parallel().filter(v -> !contracted[v] && isLocalMinimum(v)).toArray();
+            // Witness paths must not run through a vertex of the same round, or two of them could witness each other
+            for (int v : selected) {
+                contracted[v] = true;
+            }
+            Shortcuts[] shortcuts = new Shortcuts[selected.length];
+            IntStream.range(0, selected.length).parallel().forEach(i -> {
+                Shortcuts found = new Shortcuts();
+                findShortcuts(selected[i], witnessSearches.get(), found);
+                shortcuts[i] = found;
+            });
+
+            int dirtyCount = 0;
+            for (int i = 0; i < selected.length; i++) {
+                int v = selected[i];
+                rank[v] = nextRank++;
+                upArcs[v] = outArcs[v];
+                downArcs[v] = inArcs[v];
+                for (int k = 0; k < outArcs[v].size; k++) {
+                    int neighbor = outArcs[v].heads[k];
+                    inArcs[neighbor].remove(v);
+                    dirtyCount = markDirty(neighbor, dirty, dirtyVertices, dirtyCount);
+                }
+                for (int k = 0; k < inArcs[v].size; k++) {
+                    int neighbor = inArcs[v].heads[k];
+                    outArcs[neighbor].remove(v);
+                    dirtyCount = markDirty(neighbor, dirty, dirtyVertices, dirtyCount);
+                }
+            }
+            for (Shortcuts found : shortcuts) {
+                for (int k = 0; k < found.size; k++) {
+                    addArc(found.tails[k], found.heads[k], found.weights[k], found.middles[k]);
+                }
+            }
+
+            int[] updated = Arrays.copyOf(dirtyVertices, dirtyCount);
+            for (int v : updated) {
+                dirty[v] = false;
+            }
+            IntStream.range(0, updated.length).parallel().forEach(i -> priority[updated[i]] = computePriority(updated[i]));
+        }
+
+        int coreRank = nextRank;
+        for (int v = 0; v < vertexCount; v++) {
+            if (!contracted[v]) {
+                rank[v] = nextRank++;
+                upArcs[v] = outArcs[v];
+                downArcs[v] = inArcs[v];
+            }
+        }
+        return toHierarchy(rank, coreRank, upArcs, downArcs);
+    }
+
+    /**
+     * Records a neighbour of a contracted vertex, whose priority has to be recomputed.
+     *
+     * @param vertex the vertex
+     * @param dirty the dirty flags
+     * @param dirtyVertices the dirty vertices
+     * @param dirtyCount the dirty count
+     * @return the new dirty count
+     */
+    private int markDirty(int vertex, boolean[] dirty, int[] dirtyVertices, int dirtyCount) {
+        contractedNeighbors[vertex]++;
+        if (dirty[vertex]) {
+            return dirtyCount;
+        }
+        dirty[vertex] = true;
+        dirtyVertices[dirtyCount] = vertex;
+        return dirtyCount + 1;
+    }
+
+    /**
+     * Checks if the priority of a vertex is lower than that of all its remaining neighbours, ties
+     * broken by vertex number.
+     *
+     * @param vertex the vertex
+     * @return true, if it is a local minimum
+     */
+    private boolean isLocalMinimum(int vertex) {
+        return isLowerThanAll(vertex, outArcs[vertex]) && isLowerThanAll(vertex, inArcs[vertex]);
+    }
+
+    /**
+     * Checks if the priority of a vertex is lower than that of the heads of some arcs.
+     *
+     * @param vertex the vertex
+     * @param arcs the arcs
+     * @return true, if lower than all
+     */
+    private boolean isLowerThanAll(int vertex, ArcList arcs) {
+        for (int k = 0; k < arcs.size; k++) {
+            int neighbor = arcs.heads[k];
+            if (priority[neighbor] < priority[vertex] || (priority[neighbor] == priority[vertex] && neighbor < vertex)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the priority of a vertex by simulating its contraction.
+     *
+     * @param vertex the vertex
+     * @return the priority
+     */
+    private int computePriority(int vertex) {
+        int shortcutCount = findShortcuts(vertex, witnessSearches.get(), null);
+        return shortcutCount - outArcs[vertex].size - inArcs[vertex].size + contractedNeighbors[vertex];
+    }
+
+    /**
+     * Finds the shortcuts needed to contract a vertex.
+     *
+     * @param vertex the vertex
+     * @param witnessSearch the witness search of the current thread
+     * @param shortcuts the shortcuts to fill, or null to only count them
+     * @return the number of shortcuts
+     */
+    private int findShortcuts(int vertex, WitnessSearch witnessSearch, Shortcuts shortcuts) {
+        ArcList in = inArcs[vertex];
+        ArcList out = outArcs[vertex];
+        int count = 0;
+        for (int i = 0; i < in.size; i++) {
+            int from = in.heads[i];
+            float inWeight = in.weights[i];
+            float maxCost = -1f;
+            for (int j = 0; j < out.size; j++) {
+                if (out.heads[j] != from) {
+                    maxCost = Math.max(maxCost, inWeight + out.weights[j]);
+                }
+            }
+            if (maxCost < 0f) {
+                continue;
+            }
+            witnessSearch.run(from, vertex, maxCost);
+            for (int j = 0; j < out.size; j++) {
+                int to = out.heads[j];
+                float viaWeight = inWeight + out.weights[j];
+                if (to != from && witnessSearch.distance[to] > viaWeight) {
+                    count++;
+                    if (shortcuts != null) {
+                        shortcuts.add(from, to, viaWeight, vertex);
+                    }
+                }
+            }
+            witnessSearch.reset();
+        }
+        return count;
+    }
+
+    /**
+     * Adds an arc to the remaining graph, or lowers the weight of the existing arc.
+     *
+     * @param from the tail
+     * @param to the head
+     * @param weight the weight
+     * @param middle the middle vertex
+     */
+    private void addArc(int from, int to, float weight, int middle) {
+        outArcs[from].addOrImprove(to, weight, middle);
+        inArcs[to].addOrImprove(from, weight, middle);
+    }
+
+    /**
+     * Converts the arcs recorded at contraction time into the CSR arrays of the hierarchy.
+     *
+     * @param rank the rank
+     * @param coreRank the rank of the first core vertex
+     * @param upArcs the upward arcs
+     * @param downArcs the downward arcs
+     * @return the contraction hierarchy
+     */
+    private ContractionHierarchy toHierarchy(int[] rank, int coreRank, ArcList[] upArcs, ArcList[] downArcs) {
+        int[] upOffsets = offsets(upArcs);
+        int[] downOffsets = offsets(downArcs);
+        int[] upTargets = new int[upOffsets[vertexCount]];
+        float[] upWeights = new float[upTargets.length];
+        int[] upMiddles = new int[upTargets.length];
+        int[] downSources = new int[downOffsets[vertexCount]];
+        float[] downWeights = new float[downSources.length];
+        int[] downMiddles = new int[downSources.length];
+        for (int v = 0; v < vertexCount; v++) {
+            upArcs[v].copyTo(upTargets, upWeights, upMiddles, upOffsets[v]);
+            downArcs[v].copyTo(downSources, downWeights, downMiddles, downOffsets[v]);
+        }
+        return new ContractionHierarchy(graph, rank, coreRank, upOffsets, upTargets, upWeights, upMiddles,
+                downOffsets, downSources, downWeights, downMiddles);
+    }
+
+    /**
+     * Computes the CSR offsets of per vertex arc lists.
+     *
+     * @param arcs the arcs
+     * @return the offsets
+     */
+    private int[] offsets(ArcList[] arcs) {
+        int[] offsets = new int[vertexCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] = offsets[v] + arcs[v].size;
+        }
+        return offsets;
+    }
+
+    /**
+     * The Class ArcList.
+     *
+     * <p>Growable list of the arcs of one vertex, at most one per neighbour.
+     */
+    private static final class ArcList {
+
+        /** The neighbours. */
+        private int[] heads = new int[4];
+
+        /** The weights. */
+        private float[] weights = new float[4];
+
+        /** The middle vertices. */
+        private int[] middles = new int[4];
+
+        /** The size. */
+        private int size;
+
+        /**
+         * Adds an arc, or lowers the weight of the arc to the same neighbour.
+         *
+         * @param head the neighbour
+         * @param weight the weight
+         * @param middle the middle vertex
+         */
+        void addOrImprove(int head, float weight, int middle) {
+            for (int k = 0; k < size; k++) {
+                if (heads[k] == head) {
+                    if (weight < weights[k]) {
+                        weights[k] = weight;
+                        middles[k] = middle;
+                    }
+                    return;
+                }
+            }
+            if (size == heads.length) {
+                heads = Arrays.copyOf(heads, size << 1);
+                weights = Arrays.copyOf(weights, size << 1);
+                middles = Arrays.copyOf(middles, size << 1);
+            }
+            heads[size] = head;
+            weights[size] = weight;
+            middles[size] = middle;
+            size++;
+        }
+
+        /**
+         * Removes the arc to a neighbour.
+         *
+         * @param head the neighbour
+         */
+        void remove(int head) {
+            for (int k = 0; k < size; k++) {
+                if (heads[k] == head) {
+                    size--;
+                    heads[k] = heads[size];
+                    weights[k] = weights[size];
+                    middles[k] = middles[size];
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Copies the arcs into CSR arrays.
+         *
+         * @param headArray the head array
+         * @param weightArray the weight array
+         * @param middleArray the middle array
+         * @param offset the offset
+         */
+        void copyTo(int[] headArray, float[] weightArray, int[] middleArray, int offset) {
+            System.arraycopy(heads, 0, headArray, offset, size);
+            System.arraycopy(weights, 0, weightArray, offset, size);
+            System.arraycopy(middles, 0, middleArray, offset, size);
+        }
+    }
+
+    /**
+     * The Class Shortcuts.
+     *
+     * <p>The shortcuts found for one contracted vertex.
+     */
+    private static final class Shortcuts {
+
+        /** The tails. */
+        private int[] tails = new int[4];
+
+        /** The heads. */
+        private int[] heads = new int[4];
+
+        /** The weights. */
+        private float[] weights = new float[4];
+
+        /** The middle vertices. */
+        private int[] middles = new int[4];
+
+        /** The size. */
+        private int size;
+
+        /**
+         * Adds a shortcut.
+         *
+         * @param tail the tail
+         * @param head the head
+         * @param weight the weight
+         * @param middle the middle vertex
+         */
+        void add(int tail, int head, float weight, int middle) {
+            if (size == tails.length) {
+                tails = Arrays.copyOf(tails, size << 1);
+                heads = Arrays.copyOf(heads, size << 1);
+                weights = Arrays.copyOf(weights, size << 1);
+                middles = Arrays.copyOf(middles, size << 1);
+            }
+            tails[size] = tail;
+            heads[size] = head;
+            weights[size] = weight;
+            middles[size] = middle;
+            size++;
+        }
+    }
+
+    /**
+     * The Class WitnessSearch.
+     *
+     * <p>Bounded Dijkstra search over the remaining graph that avoids the vertex being contracted.
+     * Only the touched entries are reset, so one instance serves every search of a thread.
+     */
+    private final class WitnessSearch {
+
+        /** The distances. */
+        private final float[] distance;
+
+        /** The settled flags. */
+        private final boolean[] settled;
+
+        /** The touched vertices. */
+        private final int[] touched;
+
+        /** The touched count. */
+        private int touchedCount;
+
+        /** The heap. */
+        private final MinHeap heap = new MinHeap();
+
+        /**
+         * Instantiates a new witness search.
+         *
+         * @param vertexCount the vertex count
+         */
+        WitnessSearch(int vertexCount) {
+            this.distance = new float[vertexCount];
+            this.settled = new boolean[vertexCount];
+            this.touched = new int[vertexCount];
+            Arrays.fill(distance, Float.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Runs the search until the cost limit or the settle limit is reached.
+         *
+         * @param source the source
+         * @param excluded the vertex being contracted
+         * @param maxCost the max cost
+         */
+        void run(int source, int excluded, float maxCost) {
+            distance[source] = 0f;
+            touched[touchedCount++] = source;
+            heap.push(source, 0f);
+            int settledCount = 0;
+            while (!heap.isEmpty() && heap.peekKey() <= maxCost && settledCount < WITNESS_SETTLE_LIMIT) {
+                float key = heap.peekKey();
+                int current = heap.poll();
+                if (settled[current]) {
+                    continue;
+                }
+                settled[current] = true;
+                settledCount++;
+                ArcList arcs = outArcs[current];
+                for (int k = 0; k < arcs.size; k++) {
+                    int neighbor = arcs.heads[k];
+                    float alternateDistance = key + arcs.weights[k];
+                    if (neighbor != excluded && !contracted[neighbor] && alternateDistance < distance[neighbor]) {
+                        if (distance[neighbor] == Float.POSITIVE_INFINITY) {
+                            touched[touchedCount++] = neighbor;
+                        }
+                        distance[neighbor] = alternateDistance;
+                        heap.push(neighbor, alternateDistance);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Resets the touched entries.
+         */
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                distance[touched[i]] = Float.POSITIVE_INFINITY;
+                settled[touched[i]] = false;
+            }
+            touchedCount = 0;
+            heap.clear();
+        }
+    }
+}
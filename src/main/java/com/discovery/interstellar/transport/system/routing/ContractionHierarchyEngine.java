@@ -0,0 +1,168 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import com.discovery.interstellar.transport.system.entity.Vertex;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+
+/**
+ * The Class ContractionHierarchyEngine.
+ *
+ * <p>Answers point-to-point queries on a {@link ContractionHierarchy} with two searches that
+ * only follow arcs to higher ranked vertices: forward from the source over the upward arcs and
+ * backward from the target over the downward arcs. The shortcuts of the resulting path are
+ * unpacked into the original vertices.
+ */
+public final class ContractionHierarchyEngine {
+
+    /** The hierarchy. */
+    private final ContractionHierarchy hierarchy;
+
+    /** The graph. */
+    private final CompactGraph graph;
+
+    /**
+     * Instantiates a new contraction hierarchy engine.
+     *
+     * @param hierarchy the hierarchy
+     */
+    public ContractionHierarchyEngine(ContractionHierarchy hierarchy) {
+        this.hierarchy = hierarchy;
+        this.graph = hierarchy.getGraph();
+    }
+
+    /**
+     * Finds the shortest route between two vertices.
+     *
+     * @param source the source vertex number, may be -1
+     * @param target the target vertex number, may be -1
+     * @return the route result
+     */
+    public RouteResult route(int source, int target) {
+        if (source < 0 || target < 0) {
+            return RouteResult.unreachable();
+        }
+        if (source == target) {
+            return new RouteResult(null, 0f);
+        }
+        SearchContext forward = SearchContext.acquire(SearchContext.FORWARD, graph.getVertexCount());
+        SearchContext backward = SearchContext.acquire(SearchContext.BACKWARD, graph.getVertexCount());
+        forward.update(source, 0f, -1);
+        forward.heap.push(source, 0f);
+        backward.update(target, 0f, -1);
+        backward.heap.push(target, 0f);
+
+        float best = Float.POSITIVE_INFINITY;
+        int meeting = -1;
+        while (true) {
+            boolean forwardActive = !forward.heap.isEmpty() && forward.heap.peekKey() < best;
+            boolean backwardActive = !backward.heap.isEmpty() && backward.heap.peekKey() < best;
+            if (!forwardActive && !backwardActive) {
+                break;
+            }
+            boolean stepForward = forwardActive && (!backwardActive || forward.heap.peekKey() <= backward.heap.peekKey());
+            SearchContext context = stepForward ? forward : backward;
+            SearchContext other = stepForward ? backward : forward;
+            int current = context.heap.poll();
+            if (context.isSettled(current)) {
+                continue;
+            }
+            context.settle(current);
+            float currentDistance = context.distance(current);
+            float candidate = currentDistance + other.distance(current);
+            if (candidate < best) {
+                best = candidate;
+                meeting = current;
+            }
+            if (stepForward) {
+                for (int arc = hierarchy.beginUpArc(current), end = hierarchy.endUpArc(current); arc < end; arc++) {
+                    relax(forward, current, hierarchy.upArcTarget(arc), currentDistance + hierarchy.upArcWeight(arc));
+                }
+            } else {
+                for (int arc = hierarchy.beginDownArc(current), end = hierarchy.endDownArc(current); arc < end; arc++) {
+                    relax(backward, current, hierarchy.downArcSource(arc), currentDistance + hierarchy.downArcWeight(arc));
+                }
+            }
+        }
+        if (meeting < 0) {
+            return RouteResult.unreachable();
+        }
+        return new RouteResult(buildPath(forward, backward, meeting), best);
+    }
+
+    /**
+     * Relaxes an arc of one of the searches.
+     *
+     * @param context the search context
+     * @param from the settled vertex
+     * @param to the reached vertex
+     * @param alternateDistance the distance through the settled vertex
+     */
+    private static void relax(SearchContext context, int from, int to, float alternateDistance) {
+        if (alternateDistance < context.distance(to)) {
+            context.update(to, alternateDistance, from);
+            context.heap.push(to, alternateDistance);
+        }
+    }
+
+    /**
+     * Joins the two search trees at the meeting vertex and unpacks the shortcuts.
+     *
+     * @param forward the forward context, holding the predecessors
+     * @param backward the backward context, holding the successors
+     * @param meeting the meeting vertex
+     * @return the path
+     */
+    private LinkedList<Vertex> buildPath(SearchContext forward, SearchContext backward, int meeting) {
+        LinkedList<Integer> hierarchyPath = new LinkedList<>();
+        for (int v = meeting; v != -1; v = forward.previous(v)) {
+            hierarchyPath.addFirst(v);
+        }
+        for (int v = backward.previous(meeting); v != -1; v = backward.previous(v)) {
+            hierarchyPath.add(v);
+        }
+
+        LinkedList<Vertex> path = new LinkedList<>();
+        int[] stack = new int[16];
+        Integer previous = null;
+        for (Integer v : hierarchyPath) {
+            if (previous == null) {
+                path.add(graph.getVertex(v));
+            } else {
+                stack = unpack(previous, v, stack, path);
+            }
+            previous = v;
+        }
+        return path;
+    }
+
+    /**
+     * Appends the original vertices of an arc, without its tail, to a path.
+     *
+     * @param from the tail
+     * @param to the head
+     * @param stack the scratch stack
+     * @param path the path
+     * @return the scratch stack, possibly grown
+     */
+    private int[] unpack(int from, int to, int[] stack, LinkedList<Vertex> path) {
+        int size = 0;
+        int tail = from;
+        stack[size++] = to;
+        while (size > 0) {
+            int head = stack[size - 1];
+            int middle = hierarchy.middleOf(tail, head);
+            if (middle == ContractionHierarchy.NO_MIDDLE) {
+                path.add(graph.getVertex(head));
+                tail = head;
+                size--;
+            } else {
+                if (size == stack.length) {
+                    stack = Arrays.copyOf(stack, size << 1);
+                }
+                stack[size++] = middle;
+            }
+        }
+        return stack;
+    }
+}
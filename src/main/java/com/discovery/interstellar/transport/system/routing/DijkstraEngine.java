@@ -0,0 +1,110 @@
+package com.discovery.interstellar.transport.system.routing;
+
+/**
+ * The Class DijkstraEngine.
+ *
+ * <p>Heap based Dijkstra search over a {@link CompactGraph}. The engine holds no per-query state
+ * and may be shared between threads; each thread searches in its own reused context.
+ */
+public final class DijkstraEngine {
+
+    /** The graph. */
+    private final CompactGraph graph;
+
+    /**
+     * Instantiates a new dijkstra engine.
+     *
+     * @param graph the graph
+     */
+    public DijkstraEngine(CompactGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Gets the graph.
+     *
+     * @return the graph
+     */
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Computes the shortest path tree of a source.
+     *
+     * @param source the source vertex number, may be -1 for a source outside the graph
+     * @return the shortest path tree
+     */
+    public ShortestPathTree shortestPathTree(int source) {
+        int vertexCount = graph.getVertexCount();
+        SearchContext context = SearchContext.acquire(SearchContext.FORWARD, vertexCount);
+        if (source >= 0) {
+            search(context, source);
+        }
+        return new ShortestPathTree(graph, source, context.copyDistances(vertexCount), context.copyPredecessors(vertexCount));
+    }
+
+    /**
+     * Finds the shortest route between two vertices. The search stops as soon as the target is
+     * settled instead of exploring the whole reachable graph.
+     *
+     * @param source the source vertex number, may be -1
+     * @param target the target vertex number, may be -1
+     * @return the route result
+     */
+    public RouteResult route(int source, int target) {
+        if (source < 0 || target < 0) {
+            return RouteResult.unreachable();
+        }
+        SearchContext context = SearchContext.acquire(SearchContext.FORWARD, graph.getVertexCount());
+        search(context, source, target);
+        return RouteResult.fromSearch(graph, context, target);
+    }
+
+    /**
+     * Settles every vertex reachable from the source.
+     *
+     * @param context the context
+     * @param source the source vertex number
+     */
+    void search(SearchContext context, int source) {
+        search(context, source, -1);
+    }
+
+    /**
+     * Settles vertices in order of distance from the source until the target is settled.
+     *
+     * @param context the context
+     * @param source the source vertex number
+     * @param target the target vertex number, or -1 to settle every reachable vertex
+     */
+    void search(SearchContext context, int source, int target) {
+        MinHeap heap = context.heap;
+
+        context.update(source, 0f, -1);
+        heap.push(source, 0f);
+        while (!heap.isEmpty()) {
+            float currentDistance = heap.peekKey();
+            int current = heap.poll();
+            // Entries are never removed on improvement, so skip the stale ones (lazy deletion)
+            if (context.isSettled(current) || currentDistance > context.distance(current)) {
+                continue;
+            }
+            context.settle(current);
+            if (current == target) {
+                return;
+            }
+            for (int arc = graph.beginArc(current), end = graph.endArc(current); arc < end; arc++) {
+                int neighbor = graph.arcTarget(arc);
+                if (context.isSettled(neighbor)) {
+                    continue;
+                }
+                float alternateDistance = currentDistance + graph.arcWeight(arc);
+                if (alternateDistance < context.distance(neighbor)) {
+                    context.update(neighbor, alternateDistance, current);
+                    heap.push(neighbor, alternateDistance);
+                }
+            }
+        }
+    }
+}
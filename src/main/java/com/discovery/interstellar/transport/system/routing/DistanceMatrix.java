@@ -0,0 +1,247 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import com.discovery.interstellar.transport.system.entity.Vertex;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedList;
+import java.util.stream.IntStream;
+
+/**
+ * The Class DistanceMatrix.
+ *
+ * <p>All-pairs shortest distances and first hops of a {@link CompactGraph}, stored row by row in
+ * flat arrays of {@code vertexCount * vertexCount} entries, so that distance and path queries are
+ * table lookups. The matrix is computed by a blocked Floyd-Warshall: for every block of
+ * intermediate vertices, the diagonal tile is relaxed first, then the tiles of its block row and
+ * column, then all other tiles, each phase spreading its independent tiles over the common
+ * fork/join pool. Only graphs of up to {@link #MAX_VERTEX_COUNT} vertices are supported.
+ */
+public final class DistanceMatrix {
+
+    /** The Constant MAX_VERTEX_COUNT. */
+    public static final int MAX_VERTEX_COUNT = 2048;
+
+    /** The Constant TILE_SIZE, chosen so that three tiles of both arrays fit in the L2 cache. */
+    private static final int TILE_SIZE = 64;
+
+    /** The Constant TIE_TOLERANCE, the relative rounding error accepted between summed distances. */
+    private static final float TIE_TOLERANCE = 1e-5f;
+
+    /** The graph. */
+    private final CompactGraph graph;
+
+    /** The vertex count. */
+    private final int vertexCount;
+
+    /** The distances, {@code [source * vertexCount + target]}. */
+    private final float[] distances;
+
+    /** The first vertex after the source on the path to the target, -1 if unreachable. */
+    private final int[] successors;
+
+    /**
+     * Instantiates a new distance matrix.
+     *
+     * @param graph the graph
+     * @param distances the distances
+     * @param successors the successors
+     */
+    private DistanceMatrix(CompactGraph graph, float[] distances, int[] successors) {
+        this.graph = graph;
+        this.vertexCount = graph.getVertexCount();
+        this.distances = distances;
+        this.successors = successors;
+    }
+
+    /**
+     * Checks if a graph is small enough for a distance matrix.
+     *
+     * @param graph the graph
+     * @return true, if supported
+     */
+    public static boolean supports(CompactGraph graph) {
+        return graph.getVertexCount() <= MAX_VERTEX_COUNT;
+    }
+
+    /**
+     * Computes the distance matrix of a graph.
+     *
+     * @param graph the graph
+     * @return the distance matrix
+     */
+    public static DistanceMatrix build(CompactGraph graph) {
+        if (!supports(graph)) {
+            throw new IllegalArgumentException("Too many vertices for a distance matrix: " + graph.getVertexCount());
+        }
+        int n = graph.getVertexCount();
+        float[] distances = new float[n * n];
+        int[] successors = new int[n * n];
+        Arrays.fill(distances, Float.POSITIVE_INFINITY);
+        Arrays.fill(successors, -1);
+        for (int v = 0; v < n; v++) {
+            distances[v * n + v] = 0f;
+            successors[v * n + v] = v;
+            for (int arc = graph.beginArc(v), end = graph.endArc(v); arc < end; arc++) {
+                int cell = v * n + graph.arcTarget(arc);
+                if (graph.arcWeight(arc) < distances[cell]) {
+                    distances[cell] = graph.arcWeight(arc);
+                    successors[cell] = graph.arcTarget(arc);
+                }
+            }
+        }
+
+        int tiles = (n + TILE_SIZE - 1) / TILE_SIZE;
+        for (int k = 0; k < tiles; k++) {
+            final int pivot = k;
+            relaxTile(distances, successors, n, pivot, pivot, pivot);
+            IntStream.range(0, tiles).parallel().filter(t -> t != pivot).forEach(t -> {
+                relaxTile(distances, successors, n, pivot, t, pivot);
+                relaxTile(distances, successors, n, t, pivot, pivot);
+            });
+            IntStream.range(0, tiles * tiles).parallel().forEach(tile -> {
+                int rowTile = tile / tiles;
+                int columnTile = tile % tiles;
+                if (rowTile != pivot && columnTile != pivot) {
+                    relaxTile(distances, successors, n, rowTile, columnTile, pivot);
+                }
+            });
+        }
+        return new DistanceMatrix(graph, distances, successors);
+    }
+
+    /**
+     * Relaxes the paths of one tile through the vertices of a pivot tile.
+     *
+     * @param distances the distances
+     * @param successors the successors
+     * @param n the vertex count
+     * @param rowTile the row tile
+     * @param columnTile the column tile
+     * @param pivotTile the pivot tile
+     */
+    private static void relaxTile(float[] distances, int[] successors, int n, int rowTile, int columnTile, int pivotTile) {
+        int rowEnd = Math.min(n, (rowTile + 1) * TILE_SIZE);
+        int columnBegin = columnTile * TILE_SIZE;
+        int columnEnd = Math.min(n, columnBegin + TILE_SIZE);
+        int pivotEnd = Math.min(n, (pivotTile + 1) * TILE_SIZE);
+        for (int k = pivotTile * TILE_SIZE; k < pivotEnd; k++) {
+            int pivotRow = k * n;
+            for (int i = rowTile * TILE_SIZE; i < rowEnd; i++) {
+                int row = i * n;
+                float toPivot = distances[row + k];
+                if (toPivot == Float.POSITIVE_INFINITY) {
+                    continue;
+                }
+                int firstHop = successors[row + k];
+                for (int j = columnBegin; j < columnEnd; j++) {
+                    float alternateDistance = toPivot + distances[pivotRow + j];
+                    if (alternateDistance < distances[row + j]) {
+                        distances[row + j] = alternateDistance;
+                        successors[row + j] = firstHop;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the graph.
+     *
+     * @return the graph
+     */
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Gets the distance between two vertices.
+     *
+     * @param source the source vertex number, may be -1
+     * @param target the target vertex number, may be -1
+     * @return the distance, or positive infinity if the target is not reachable
+     */
+    public float distance(int source, int target) {
+        if (source < 0 || target < 0) {
+            return Float.POSITIVE_INFINITY;
+        }
+        return distances[source * vertexCount + target];
+    }
+
+    /**
+     * Gets the shortest route between two vertices by following the first hops. Zero weight arcs
+     * can leave the first hops of a blocked Floyd-Warshall in a cycle, so the walk stops at the
+     * first vertex it has already visited and the route is then rebuilt from the distances.
+     *
+     * @param source the source vertex number, may be -1
+     * @param target the target vertex number, may be -1
+     * @return the route result
+     */
+    public RouteResult route(int source, int target) {
+        float distance = distance(source, target);
+        if (distance == Float.POSITIVE_INFINITY) {
+            return RouteResult.unreachable();
+        }
+        if (source == target) {
+            return new RouteResult(null, 0f);
+        }
+        BitSet visited = new BitSet(vertexCount);
+        LinkedList<Vertex> path = new LinkedList<>();
+        path.add(graph.getVertex(source));
+        visited.set(source);
+        for (int v = source; v != target; ) {
+            v = successors[v * vertexCount + target];
+            if (v < 0 || visited.get(v)) {
+                return new RouteResult(tightPath(source, target), distance);
+            }
+            visited.set(v);
+            path.add(graph.getVertex(v));
+        }
+        return new RouteResult(path, distance);
+    }
+
+    /**
+     * Rebuilds a shortest route from the distances alone, by a depth first search over the arcs
+     * {@code (v, u)} with {@code w(v, u) + d(u, t) == d(v, t)}. Every vertex is entered at most
+     * once, so the search takes at most {@code vertexCount} steps forward.
+     *
+     * @param source the source vertex number
+     * @param target the target vertex number
+     * @return the path
+     */
+    private LinkedList<Vertex> tightPath(int source, int target) {
+        BitSet visited = new BitSet(vertexCount);
+        int[] stack = new int[vertexCount];
+        int[] nextArc = new int[vertexCount];
+        int depth = 0;
+        stack[0] = source;
+        nextArc[0] = graph.beginArc(source);
+        visited.set(source);
+        while (stack[depth] != target) {
+            int v = stack[depth];
+            float remaining = distances[v * vertexCount + target];
+            float tolerance = TIE_TOLERANCE * Math.max(1f, remaining);
+            int next = -1;
+            for (int end = graph.endArc(v); nextArc[depth] < end && next < 0; nextArc[depth]++) {
+                int u = graph.arcTarget(nextArc[depth]);
+                if (!visited.get(u) && graph.arcWeight(nextArc[depth]) + distances[u * vertexCount + target] <= remaining + tolerance) {
+                    next = u;
+                }
+            }
+            if (next >= 0) {
+                visited.set(next);
+                stack[++depth] = next;
+                nextArc[depth] = graph.beginArc(next);
+            } else if (depth == 0) {
+                throw new IllegalStateException("No route in the distance matrix from " + source + " to " + target);
+            } else {
+                depth--;
+            }
+        }
+        LinkedList<Vertex> path = new LinkedList<>();
+        for (int i = 0; i <= depth; i++) {
+            path.add(graph.getVertex(stack[i]));
+        }
+        return path;
+    }
+}
@@ -0,0 +1,481 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import com.discovery.interstellar.transport.system.entity.Edge;
+import com.discovery.interstellar.transport.system.entity.Traffic;
+import com.discovery.interstellar.transport.system.entity.Vertex;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Class GraphFile.
+ *
+ * <p>Versioned binary file of a {@link GraphSnapshot}, which is read back by memory mapping it
+ * instead of importing and loading the graph again. The file starts with a fixed header, followed
+ * by the arrays of the directed compact graph (block offsets, reverse offsets, heads, weights,
+ * weights with traffic, edge arcs and edge reverse arcs) and its vertex dictionary, and ends with
+ * the vertices, islands, edges and traffics as blocks of records. The arrays are copied out of the
+ * mapping in bulk; the edges and traffics are only decoded from it when the snapshot is asked for
+ * them, since queries need nothing but the compact graphs.
+ *
+ * <p>The header holds a stamp of the source the graph was imported from, so a file is only read
+ * back for the source it was written for.
+ */
+public final class GraphFile {
+
+    /** The Constant FILE_MAGIC. */
+    private static final int FILE_MAGIC = 0x47524631;
+
+    /** The Constant FILE_VERSION. */
+    private static final int FILE_VERSION = 1;
+
+    /** The Constant HEADER_SIZE, the bytes of the header. */
+    private static final int HEADER_SIZE = 56;
+
+    /** The Constant LENGTH_POSITION, where the file length is patched into the header. */
+    private static final int LENGTH_POSITION = 16;
+
+    /** The Constant OFFSETS_POSITION, where the section offsets are patched into the header. */
+    private static final int OFFSETS_POSITION = 40;
+
+    /** The Constant BLOCK_RECORDS, the most records of a block. */
+    private static final int BLOCK_RECORDS = 1 << 16;
+
+    /** The Constant MAX_MAPPED_VALUES, the most ints or floats mapped at a time. */
+    private static final int MAX_MAPPED_VALUES = 1 << 28;
+
+    /**
+     * Instantiates a new graph file.
+     */
+    private GraphFile() {
+    }
+
+    /**
+     * Writes a snapshot.
+     *
+     * @param snapshot the snapshot
+     * @param sourceStamp the stamp of the source of the graph
+     * @param file the file, replaced if it exists
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public static void write(GraphSnapshot snapshot, long sourceStamp, File file) throws IOException {
+        CompactGraph graph = snapshot.getCompactGraph(false, false);
+        CompactGraph trafficGraph = snapshot.getCompactGraph(true, false);
+        List<Vertex> vertexes = snapshot.getVertexes();
+        List<Edge> edges = snapshot.getEdges();
+        List<Traffic> traffics = snapshot.getTraffics();
+        int vertexCount = graph.getVertexCount();
+
+        Map<Vertex, Integer> snapshotIndexes = new IdentityHashMap<>();
+        for (int i = 0; i < vertexes.size(); i++) {
+            snapshotIndexes.put(vertexes.get(i), i);
+        }
+        int[] dictionary = new int[vertexCount];
+        List<String> islandIds = new ArrayList<>();
+        for (int v = 0; v < vertexCount; v++) {
+            Integer index = snapshotIndexes.get(graph.getVertex(v));
+            dictionary[v] = index == null ? -1 : index;
+            if (index == null) {
+                islandIds.add(graph.getVertex(v).getVertexId());
+            }
+        }
+
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.setLength(0);
+            FileChannel channel = randomAccessFile.getChannel();
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.writeLong(sourceStamp);
+            out.writeLong(0L);
+            out.writeInt(vertexes.size());
+            out.writeInt(vertexCount);
+            out.writeInt(edges.size());
+            out.writeInt(traffics.size());
+            out.writeLong(0L);
+            out.writeLong(0L);
+
+            writeInts(out, graph.getBlockOffsets());
+            writeInts(out, graph.getReverseOffsets());
+            writeInts(out, graph.getHeads());
+            writeFloats(out, graph.getWeights());
+            writeFloats(out, trafficGraph.getWeights());
+            writeInts(out, graph.getEdgeArcs());
+            writeInts(out, graph.getEdgeReverseArcs());
+            writeInts(out, dictionary);
+
+            writeBlocks(out, vertexes, (block, vertex) -> {
+                writeString(block, vertex.getVertexId());
+                writeString(block, vertex.getName());
+            });
+            writeBlocks(out, islandIds, GraphFile::writeString);
+            out.flush();
+            long edgesOffset = channel.position();
+            writeBlocks(out, edges, (block, edge) -> {
+                block.writeLong(edge.getRecordId());
+                writeString(block, edge.getEdgeId());
+                writeString(block, edge.getSource());
+                writeString(block, edge.getDestination());
+                block.writeFloat(edge.getDistance());
+                block.writeFloat(edge.getTimeDelay());
+            });
+            out.flush();
+            long trafficsOffset = channel.position();
+            writeBlocks(out, traffics, (block, traffic) -> {
+                writeString(block, traffic.getRouteId());
+                writeString(block, traffic.getSource());
+                writeString(block, traffic.getDestination());
+                block.writeFloat(traffic.getDelay());
+            });
+            out.flush();
+
+            randomAccessFile.seek(LENGTH_POSITION);
+            randomAccessFile.writeLong(channel.size());
+            randomAccessFile.seek(OFFSETS_POSITION);
+            randomAccessFile.writeLong(edgesOffset);
+            randomAccessFile.writeLong(trafficsOffset);
+        }
+    }
+
+    /**
+     * Reads a snapshot by mapping the file.
+     *
+     * @param file the file
+     * @param sourceStamp the stamp of the source the graph must have been imported from
+     * @param version the version of the snapshot
+     * @return the snapshot
+     * @throws IOException if the file is not a graph file of this version and source, or is damaged
+     */
+    public static GraphSnapshot read(File file, long sourceStamp, long version) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Not a graph file");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != FILE_MAGIC || header.getInt() != FILE_VERSION) {
+                throw new IOException("Not a graph file of version " + FILE_VERSION);
+            }
+            if (header.getLong() != sourceStamp) {
+                throw new IOException("Graph file belongs to another source");
+            }
+            long fileLength = header.getLong();
+            int snapshotVertexCount = header.getInt();
+            int vertexCount = header.getInt();
+            int edgeCount = header.getInt();
+            int trafficCount = header.getInt();
+            long edgesOffset = header.getLong();
+            long trafficsOffset = header.getLong();
+            if (fileLength != channel.size() || snapshotVertexCount < 0 || vertexCount < 0 || edgeCount < 0
+                    || trafficCount < 0 || edgesOffset > trafficsOffset || trafficsOffset > fileLength) {
+                throw new IOException("Damaged graph file");
+            }
+
+            try {
+                long position = HEADER_SIZE;
+                int[] blockOffsets = readInts(channel, position, vertexCount + 1);
+                position += 4L * blockOffsets.length;
+                int[] reverseOffsets = readInts(channel, position, vertexCount);
+                position += 4L * reverseOffsets.length;
+                int[] heads = readInts(channel, position, 2 * edgeCount);
+                position += 4L * heads.length;
+                float[] weights = readFloats(channel, position, 2 * edgeCount);
+                position += 4L * weights.length;
+                float[] trafficWeights = readFloats(channel, position, 2 * edgeCount);
+                position += 4L * trafficWeights.length;
+                int[] edgeArcs = readInts(channel, position, edgeCount);
+                position += 4L * edgeArcs.length;
+                int[] edgeReverseArcs = readInts(channel, position, edgeCount);
+                position += 4L * edgeReverseArcs.length;
+                int[] dictionary = readInts(channel, position, vertexCount);
+                position += 4L * dictionary.length;
+
+                List<Vertex> vertexes = new ArrayList<>(snapshotVertexCount);
+                position = readBlocks(channel, position, snapshotVertexCount, blocks -> {
+                    for (ByteBuffer block : blocks) {
+                        while (block.hasRemaining()) {
+                            vertexes.add(new Vertex(readString(block), readString(block)));
+                        }
+                    }
+                });
+                int islandCount = 0;
+                for (int v = 0; v < vertexCount; v++) {
+                    if (dictionary[v] < 0) {
+                        islandCount++;
+                    }
+                }
+                List<String> islandIds = new ArrayList<>(islandCount);
+                position = readBlocks(channel, position, islandCount, blocks -> {
+                    for (ByteBuffer block : blocks) {
+                        while (block.hasRemaining()) {
+                            islandIds.add(readString(block));
+                        }
+                    }
+                });
+                if (position != edgesOffset || vertexes.size() != snapshotVertexCount || islandIds.size() != islandCount) {
+                    throw new IOException("Damaged graph file");
+                }
+                List<ByteBuffer> edgeBlocks = new ArrayList<>();
+                if (readBlocks(channel, edgesOffset, edgeCount, edgeBlocks::addAll) != trafficsOffset) {
+                    throw new IOException("Damaged graph file");
+                }
+                List<ByteBuffer> trafficBlocks = new ArrayList<>();
+                if (readBlocks(channel, trafficsOffset, trafficCount, trafficBlocks::addAll) != fileLength) {
+                    throw new IOException("Damaged graph file");
+                }
+
+                Vertex[] vertices = new Vertex[vertexCount];
+                int island = 0;
+                for (int v = 0; v < vertexCount; v++) {
+                    if (dictionary[v] >= 0) {
+                        vertices[v] = vertexes.get(dictionary[v]);
+                    } else {
+                        vertices[v] = CompactGraph.islandVertex(islandIds.get(island++));
+                    }
+                }
+                CompactGraph graph = CompactGraph.fromArrays(vertices, blockOffsets, reverseOffsets, heads, weights,
+                        edgeArcs, edgeReverseArcs);
+                return new GraphSnapshot(version, vertexes, edgeCount, () -> decodeEdges(edgeBlocks, edgeCount),
+                        trafficCount, () -> decodeTraffics(trafficBlocks, trafficCount), graph, graph.withTrafficWeights(trafficWeights));
+            } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+                throw new IOException("Damaged graph file", e);
+            }
+        }
+    }
+
+    /**
+     * Decodes the edges.
+     *
+     * @param blocks the edge blocks
+     * @param edgeCount the edge count
+     * @return the edges
+     */
+    private static List<Edge> decodeEdges(List<ByteBuffer> blocks, int edgeCount) {
+        List<Edge> edges = new ArrayList<>(edgeCount);
+        for (ByteBuffer mapped : blocks) {
+            ByteBuffer block = mapped.duplicate();
+            while (block.hasRemaining()) {
+                edges.add(new Edge(block.getLong(), readString(block), readString(block), readString(block),
+                        block.getFloat(), block.getFloat()));
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Decodes the traffics.
+     *
+     * @param blocks the traffic blocks
+     * @param trafficCount the traffic count
+     * @return the traffics
+     */
+    private static List<Traffic> decodeTraffics(List<ByteBuffer> blocks, int trafficCount) {
+        List<Traffic> traffics = new ArrayList<>(trafficCount);
+        for (ByteBuffer mapped : blocks) {
+            ByteBuffer block = mapped.duplicate();
+            while (block.hasRemaining()) {
+                traffics.add(new Traffic(readString(block), readString(block), readString(block), block.getFloat()));
+            }
+        }
+        return traffics;
+    }
+
+    /**
+     * Writes the records of a section as blocks, each preceded by its record count and byte length.
+     *
+     * @param <T> the record type
+     * @param out the output
+     * @param records the records
+     * @param recordWriter the record writer
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static <T> void writeBlocks(DataOutputStream out, List<T> records, RecordWriter<T> recordWriter) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream block = new DataOutputStream(bytes);
+        for (int start = 0; start < records.size(); start += BLOCK_RECORDS) {
+            int end = Math.min(records.size(), start + BLOCK_RECORDS);
+            bytes.reset();
+            for (int i = start; i < end; i++) {
+                recordWriter.write(block, records.get(i));
+            }
+            block.flush();
+            out.writeInt(end - start);
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+        }
+    }
+
+    /**
+     * Maps the blocks of a section.
+     *
+     * @param channel the channel
+     * @param position the position of the section
+     * @param recordCount the number of records of the section
+     * @param consumer the consumer of the mapped blocks
+     * @return the position after the section
+     * @throws IOException if the section is damaged
+     */
+    private static long readBlocks(FileChannel channel, long position, int recordCount, BlockConsumer consumer) throws IOException {
+        List<ByteBuffer> blocks = new ArrayList<>();
+        ByteBuffer blockHeader = ByteBuffer.allocate(8);
+        long records = 0;
+        long current = position;
+        while (records < recordCount) {
+            blockHeader.clear();
+            if (channel.read(blockHeader, current) != blockHeader.capacity()) {
+                throw new IOException("Damaged graph file");
+            }
+            blockHeader.flip();
+            int blockRecords = blockHeader.getInt();
+            int byteLength = blockHeader.getInt();
+            if (blockRecords <= 0 || records + blockRecords > recordCount || byteLength < 0
+                    || current + 8 + byteLength > channel.size()) {
+                throw new IOException("Damaged graph file");
+            }
+            blocks.add(channel.map(FileChannel.MapMode.READ_ONLY, current + 8, byteLength));
+            records += blockRecords;
+            current += 8 + byteLength;
+        }
+        consumer.accept(blocks);
+        return current;
+    }
+
+    /**
+     * Writes the values of an int array.
+     *
+     * @param out the output
+     * @param values the values
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    /**
+     * Writes the values of a float array.
+     *
+     * @param out the output
+     * @param values the values
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static void writeFloats(DataOutputStream out, float[] values) throws IOException {
+        for (float value : values) {
+            out.writeFloat(value);
+        }
+    }
+
+    /**
+     * Copies an int array out of the file, mapping it a part at a time.
+     *
+     * @param channel the channel
+     * @param position the position of the array
+     * @param length the length of the array
+     * @return the array
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static int[] readInts(FileChannel channel, long position, int length) throws IOException {
+        int[] values = new int[length];
+        for (int start = 0; start < length; start += MAX_MAPPED_VALUES) {
+            int count = Math.min(MAX_MAPPED_VALUES, length - start);
+            channel.map(FileChannel.MapMode.READ_ONLY, position + 4L * start, 4L * count).asIntBuffer().get(values, start, count);
+        }
+        return values;
+    }
+
+    /**
+     * Copies a float array out of the file, mapping it a part at a time.
+     *
+     * @param channel the channel
+     * @param position the position of the array
+     * @param length the length of the array
+     * @return the array
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static float[] readFloats(FileChannel channel, long position, int length) throws IOException {
+        float[] values = new float[length];
+        for (int start = 0; start < length; start += MAX_MAPPED_VALUES) {
+            int count = Math.min(MAX_MAPPED_VALUES, length - start);
+            channel.map(FileChannel.MapMode.READ_ONLY, position + 4L * start, 4L * count).asFloatBuffer().get(values, start, count);
+        }
+        return values;
+    }
+
+    /**
+     * Writes a string as its UTF-8 length, -1 for null, and bytes.
+     *
+     * @param out the output
+     * @param value the value
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+     *
+     * @param buffer the buffer
+     * @return the string
+     */
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The Interface RecordWriter.
+     *
+     * @param <T> the record type
+     */
+    private interface RecordWriter<T> {
+
+        /**
+         * Writes a record.
+         *
+         * @param out the output
+         * @param record the record
+         * @throws IOException Signals that an I/O exception has occurred.
+         */
+        void write(DataOutputStream out, T record) throws IOException;
+    }
+
+    /**
+     * The Interface BlockConsumer.
+     */
+    private interface BlockConsumer {
+
+        /**
+         * Accepts the mapped blocks of a section.
+         *
+         * @param blocks the blocks
+         * @throws IOException if the blocks are damaged
+         */
+        void accept(List<ByteBuffer> blocks) throws IOException;
+    }
+}
@@ -0,0 +1,312 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import com.discovery.interstellar.transport.system.entity.Edge;
+import com.discovery.interstellar.transport.system.entity.Traffic;
+import com.discovery.interstellar.transport.system.entity.Vertex;
+import com.discovery.interstellar.transport.system.helper.Graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * The Class GraphSnapshot.
+ *
+ * <p>Immutable, versioned copy of the vertices, edges and traffic of the transport system. The
+ * snapshot owns its own entity copies, so nothing done to it reaches the persistence context,
+ * and it answers vertex lookups and path queries without touching the database. The compact
+ * graph of each traffic/undirected combination is built on first use: the graph with traffic is
+ * derived from the plain one through a {@link TrafficOverlay}, and the undirected graphs are views
+ * of the directed ones. A snapshot read from a {@link GraphFile} starts with both directed compact
+ * graphs and decodes its edges and traffics only when they are asked for.
+ */
+public final class GraphSnapshot {
+
+    /** The version. */
+    private final long version;
+
+    /** The vertexes. */
+    private final List<Vertex> vertexes;
+
+    /** The edges, null until decoded. */
+    private volatile List<Edge> edges;
+
+    /** The traffics, null until decoded. */
+    private volatile List<Traffic> traffics;
+
+    /** The edge count, known before the edges are decoded. */
+    private final int edgeCount;
+
+    /** The traffic count, known before the traffics are decoded. */
+    private final int trafficCount;
+
+    /** The decoder of the edges, null once they are decoded. */
+    private Supplier<List<Edge>> edgeDecoder;
+
+    /** The decoder of the traffics, null once they are decoded. */
+    private Supplier<List<Traffic>> trafficDecoder;
+
+    /** The vertices by id. */
+    private final Map<String, Vertex> verticesById;
+
+    /** The vertices by name. */
+    private final Map<String, Vertex> verticesByName;
+
+    /** The compact graphs, indexed by {@link #variant(boolean, boolean)}. */
+    private final AtomicReferenceArray<CompactGraph> compactGraphs = new AtomicReferenceArray<>(4);
+
+    /** The traffic overlay, joined on first use. */
+    private volatile TrafficOverlay trafficOverlay;
+
+    /**
+     * Instantiates a new graph snapshot.
+     *
+     * @param version the version
+     * @param graph the graph to copy
+     */
+    public GraphSnapshot(long version, Graph graph) {
+        this.version = version;
+        List<Vertex> vertexCopies = new ArrayList<>();
+        if (graph.getVertexes() != null) {
+            for (Vertex vertex : graph.getVertexes()) {
+                vertexCopies.add(new Vertex(vertex.getVertexId(), vertex.getName()));
+            }
+        }
+        List<Edge> edgeCopies = new ArrayList<>();
+        if (graph.getEdges() != null) {
+            for (Edge edge : graph.getEdges()) {
+                edgeCopies.add(copyEdge(edge));
+            }
+        }
+        List<Traffic> trafficCopies = new ArrayList<>();
+        if (graph.getTraffics() != null) {
+            for (Traffic traffic : graph.getTraffics()) {
+                trafficCopies.add(new Traffic(traffic.getRouteId(), traffic.getSource(), traffic.getDestination(), traffic.getDelay()));
+            }
+        }
+        this.vertexes = Collections.unmodifiableList(vertexCopies);
+        this.edges = Collections.unmodifiableList(edgeCopies);
+        this.traffics = Collections.unmodifiableList(trafficCopies);
+        this.edgeCount = edgeCopies.size();
+        this.trafficCount = trafficCopies.size();
+        this.verticesById = new HashMap<>();
+        this.verticesByName = new HashMap<>();
+        indexVertexes();
+    }
+
+    /**
+     * Instantiates a new graph snapshot from the data of a graph file.
+     *
+     * @param version the version
+     * @param vertexes the vertexes, owned by the snapshot
+     * @param edgeCount the edge count
+     * @param edgeDecoder the decoder of the edges
+     * @param trafficCount the traffic count
+     * @param trafficDecoder the decoder of the traffics
+     * @param compactGraph the directed compact graph without traffic, holding the vertexes
+     * @param trafficGraph the directed compact graph with traffic
+     */
+    GraphSnapshot(long version, List<Vertex> vertexes, int edgeCount, Supplier<List<Edge>> edgeDecoder, int trafficCount,
+                  Supplier<List<Traffic>> trafficDecoder, CompactGraph compactGraph, CompactGraph trafficGraph) {
+        this.version = version;
+        this.vertexes = Collections.unmodifiableList(vertexes);
+        this.edgeCount = edgeCount;
+        this.trafficCount = trafficCount;
+        this.edgeDecoder = edgeDecoder;
+        this.trafficDecoder = trafficDecoder;
+        this.verticesById = new HashMap<>();
+        this.verticesByName = new HashMap<>();
+        indexVertexes();
+        compactGraphs.set(variant(false, false), compactGraph);
+        compactGraphs.set(variant(true, false), trafficGraph);
+    }
+
+    /**
+     * Indexes the vertexes by id and by name, the first of several equal keys wins.
+     */
+    private void indexVertexes() {
+        for (Vertex vertex : vertexes) {
+            if (!verticesById.containsKey(vertex.getVertexId())) {
+                verticesById.put(vertex.getVertexId(), vertex);
+            }
+            if (vertex.getName() != null && !verticesByName.containsKey(vertex.getName())) {
+                verticesByName.put(vertex.getName(), vertex);
+            }
+        }
+    }
+
+    /**
+     * Gets the version.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the vertexes.
+     *
+     * @return the vertexes
+     */
+    public List<Vertex> getVertexes() {
+        return vertexes;
+    }
+
+    /**
+     * Gets the edges.
+     *
+     * @return the edges
+     */
+    public List<Edge> getEdges() {
+        List<Edge> decoded = edges;
+        if (decoded == null) {
+            synchronized (this) {
+                if (edges == null) {
+                    edges = Collections.unmodifiableList(edgeDecoder.get());
+                    edgeDecoder = null;
+                }
+                decoded = edges;
+            }
+        }
+        return decoded;
+    }
+
+    /**
+     * Gets the edge count, without decoding the edges.
+     *
+     * @return the edge count
+     */
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Gets the traffics.
+     *
+     * @return the traffics
+     */
+    public List<Traffic> getTraffics() {
+        List<Traffic> decoded = traffics;
+        if (decoded == null) {
+            synchronized (this) {
+                if (traffics == null) {
+                    traffics = Collections.unmodifiableList(trafficDecoder.get());
+                    trafficDecoder = null;
+                }
+                decoded = traffics;
+            }
+        }
+        return decoded;
+    }
+
+    /**
+     * Gets the traffic count, without decoding the traffics.
+     *
+     * @return the traffic count
+     */
+    public int getTrafficCount() {
+        return trafficCount;
+    }
+
+    /**
+     * Checks if is empty.
+     *
+     * @return true, if there are no vertices
+     */
+    public boolean isEmpty() {
+        return vertexes.isEmpty();
+    }
+
+    /**
+     * Gets the home vertex, the first vertex of the system.
+     *
+     * @return the home vertex, or null if there are no vertices
+     */
+    public Vertex getHomeVertex() {
+        return vertexes.isEmpty() ? null : vertexes.get(0);
+    }
+
+    /**
+     * Gets the vertex by id.
+     *
+     * @param vertexId the vertex id
+     * @return the vertex, or null
+     */
+    public Vertex getVertexById(String vertexId) {
+        return vertexId == null ? null : verticesById.get(vertexId);
+    }
+
+    /**
+     * Gets the vertex by name.
+     *
+     * @param name the name
+     * @return the vertex, or null
+     */
+    public Vertex getVertexByName(String name) {
+        return name == null ? null : verticesByName.get(name);
+    }
+
+    /**
+     * Gets the compact graph for the given options.
+     *
+     * @param trafficAllowed the traffic allowed
+     * @param undirectedGraph the undirected graph
+     * @return the compact graph
+     */
+    public CompactGraph getCompactGraph(boolean trafficAllowed, boolean undirectedGraph) {
+        int variant = variant(trafficAllowed, undirectedGraph);
+        CompactGraph compactGraph = compactGraphs.get(variant);
+        if (compactGraph == null) {
+            if (undirectedGraph) {
+                compactGraph = getCompactGraph(trafficAllowed, false).undirectedView();
+            } else if (trafficAllowed) {
+                compactGraph = getCompactGraph(false, false).withTraffic(getTrafficOverlay());
+            } else {
+                compactGraph = CompactGraph.fromGraph(new Graph(vertexes, getEdges(), getTraffics()));
+            }
+            compactGraphs.compareAndSet(variant, null, compactGraph);
+            compactGraph = compactGraphs.get(variant);
+        }
+        return compactGraph;
+    }
+
+    /**
+     * Gets the traffic overlay of the edges, joining the traffic onto them on first use.
+     *
+     * @return the traffic overlay
+     */
+    public TrafficOverlay getTrafficOverlay() {
+        TrafficOverlay overlay = trafficOverlay;
+        if (overlay == null) {
+            overlay = TrafficOverlay.build(getEdges(), getTraffics());
+            trafficOverlay = overlay;
+        }
+        return overlay;
+    }
+
+    /**
+     * Gets the variant slot of a traffic/undirected combination.
+     *
+     * @param trafficAllowed the traffic allowed
+     * @param undirectedGraph the undirected graph
+     * @return the variant
+     */
+    private static int variant(boolean trafficAllowed, boolean undirectedGraph) {
+        return (trafficAllowed ? 1 : 0) | (undirectedGraph ? 2 : 0);
+    }
+
+    /**
+     * Copy edge.
+     *
+     * @param edge the edge
+     * @return the edge
+     */
+    private static Edge copyEdge(Edge edge) {
+        return new Edge(edge.getRecordId(), edge.getEdgeId(), edge.getSource(), edge.getDestination(), edge.getDistance(), edge.getTimeDelay());
+    }
+}
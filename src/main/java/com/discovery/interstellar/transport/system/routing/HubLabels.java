@@ -0,0 +1,474 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * The Class HubLabels.
+ *
+ * <p>Distance oracle built by pruned landmark labeling. Every vertex keeps an outgoing label
+ * (hubs it reaches, with distances) and an incoming label (hubs that reach it). The distance
+ * between two vertices is the smallest sum over the hubs the outgoing label of the source and
+ * the incoming label of the target have in common, found by merging the two labels, which are
+ * sorted by hub rank. Labels of all vertices are packed into flat arrays.
+ */
+public final class HubLabels {
+
+    /** The Constant FILE_MAGIC. */
+    private static final int FILE_MAGIC = 0x48554231;
+
+    /** The Constant FILE_VERSION. */
+    private static final int FILE_VERSION = 1;
+
+    /** The graph. */
+    private final CompactGraph graph;
+
+    /** The outgoing label offsets, of length vertex count + 1. */
+    private final int[] outOffsets;
+
+    /** The outgoing label hub ranks. */
+    private final int[] outHubs;
+
+    /** The outgoing label distances. */
+    private final float[] outDistances;
+
+    /** The incoming label offsets, of length vertex count + 1. */
+    private final int[] inOffsets;
+
+    /** The incoming label hub ranks. */
+    private final int[] inHubs;
+
+    /** The incoming label distances. */
+    private final float[] inDistances;
+
+    /**
+     * Instantiates new hub labels.
+     *
+     * @param graph the graph
+     * @param outOffsets the out offsets
+     * @param outHubs the out hubs
+     * @param outDistances the out distances
+     * @param inOffsets the in offsets
+     * @param inHubs the in hubs
+     * @param inDistances the in distances
+     */
+    private HubLabels(CompactGraph graph, int[] outOffsets, int[] outHubs, float[] outDistances,
+                      int[] inOffsets, int[] inHubs, float[] inDistances) {
+        this.graph = graph;
+        this.outOffsets = outOffsets;
+        this.outHubs = outHubs;
+        this.outDistances = outDistances;
+        this.inOffsets = inOffsets;
+        this.inHubs = inHubs;
+        this.inDistances = inDistances;
+    }
+
+    /**
+     * Builds the hub labels of a graph. Vertices become hubs from the highest to the lowest rank
+     * of its contraction hierarchy, so the important vertices that many shortest paths cross come
+     * first; the searches from each hub stop at vertices whose distance the labels built so far
+     * already cover.
+     *
+     * @param graph the graph
+     * @return the hub labels
+     */
+    public static HubLabels build(CompactGraph graph) {
+        return build(ContractionHierarchy.build(graph));
+    }
+
+    /**
+     * Builds the hub labels of the graph of a contraction hierarchy, in the order of its ranks.
+     *
+     * @param hierarchy the contraction hierarchy
+     * @return the hub labels
+     * @see #build(CompactGraph)
+     */
+    public static HubLabels build(ContractionHierarchy hierarchy) {
+        CompactGraph graph = hierarchy.getGraph();
+        int vertexCount = graph.getVertexCount();
+        int[] order = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            order[vertexCount - 1 - hierarchy.getRank(v)] = v;
+        }
+        return build(graph, order);
+    }
+
+    /**
+     * Builds the hub labels of a graph with the given hub order.
+     *
+     * @param graph the graph
+     * @param order the vertices, most important first
+     * @return the hub labels
+     */
+    public static HubLabels build(CompactGraph graph, int[] order) {
+        int vertexCount = graph.getVertexCount();
+        LabelLists outLabels = new LabelLists(vertexCount);
+        LabelLists inLabels = new LabelLists(vertexCount);
+        PrunedSearch search = new PrunedSearch(graph);
+        for (int rank = 0; rank < vertexCount; rank++) {
+            int hub = order[rank];
+            search.run(hub, rank, false, outLabels, inLabels);
+            search.run(hub, rank, true, inLabels, outLabels);
+        }
+        return new HubLabels(graph, outLabels.offsets(), outLabels.packHubs(), outLabels.packDistances(),
+                inLabels.offsets(), inLabels.packHubs(), inLabels.packDistances());
+    }
+
+    /**
+     * Gets the graph.
+     *
+     * @return the graph
+     */
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Gets the total number of label entries.
+     *
+     * @return the label entry count
+     */
+    public int getLabelEntryCount() {
+        return outHubs.length + inHubs.length;
+    }
+
+    /**
+     * Gets the distance between two vertices.
+     *
+     * @param source the source vertex number, may be -1
+     * @param target the target vertex number, may be -1
+     * @return the distance, or positive infinity if the target is not reachable
+     */
+    public float distance(int source, int target) {
+        if (source < 0 || target < 0) {
+            return Float.POSITIVE_INFINITY;
+        }
+        int i = outOffsets[source];
+        int outEnd = outOffsets[source + 1];
+        int j = inOffsets[target];
+        int inEnd = inOffsets[target + 1];
+        float best = Float.POSITIVE_INFINITY;
+        while (i < outEnd && j < inEnd) {
+            int outHub = outHubs[i];
+            int inHub = inHubs[j];
+            if (outHub == inHub) {
+                float candidate = outDistances[i++] + inDistances[j++];
+                if (candidate < best) {
+                    best = candidate;
+                }
+            } else if (outHub < inHub) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Writes the labels, preceded by the fingerprint of the graph they were built for.
+     *
+     * @param outputStream the output stream
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void write(OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(FILE_MAGIC);
+        out.writeInt(FILE_VERSION);
+        out.writeLong(graph.fingerprint());
+        out.writeInt(graph.getVertexCount());
+        writeLabels(out, outOffsets, outHubs, outDistances);
+        writeLabels(out, inOffsets, inHubs, inDistances);
+        out.flush();
+    }
+
+    /**
+     * Reads labels written by {@link #write(OutputStream)}.
+     *
+     * @param inputStream the input stream
+     * @param graph the graph the labels must belong to
+     * @return the hub labels
+     * @throws IOException if the stream is not a hub label file of this graph
+     */
+    public static HubLabels read(InputStream inputStream, CompactGraph graph) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+            throw new IOException("Not a hub label file");
+        }
+        if (in.readLong() != graph.fingerprint() || in.readInt() != graph.getVertexCount()) {
+            throw new IOException("Hub labels belong to another graph");
+        }
+        int vertexCount = graph.getVertexCount();
+        int[] outOffsets = readInts(in, vertexCount + 1);
+        int[] outHubs = readInts(in, outOffsets[vertexCount]);
+        float[] outDistances = readFloats(in, outOffsets[vertexCount]);
+        int[] inOffsets = readInts(in, vertexCount + 1);
+        int[] inHubs = readInts(in, inOffsets[vertexCount]);
+        float[] inDistances = readFloats(in, inOffsets[vertexCount]);
+        return new HubLabels(graph, outOffsets, outHubs, outDistances, inOffsets, inHubs, inDistances);
+    }
+
+    /**
+     * Writes one label direction.
+     *
+     * @param out the out
+     * @param offsets the offsets
+     * @param hubs the hubs
+     * @param distances the distances
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static void writeLabels(DataOutputStream out, int[] offsets, int[] hubs, float[] distances) throws IOException {
+        for (int offset : offsets) {
+            out.writeInt(offset);
+        }
+        for (int hub : hubs) {
+            out.writeInt(hub);
+        }
+        for (float distance : distances) {
+            out.writeFloat(distance);
+        }
+    }
+
+    /**
+     * Reads ints.
+     *
+     * @param in the in
+     * @param length the length
+     * @return the ints
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static int[] readInts(DataInputStream in, int length) throws IOException {
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    /**
+     * Reads floats.
+     *
+     * @param in the in
+     * @param length the length
+     * @return the floats
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static float[] readFloats(DataInputStream in, int length) throws IOException {
+        float[] values = new float[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readFloat();
+        }
+        return values;
+    }
+
+    /**
+     * The Class LabelLists.
+     *
+     * <p>Growable labels of every vertex during the build. Hubs are appended in rank order, so
+     * every label stays sorted.
+     */
+    private static final class LabelLists {
+
+        /** The hubs of every vertex. */
+        private final int[][] hubs;
+
+        /** The distances of every vertex. */
+        private final float[][] distances;
+
+        /** The label sizes. */
+        private final int[] sizes;
+
+        /**
+         * Instantiates new label lists.
+         *
+         * @param vertexCount the vertex count
+         */
+        LabelLists(int vertexCount) {
+            this.hubs = new int[vertexCount][];
+            this.distances = new float[vertexCount][];
+            this.sizes = new int[vertexCount];
+            for (int v = 0; v < vertexCount; v++) {
+                hubs[v] = new int[2];
+                distances[v] = new float[2];
+            }
+        }
+
+        /**
+         * Adds a hub to the label of a vertex.
+         *
+         * @param vertex the vertex
+         * @param hub the hub rank
+         * @param distance the distance
+         */
+        void add(int vertex, int hub, float distance) {
+            int size = sizes[vertex];
+            if (size == hubs[vertex].length) {
+                hubs[vertex] = Arrays.copyOf(hubs[vertex], size << 1);
+                distances[vertex] = Arrays.copyOf(distances[vertex], size << 1);
+            }
+            hubs[vertex][size] = hub;
+            distances[vertex][size] = distance;
+            sizes[vertex] = size + 1;
+        }
+
+        /**
+         * Computes the offsets of the packed labels.
+         *
+         * @return the offsets
+         */
+        int[] offsets() {
+            int[] offsets = new int[sizes.length + 1];
+            for (int v = 0; v < sizes.length; v++) {
+                offsets[v + 1] = offsets[v] + sizes[v];
+            }
+            return offsets;
+        }
+
+        /**
+         * Packs the hubs.
+         *
+         * @return the packed hubs
+         */
+        int[] packHubs() {
+            int[] packed = new int[offsets()[sizes.length]];
+            for (int v = 0, offset = 0; v < sizes.length; offset += sizes[v], v++) {
+                System.arraycopy(hubs[v], 0, packed, offset, sizes[v]);
+            }
+            return packed;
+        }
+
+        /**
+         * Packs the distances.
+         *
+         * @return the packed distances
+         */
+        float[] packDistances() {
+            float[] packed = new float[offsets()[sizes.length]];
+            for (int v = 0, offset = 0; v < sizes.length; offset += sizes[v], v++) {
+                System.arraycopy(distances[v], 0, packed, offset, sizes[v]);
+            }
+            return packed;
+        }
+    }
+
+    /**
+     * The Class PrunedSearch.
+     *
+     * <p>Dijkstra search from one hub that skips the vertices whose distance to or from the hub
+     * the existing labels already give.
+     */
+    private static final class PrunedSearch {
+
+        /** The graph. */
+        private final CompactGraph graph;
+
+        /** The distances. */
+        private final float[] distance;
+
+        /** The settled flags. */
+        private final boolean[] settled;
+
+        /** The touched vertices. */
+        private final int[] touched;
+
+        /** The hub label distances, indexed by hub rank. */
+        private final float[] hubDistance;
+
+        /** The heap. */
+        private final MinHeap heap = new MinHeap();
+
+        /**
+         * Instantiates a new pruned search.
+         *
+         * @param graph the graph
+         */
+        PrunedSearch(CompactGraph graph) {
+            int vertexCount = graph.getVertexCount();
+            this.graph = graph;
+            this.distance = new float[vertexCount];
+            this.settled = new boolean[vertexCount];
+            this.touched = new int[vertexCount];
+            this.hubDistance = new float[vertexCount];
+            Arrays.fill(distance, Float.POSITIVE_INFINITY);
+            Arrays.fill(hubDistance, Float.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Runs the search from a hub and labels the vertices it reaches.
+         *
+         * @param hub the hub vertex
+         * @param rank the hub rank
+         * @param reverse true to search the incoming arcs, labelling distances to the hub
+         * @param hubLabels the labels of the hub side (outgoing for a forward search)
+         * @param reachedLabels the labels of the reached side (incoming for a forward search)
+         */
+        void run(int hub, int rank, boolean reverse, LabelLists hubLabels, LabelLists reachedLabels) {
+            int[] labelHubs = hubLabels.hubs[hub];
+            float[] labelDistances = hubLabels.distances[hub];
+            for (int k = 0; k < hubLabels.sizes[hub]; k++) {
+                hubDistance[labelHubs[k]] = labelDistances[k];
+            }
+
+            int touchedCount = 0;
+            distance[hub] = 0f;
+            touched[touchedCount++] = hub;
+            heap.push(hub, 0f);
+            while (!heap.isEmpty()) {
+                float key = heap.peekKey();
+                int current = heap.poll();
+                if (settled[current]) {
+                    continue;
+                }
+                settled[current] = true;
+                if (isCovered(reachedLabels, current, key)) {
+                    continue;
+                }
+                reachedLabels.add(current, rank, key);
+                int begin = reverse ? graph.beginReverseArc(current) : graph.beginArc(current);
+                int end = reverse ? graph.endReverseArc(current) : graph.endArc(current);
+                for (int arc = begin; arc < end; arc++) {
+                    int neighbor = reverse ? graph.reverseArcSource(arc) : graph.arcTarget(arc);
+                    float alternateDistance = key + (reverse ? graph.reverseArcWeight(arc) : graph.arcWeight(arc));
+                    if (alternateDistance < distance[neighbor]) {
+                        if (distance[neighbor] == Float.POSITIVE_INFINITY) {
+                            touched[touchedCount++] = neighbor;
+                        }
+                        distance[neighbor] = alternateDistance;
+                        heap.push(neighbor, alternateDistance);
+                    }
+                }
+            }
+
+            for (int i = 0; i < touchedCount; i++) {
+                distance[touched[i]] = Float.POSITIVE_INFINITY;
+                settled[touched[i]] = false;
+            }
+            for (int k = 0; k < hubLabels.sizes[hub]; k++) {
+                hubDistance[labelHubs[k]] = Float.POSITIVE_INFINITY;
+            }
+        }
+
+        /**
+         * Checks if the existing labels already give a distance no longer than the found one.
+         *
+         * @param reachedLabels the labels of the reached side
+         * @param vertex the reached vertex
+         * @param found the distance found by the search
+         * @return true, if covered
+         */
+        private boolean isCovered(LabelLists reachedLabels, int vertex, float found) {
+            int[] labelHubs = reachedLabels.hubs[vertex];
+            float[] labelDistances = reachedLabels.distances[vertex];
+            for (int k = 0, size = reachedLabels.sizes[vertex]; k < size; k++) {
+                if (hubDistance[labelHubs[k]] + labelDistances[k] <= found) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import com.discovery.interstellar.transport.system.entity.Vertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * The Class KShortestPathsEngine.
+ *
+ * <p>Finds the k shortest loopless routes between two vertices of a {@link CompactGraph} with
+ * Yen's algorithm. Every accepted route is taken apart at each of its vertices: the part up to
+ * the vertex is kept as the root, and a spur search looks for the best way on to the target that
+ * neither revisits the root nor leaves the vertex the way an accepted route with the same root
+ * already does. Routes that differ only in parallel arcs count as the same route.
+ *
+ * <p>All spur searches of a query share one {@link SpurSearch}, whose blocked vertices and arcs
+ * are cleared by an epoch stamp rather than by clearing arrays. Every route keeps the cost of each
+ * of its prefixes, so the cost of a root is read instead of summed again, and keeps the position
+ * at which it left its parent route: roots shorter than that were already spurred from the
+ * parent, so a route is only taken apart from that position on (Lawler's refinement).
+ */
+public final class KShortestPathsEngine {
+
+    /** The graph. */
+    private final CompactGraph graph;
+
+    /**
+     * Instantiates a new k shortest paths engine.
+     *
+     * @param graph the graph
+     */
+    public KShortestPathsEngine(CompactGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Finds the shortest loopless routes between two vertices, best first.
+     *
+     * @param source the source vertex number, may be -1
+     * @param target the target vertex number, may be -1
+     * @param k the maximum number of routes
+     * @return the routes, empty if the target is not reachable, a single route without a path if
+     *         the target is the source
+     */
+    public List<RouteResult> routes(int source, int target, int k) {
+        List<RouteResult> routes = new ArrayList<>();
+        if (source < 0 || target < 0 || k <= 0) {
+            return routes;
+        }
+        if (source == target) {
+            routes.add(new RouteResult(null, 0f));
+            return routes;
+        }
+        SpurSearch spurSearch = new SpurSearch();
+        spurSearch.clear();
+        CandidateRoute first = spurSearch.search(null, source, target);
+        if (first == null) {
+            return routes;
+        }
+
+        List<CandidateRoute> accepted = new ArrayList<>();
+        PriorityQueue<CandidateRoute> candidates = new PriorityQueue<>();
+        Set<CandidateRoute> seen = new HashSet<>();
+        seen.add(first);
+        candidates.add(first);
+        while (accepted.size() < k && !candidates.isEmpty()) {
+            CandidateRoute route = candidates.poll();
+            accepted.add(route);
+            if (accepted.size() == k) {
+                break;
+            }
+            for (int spur = route.deviation; spur < route.vertices.length - 1; spur++) {
+                spurSearch.clear();
+                for (int i = 0; i < spur; i++) {
+                    spurSearch.blockVertex(route.vertices[i]);
+                }
+                for (CandidateRoute other : accepted) {
+                    if (other.vertices.length > spur + 1 && other.sharesRoot(route, spur)) {
+                        spurSearch.blockHead(other.vertices[spur + 1]);
+                    }
+                }
+                CandidateRoute candidate = spurSearch.search(route, spur, target);
+                if (candidate != null && seen.add(candidate)) {
+                    candidates.add(candidate);
+                }
+            }
+        }
+
+        for (CandidateRoute route : accepted) {
+            LinkedList<Vertex> path = new LinkedList<>();
+            for (int v : route.vertices) {
+                path.add(graph.getVertex(v));
+            }
+            routes.add(new RouteResult(path, route.getCost()));
+        }
+        return routes;
+    }
+
+    /**
+     * The Class SpurSearch.
+     *
+     * <p>Dijkstra search from a spur vertex to the target that avoids the blocked vertices and,
+     * from the spur vertex only, the arcs to the blocked heads.
+     */
+    private final class SpurSearch {
+
+        /** The epoch in which each vertex was last blocked. */
+        private final int[] blockedVertices = new int[graph.getVertexCount()];
+
+        /** The epoch in which the arcs from the spur vertex to each vertex were last blocked. */
+        private final int[] blockedHeads = new int[graph.getVertexCount()];
+
+        /** The epoch of the current spur search. */
+        private int epoch;
+
+        /**
+         * Starts a new spur search with nothing blocked.
+         */
+        void clear() {
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(blockedVertices, 0);
+                Arrays.fill(blockedHeads, 0);
+                epoch = 1;
+            }
+        }
+
+        /**
+         * Blocks a vertex.
+         *
+         * @param vertex the vertex
+         */
+        void blockVertex(int vertex) {
+            blockedVertices[vertex] = epoch;
+        }
+
+        /**
+         * Blocks the arcs from the spur vertex to a vertex.
+         *
+         * @param head the head vertex
+         */
+        void blockHead(int head) {
+            blockedHeads[head] = epoch;
+        }
+
+        /**
+         * Searches the best spur route and joins it to the root.
+         *
+         * @param root the route whose prefix is the root, or null to search from the source
+         * @param spur the position of the spur vertex in the root route, or the source without a root
+         * @param target the target
+         * @return the joined route, or null if the target cannot be reached
+         */
+        CandidateRoute search(CandidateRoute root, int spur, int target) {
+            int start = root == null ? spur : root.vertices[spur];
+            float rootCost = root == null ? 0f : root.prefixCosts[spur];
+            SearchContext context = SearchContext.acquire(SearchContext.FORWARD, graph.getVertexCount());
+            MinHeap heap = context.heap;
+            context.update(start, 0f, -1);
+            heap.push(start, 0f);
+            boolean found = false;
+            while (!heap.isEmpty()) {
+                float currentDistance = heap.peekKey();
+                int current = heap.poll();
+                if (context.isSettled(current) || currentDistance > context.distance(current)) {
+                    continue;
+                }
+                context.settle(current);
+                if (current == target) {
+                    found = true;
+                    break;
+                }
+                for (int arc = graph.beginArc(current), end = graph.endArc(current); arc < end; arc++) {
+                    int neighbor = graph.arcTarget(arc);
+                    if (context.isSettled(neighbor) || blockedVertices[neighbor] == epoch
+                            || current == start && blockedHeads[neighbor] == epoch) {
+                        continue;
+                    }
+                    float alternateDistance = currentDistance + graph.arcWeight(arc);
+                    if (alternateDistance < context.distance(neighbor)) {
+                        context.update(neighbor, alternateDistance, current);
+                        heap.push(neighbor, alternateDistance);
+                    }
+                }
+            }
+            if (!found) {
+                return null;
+            }
+
+            int spurLength = 0;
+            for (int v = target; v != -1; v = context.previous(v)) {
+                spurLength++;
+            }
+            int rootLength = root == null ? 0 : spur;
+            int[] vertices = new int[rootLength + spurLength];
+            float[] prefixCosts = new float[vertices.length];
+            if (root != null) {
+                System.arraycopy(root.vertices, 0, vertices, 0, rootLength);
+                System.arraycopy(root.prefixCosts, 0, prefixCosts, 0, rootLength);
+            }
+            int position = vertices.length - 1;
+            for (int v = target; v != -1; v = context.previous(v)) {
+                vertices[position] = v;
+                prefixCosts[position] = rootCost + context.distance(v);
+                position--;
+            }
+            return new CandidateRoute(vertices, prefixCosts, rootLength);
+        }
+    }
+
+    /**
+     * The Class CandidateRoute.
+     *
+     * <p>A loopless route as a vertex sequence with the cost of each of its prefixes. Routes are
+     * equal when their vertex sequences are.
+     */
+    private static final class CandidateRoute implements Comparable<CandidateRoute> {
+
+        /** The vertices. */
+        private final int[] vertices;
+
+        /** The cost of the route up to each vertex. */
+        private final float[] prefixCosts;
+
+        /** The position at which the route left the route it was spurred from. */
+        private final int deviation;
+
+        /** The hash. */
+        private final int hash;
+
+        /**
+         * Instantiates a new candidate route.
+         *
+         * @param vertices the vertices
+         * @param prefixCosts the prefix costs
+         * @param deviation the deviation
+         */
+        CandidateRoute(int[] vertices, float[] prefixCosts, int deviation) {
+            this.vertices = vertices;
+            this.prefixCosts = prefixCosts;
+            this.deviation = deviation;
+            this.hash = Arrays.hashCode(vertices);
+        }
+
+        /**
+         * Gets the cost.
+         *
+         * @return the cost
+         */
+        float getCost() {
+            return prefixCosts[prefixCosts.length - 1];
+        }
+
+        /**
+         * Checks if the first vertices of two routes are the same.
+         *
+         * @param other the other route
+         * @param spur the position of the last vertex to compare
+         * @return true, if the routes agree up to and including that position
+         */
+        boolean sharesRoot(CandidateRoute other, int spur) {
+            for (int i = spur; i >= 0; i--) {
+                if (vertices[i] != other.vertices[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /* (non-Javadoc)
+         * @see java.lang.Comparable#compareTo(java.lang.Object)
+         */
+        @Override
+        public int compareTo(CandidateRoute other) {
+            int byCost = Float.compare(getCost(), other.getCost());
+            return byCost != 0 ? byCost : Integer.compare(vertices.length, other.vertices.length);
+        }
+
+        /* (non-Javadoc)
+         * @see java.lang.Object#equals(java.lang.Object)
+         */
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof CandidateRoute && Arrays.equals(vertices, ((CandidateRoute) obj).vertices);
+        }
+
+        /* (non-Javadoc)
+         * @see java.lang.Object#hashCode()
+         */
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import java.util.Arrays;
+
+/**
+ * The Class LandmarkIndex.
+ *
+ * <p>Distances from and to a small set of landmark vertices, used as A* lower bounds (ALT). By
+ * the triangle inequality, {@code d(v, t) >= d(L, t) - d(L, v)} and {@code d(v, t) >= d(v, L) - d(t, L)}
+ * for every landmark {@code L}, which gives an admissible and consistent heuristic without
+ * planet coordinates.
+ */
+public final class LandmarkIndex {
+
+    /** The Constant DEFAULT_LANDMARK_COUNT. */
+    public static final int DEFAULT_LANDMARK_COUNT = 8;
+
+    /** The graph. */
+    private final CompactGraph graph;
+
+    /** The landmark vertex numbers. */
+    private final int[] landmarks;
+
+    /** The distances from each landmark, stored as {@code [vertex * landmarkCount + landmark]}. */
+    private final float[] fromLandmark;
+
+    /** The distances to each landmark, stored as {@code [vertex * landmarkCount + landmark]}. */
+    private final float[] toLandmark;
+
+    /**
+     * Instantiates a new landmark index.
+     *
+     * @param graph the graph
+     * @param landmarks the landmarks
+     * @param fromLandmark the distances from the landmarks
+     * @param toLandmark the distances to the landmarks
+     */
+    private LandmarkIndex(CompactGraph graph, int[] landmarks, float[] fromLandmark, float[] toLandmark) {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+    }
+
+    /**
+     * Builds the landmark index with the default number of landmarks.
+     *
+     * @param graph the graph
+     * @return the landmark index
+     */
+    public static LandmarkIndex build(CompactGraph graph) {
+        return build(graph, DEFAULT_LANDMARK_COUNT);
+    }
+
+    /**
+     * Builds the landmark index. Landmarks are picked by farthest selection: each new landmark is
+     * the vertex furthest from all landmarks chosen so far, preferring vertices none of them reach,
+     * so that the landmarks spread over the whole network.
+     *
+     * @param graph the graph
+     * @param landmarkCount the requested number of landmarks
+     * @return the landmark index
+     */
+    public static LandmarkIndex build(CompactGraph graph, int landmarkCount) {
+        int vertexCount = graph.getVertexCount();
+        int count = Math.min(landmarkCount, vertexCount);
+        int[] landmarks = new int[count];
+        float[][] forward = new float[count][];
+        float[][] backward = new float[count][];
+        float[] nearest = new float[vertexCount];
+        Arrays.fill(nearest, Float.POSITIVE_INFINITY);
+
+        int candidate = 0;
+        for (int i = 0; i < count; i++) {
+            landmarks[i] = candidate;
+            forward[i] = distances(graph, candidate, false);
+            backward[i] = distances(graph, candidate, true);
+            for (int v = 0; v < vertexCount; v++) {
+                float d = Math.min(forward[i][v], backward[i][v]);
+                if (d < nearest[v]) {
+                    nearest[v] = d;
+                }
+            }
+            candidate = farthest(nearest, landmarks, i + 1);
+        }
+
+        float[] fromLandmark = new float[vertexCount * count];
+        float[] toLandmark = new float[vertexCount * count];
+        for (int v = 0; v < vertexCount; v++) {
+            for (int i = 0; i < count; i++) {
+                fromLandmark[v * count + i] = forward[i][v];
+                toLandmark[v * count + i] = backward[i][v];
+            }
+        }
+        return new LandmarkIndex(graph, landmarks, fromLandmark, toLandmark);
+    }
+
+    /**
+     * Computes the distances from (or, over the reverse adjacency, to) a vertex.
+     *
+     * @param graph the graph
+     * @param origin the origin
+     * @param reverse true to follow incoming arcs
+     * @return the distances
+     */
+    private static float[] distances(CompactGraph graph, int origin, boolean reverse) {
+        SearchContext context = SearchContext.acquire(SearchContext.FORWARD, graph.getVertexCount());
+        MinHeap heap = context.heap;
+        context.update(origin, 0f, -1);
+        heap.push(origin, 0f);
+        while (!heap.isEmpty()) {
+            float key = heap.peekKey();
+            int current = heap.poll();
+            if (context.isSettled(current)) {
+                continue;
+            }
+            context.settle(current);
+            int begin = reverse ? graph.beginReverseArc(current) : graph.beginArc(current);
+            int end = reverse ? graph.endReverseArc(current) : graph.endArc(current);
+            for (int arc = begin; arc < end; arc++) {
+                int neighbor = reverse ? graph.reverseArcSource(arc) : graph.arcTarget(arc);
+                float alternateDistance = key + (reverse ? graph.reverseArcWeight(arc) : graph.arcWeight(arc));
+                if (alternateDistance < context.distance(neighbor)) {
+                    context.update(neighbor, alternateDistance, current);
+                    heap.push(neighbor, alternateDistance);
+                }
+            }
+        }
+        return context.copyDistances(graph.getVertexCount());
+    }
+
+    /**
+     * Picks the vertex furthest from the chosen landmarks.
+     *
+     * @param nearest the distance of every vertex to its nearest landmark
+     * @param landmarks the landmarks
+     * @param chosen the number of landmarks chosen so far
+     * @return the vertex
+     */
+    private static int farthest(float[] nearest, int[] landmarks, int chosen) {
+        int best = -1;
+        float bestDistance = -1f;
+        for (int v = 0; v < nearest.length; v++) {
+            if (nearest[v] > bestDistance && !contains(landmarks, chosen, v)) {
+                best = v;
+                bestDistance = nearest[v];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Checks if the first entries of an array contain a value.
+     *
+     * @param values the values
+     * @param length the length
+     * @param value the value
+     * @return true, if found
+     */
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the graph.
+     *
+     * @return the graph
+     */
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Gets the landmark count.
+     *
+     * @return the landmark count
+     */
+    public int getLandmarkCount() {
+        return landmarks.length;
+    }
+
+    /**
+     * Gets a landmark.
+     *
+     * @param i the landmark number
+     * @return the landmark vertex number
+     */
+    public int getLandmark(int i) {
+        return landmarks[i];
+    }
+
+    /**
+     * Gets the lower bound of the distance between two vertices.
+     *
+     * @param vertex the vertex
+     * @param target the target
+     * @return the lower bound, positive infinity if the target cannot be reached from the vertex
+     */
+    public float lowerBound(int vertex, int target) {
+        int count = landmarks.length;
+        int v = vertex * count;
+        int t = target * count;
+        float bound = 0f;
+        for (int i = 0; i < count; i++) {
+            // NaN terms (both distances infinite) fail the comparison and are ignored
+            float forwardBound = fromLandmark[t + i] - fromLandmark[v + i];
+            if (forwardBound > bound) {
+                bound = forwardBound;
+            }
+            float backwardBound = toLandmark[v + i] - toLandmark[t + i];
+            if (backwardBound > bound) {
+                bound = backwardBound;
+            }
+        }
+        return bound;
+    }
+}
@@ -0,0 +1,207 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * The Class ManyToManyEngine.
+ *
+ * <p>Computes the distance table between a set of sources and a set of targets on a
+ * {@link ContractionHierarchy} with one search per source and one per target instead of one per
+ * pair. Every target runs a backward search over the downward arcs and leaves its distance in the
+ * bucket of each vertex it settles. Every source then runs a forward search over the upward arcs
+ * and scans the buckets of the vertices it settles: the shortest route climbs from the source and
+ * from the target to a common vertex, so the best sum over the buckets is the distance. Both
+ * searches skip vertices whose tentative distance is already beaten through a higher ranked
+ * neighbour, which keeps the buckets small. The searches of each side run in parallel on the
+ * common fork/join pool.
+ */
+public final class ManyToManyEngine {
+
+    /** The hierarchy. */
+    private final ContractionHierarchy hierarchy;
+
+    /** The vertex count. */
+    private final int vertexCount;
+
+    /**
+     * Instantiates a new many to many engine.
+     *
+     * @param hierarchy the hierarchy
+     */
+    public ManyToManyEngine(ContractionHierarchy hierarchy) {
+        this.hierarchy = hierarchy;
+        this.vertexCount = hierarchy.getGraph().getVertexCount();
+    }
+
+    /**
+     * Gets the distances from every source to every target.
+     *
+     * @param sources the source vertex numbers, -1 for unknown vertices
+     * @param targets the target vertex numbers, -1 for unknown vertices
+     * @return the distances, {@code [source][target]}, positive infinity where not reachable
+     */
+    public float[][] distances(int[] sources, int[] targets) {
+        SearchSpace[] targetSpaces = new SearchSpace[targets.length];
+        IntStream.range(0, targets.length).parallel().filter(j -> targets[j] >= 0)
+                .forEach(j -> targetSpaces[j] = search(SearchContext.BACKWARD, targets[j], false));
+
+        int[] bucketOffsets = new int[vertexCount + 1];
+        for (SearchSpace space : targetSpaces) {
+            if (space != null) {
+                for (int i = 0; i < space.size; i++) {
+                    bucketOffsets[space.vertices[i] + 1]++;
+                }
+            }
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            bucketOffsets[v + 1] += bucketOffsets[v];
+        }
+        int[] bucketTargets = new int[bucketOffsets[vertexCount]];
+        float[] bucketDistances = new float[bucketTargets.length];
+        int[] next = Arrays.copyOf(bucketOffsets, vertexCount);
+        for (int j = 0; j < targetSpaces.length; j++) {
+            SearchSpace space = targetSpaces[j];
+            if (space != null) {
+                for (int i = 0; i < space.size; i++) {
+                    int slot = next[space.vertices[i]]++;
+                    bucketTargets[slot] = j;
+                    bucketDistances[slot] = space.distances[i];
+                }
+            }
+        }
+
+        float[][] table = new float[sources.length][targets.length];
+        IntStream.range(0, sources.length).parallel().forEach(i -> {
+            float[] row = table[i];
+            Arrays.fill(row, Float.POSITIVE_INFINITY);
+            if (sources[i] < 0) {
+                return;
+            }
+            SearchSpace space = search(SearchContext.FORWARD, sources[i], true);
+            for (int k = 0; k < space.size; k++) {
+                int v = space.vertices[k];
+                float distance = space.distances[k];
+                for (int slot = bucketOffsets[v], end = bucketOffsets[v + 1]; slot < end; slot++) {
+                    float candidate = distance + bucketDistances[slot];
+                    if (candidate < row[bucketTargets[slot]]) {
+                        row[bucketTargets[slot]] = candidate;
+                    }
+                }
+            }
+        });
+        return table;
+    }
+
+    /**
+     * Runs an exhaustive search that climbs the hierarchy from a vertex.
+     *
+     * @param slot the search context slot
+     * @param start the start vertex number
+     * @param forward true to follow the upward arcs, false to follow the downward arcs backward
+     * @return the settled vertices that were not stalled, with their distances
+     */
+    private SearchSpace search(int slot, int start, boolean forward) {
+        SearchContext context = SearchContext.acquire(slot, vertexCount);
+        SearchSpace space = new SearchSpace();
+        context.update(start, 0f, -1);
+        context.heap.push(start, 0f);
+        while (!context.heap.isEmpty()) {
+            int current = context.heap.poll();
+            if (context.isSettled(current)) {
+                continue;
+            }
+            context.settle(current);
+            float currentDistance = context.distance(current);
+            if (isStalled(context, current, currentDistance, forward)) {
+                continue;
+            }
+            space.add(current, currentDistance);
+            if (forward) {
+                for (int arc = hierarchy.beginUpArc(current), end = hierarchy.endUpArc(current); arc < end; arc++) {
+                    relax(context, hierarchy.upArcTarget(arc), currentDistance + hierarchy.upArcWeight(arc));
+                }
+            } else {
+                for (int arc = hierarchy.beginDownArc(current), end = hierarchy.endDownArc(current); arc < end; arc++) {
+                    relax(context, hierarchy.downArcSource(arc), currentDistance + hierarchy.downArcWeight(arc));
+                }
+            }
+        }
+        return space;
+    }
+
+    /**
+     * Checks if the distance of a settled vertex is beaten by going through a neighbour the
+     * search has reached over an arc the search does not follow. Such a vertex cannot lie on a
+     * shortest route at that distance, so neither its arcs nor its bucket are needed.
+     *
+     * @param context the search context
+     * @param vertex the settled vertex
+     * @param distance the distance of the vertex
+     * @param forward the search direction
+     * @return true, if stalled
+     */
+    private boolean isStalled(SearchContext context, int vertex, float distance, boolean forward) {
+        if (forward) {
+            for (int arc = hierarchy.beginDownArc(vertex), end = hierarchy.endDownArc(vertex); arc < end; arc++) {
+                if (context.distance(hierarchy.downArcSource(arc)) + hierarchy.downArcWeight(arc) < distance) {
+                    return true;
+                }
+            }
+        } else {
+            for (int arc = hierarchy.beginUpArc(vertex), end = hierarchy.endUpArc(vertex); arc < end; arc++) {
+                if (context.distance(hierarchy.upArcTarget(arc)) + hierarchy.upArcWeight(arc) < distance) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Relaxes an arc.
+     *
+     * @param context the search context
+     * @param to the reached vertex
+     * @param alternateDistance the distance through the settled vertex
+     */
+    private static void relax(SearchContext context, int to, float alternateDistance) {
+        if (alternateDistance < context.distance(to)) {
+            context.update(to, alternateDistance, -1);
+            context.heap.push(to, alternateDistance);
+        }
+    }
+
+    /**
+     * The Class SearchSpace.
+     *
+     * <p>The vertices settled by one search and their distances, copied out of the search context.
+     */
+    private static final class SearchSpace {
+
+        /** The vertices. */
+        private int[] vertices = new int[16];
+
+        /** The distances. */
+        private float[] distances = new float[16];
+
+        /** The size. */
+        private int size;
+
+        /**
+         * Adds a settled vertex.
+         *
+         * @param vertex the vertex
+         * @param distance the distance
+         */
+        void add(int vertex, float distance) {
+            if (size == vertices.length) {
+                vertices = Arrays.copyOf(vertices, size << 1);
+                distances = Arrays.copyOf(distances, size << 1);
+            }
+            vertices[size] = vertex;
+            distances[size] = distance;
+            size++;
+        }
+    }
+}
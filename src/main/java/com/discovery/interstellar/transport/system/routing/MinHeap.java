@@ -0,0 +1,142 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import java.util.Arrays;
+
+/**
+ * The Class MinHeap.
+ *
+ * <p>Binary min-heap of (vertex, key) pairs held in primitive arrays. Decrease-key is done by
+ * pushing the vertex again; callers skip the stale entries when they are polled.
+ */
+public final class MinHeap {
+
+    /** The Constant DEFAULT_CAPACITY. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The vertices. */
+    private int[] vertices;
+
+    /** The keys. */
+    private float[] keys;
+
+    /** The size. */
+    private int size;
+
+    /**
+     * Instantiates a new min heap.
+     */
+    public MinHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Instantiates a new min heap.
+     *
+     * @param capacity the initial capacity
+     */
+    public MinHeap(int capacity) {
+        int initial = Math.max(capacity, 1);
+        this.vertices = new int[initial];
+        this.keys = new float[initial];
+    }
+
+    /**
+     * Checks if is empty.
+     *
+     * @return true, if is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the size.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all entries, keeping the allocated arrays.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Adds a vertex with the given key.
+     *
+     * @param vertex the vertex
+     * @param key the key
+     */
+    public void push(int vertex, float key) {
+        if (size == vertices.length) {
+            vertices = Arrays.copyOf(vertices, size << 1);
+            keys = Arrays.copyOf(keys, size << 1);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            vertices[i] = vertices[parent];
+            keys[i] = keys[parent];
+            i = parent;
+        }
+        vertices[i] = vertex;
+        keys[i] = key;
+    }
+
+    /**
+     * Gets the smallest key.
+     *
+     * @return the smallest key
+     */
+    public float peekKey() {
+        return keys[0];
+    }
+
+    /**
+     * Gets the vertex with the smallest key.
+     *
+     * @return the vertex
+     */
+    public int peekVertex() {
+        return vertices[0];
+    }
+
+    /**
+     * Removes the entry with the smallest key.
+     *
+     * @return the vertex of the removed entry
+     */
+    public int poll() {
+        int top = vertices[0];
+        int last = --size;
+        if (last > 0) {
+            int vertex = vertices[last];
+            float key = keys[last];
+            int i = 0;
+            int half = last >>> 1;
+            while (i < half) {
+                int child = (i << 1) + 1;
+                int right = child + 1;
+                if (right < last && keys[right] < keys[child]) {
+                    child = right;
+                }
+                if (key <= keys[child]) {
+                    break;
+                }
+                vertices[i] = vertices[child];
+                keys[i] = keys[child];
+                i = child;
+            }
+            vertices[i] = vertex;
+            keys[i] = key;
+        }
+        return top;
+    }
+}
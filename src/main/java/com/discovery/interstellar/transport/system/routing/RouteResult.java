@@ -0,0 +1,112 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import com.discovery.interstellar.transport.system.entity.Vertex;
+
+import java.util.LinkedList;
+
+/**
+ * The Class RouteResult.
+ *
+ * <p>Result of a point-to-point query: the vertices of the route and its total cost.
+ */
+public final class RouteResult {
+
+    /** The path. */
+    private final LinkedList<Vertex> path;
+
+    /** The cost. */
+    private final float cost;
+
+    /**
+     * Instantiates a new route result.
+     *
+     * @param path the path, or null
+     * @param cost the cost
+     */
+    public RouteResult(LinkedList<Vertex> path, float cost) {
+        this.path = path;
+        this.cost = cost;
+    }
+
+    /**
+     * Creates the result of a query whose target cannot be reached.
+     *
+     * @return the route result
+     */
+    public static RouteResult unreachable() {
+        return new RouteResult(null, Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Builds the route result from a predecessor array.
+     *
+     * @param graph the graph
+     * @param previous the predecessors, -1 where there is none
+     * @param target the target vertex number
+     * @param cost the cost
+     * @return the route result
+     */
+    static RouteResult fromPredecessors(CompactGraph graph, int[] previous, int target, float cost) {
+        if (cost == Float.POSITIVE_INFINITY) {
+            return unreachable();
+        }
+        if (previous[target] < 0) {
+            return new RouteResult(null, cost);
+        }
+        LinkedList<Vertex> path = new LinkedList<>();
+        for (int step = target; step >= 0; step = previous[step]) {
+            path.addFirst(graph.getVertex(step));
+        }
+        return new RouteResult(path, cost);
+    }
+
+    /**
+     * Builds the route result from the predecessors recorded by a search.
+     *
+     * @param graph the graph
+     * @param context the search context
+     * @param target the target vertex number
+     * @return the route result
+     */
+    static RouteResult fromSearch(CompactGraph graph, SearchContext context, int target) {
+        float cost = context.distance(target);
+        if (cost == Float.POSITIVE_INFINITY) {
+            return unreachable();
+        }
+        if (context.previous(target) < 0) {
+            return new RouteResult(null, cost);
+        }
+        LinkedList<Vertex> path = new LinkedList<>();
+        for (int step = target; step >= 0; step = context.previous(step)) {
+            path.addFirst(graph.getVertex(step));
+        }
+        return new RouteResult(path, cost);
+    }
+
+    /**
+     * Gets the path.
+     *
+     * @return the path, or null if the target is the source or is not reachable
+     */
+    public LinkedList<Vertex> getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the cost.
+     *
+     * @return the total cost, or positive infinity if the target is not reachable
+     */
+    public float getCost() {
+        return cost;
+    }
+
+    /**
+     * Checks if the target is reachable.
+     *
+     * @return true, if reachable
+     */
+    public boolean isReachable() {
+        return cost != Float.POSITIVE_INFINITY;
+    }
+}
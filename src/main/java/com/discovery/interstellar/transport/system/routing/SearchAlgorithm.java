@@ -0,0 +1,83 @@
+package com.discovery.interstellar.transport.system.routing;
+
+/**
+ * The Enum SearchAlgorithm.
+ */
+public enum SearchAlgorithm {
+
+    /** Dijkstra search from the source, stopping at the destination. */
+    DIJKSTRA(1, "Dijkstra"),
+
+    /** Dijkstra search from both the source and the destination. */
+    BIDIRECTIONAL(2, "Bidirectional Dijkstra"),
+
+    /** A* search guided by precomputed landmark distances. */
+    ALT(3, "A* with landmarks"),
+
+    /** Upward bidirectional search on a contraction hierarchy. */
+    CONTRACTION_HIERARCHIES(4, "Contraction hierarchies"),
+
+    /** Lookup in the precomputed all-pairs distance matrix. */
+    DISTANCE_MATRIX(5, "All-pairs matrix");
+
+    /** The id. */
+    final int id;
+
+    /** The label. */
+    final String label;
+
+    /**
+     * Creates a new instance of SearchAlgorithm.
+     *
+     * @param id the id
+     * @param label the label
+     */
+    SearchAlgorithm(final int id, final String label) {
+        this.id = id;
+        this.label = label;
+    }
+
+    /**
+     * From string, matching either the constant name or the label.
+     *
+     * @param str the str
+     * @return the search algorithm, or null
+     */
+    public static SearchAlgorithm fromString(final String str) {
+        for (SearchAlgorithm e : SearchAlgorithm.values()) {
+            if (e.name().equalsIgnoreCase(str) || e.label.equalsIgnoreCase(str)) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * From string, falling back to {@link #DIJKSTRA} for missing or unknown values.
+     *
+     * @param str the str
+     * @return the search algorithm
+     */
+    public static SearchAlgorithm fromStringOrDefault(final String str) {
+        SearchAlgorithm algorithm = fromString(str);
+        return algorithm == null ? DIJKSTRA : algorithm;
+    }
+
+    /**
+     * Gets the id.
+     *
+     * @return the id
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the label.
+     *
+     * @return the label
+     */
+    public String getLabel() {
+        return label;
+    }
+}
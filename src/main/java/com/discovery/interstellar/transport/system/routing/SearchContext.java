@@ -0,0 +1,179 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import java.util.Arrays;
+
+/**
+ * The Class SearchContext.
+ *
+ * <p>Working state of a single shortest path query. A context is owned by one query at a time,
+ * which is what allows many threads to search the same {@link CompactGraph} concurrently.
+ *
+ * <p>The distance and predecessor of a vertex only count when its stamp equals the epoch of
+ * the current query, so {@link #reset()} starts a new query by incrementing the epoch instead
+ * of clearing the arrays. Together with {@link #acquire(int, int)}, which hands every thread its
+ * own contexts to reuse, a query allocates nothing but its result.
+ */
+public final class SearchContext {
+
+    /** The slot of the context of a forward (or single) search. */
+    static final int FORWARD = 0;
+
+    /** The slot of the context of a backward search. */
+    static final int BACKWARD = 1;
+
+    /** The contexts of each thread, one per slot. */
+    private static final ThreadLocal<SearchContext[]> CONTEXTS = ThreadLocal.withInitial(() -> new SearchContext[2]);
+
+    /** The tentative distances. */
+    private final float[] distance;
+
+    /** The predecessors. */
+    private final int[] previous;
+
+    /** The epoch in which each vertex was last reached. */
+    private final int[] reached;
+
+    /** The epoch in which each vertex was last settled. */
+    private final int[] settled;
+
+    /** The epoch of the current query. */
+    private int epoch;
+
+    /** The frontier. */
+    final MinHeap heap;
+
+    /**
+     * Instantiates a new search context.
+     *
+     * @param vertexCount the vertex count
+     */
+    public SearchContext(int vertexCount) {
+        this.distance = new float[vertexCount];
+        this.previous = new int[vertexCount];
+        this.reached = new int[vertexCount];
+        this.settled = new int[vertexCount];
+        this.heap = new MinHeap();
+        this.epoch = 1;
+    }
+
+    /**
+     * Gets a reset context of the current thread. The context stays valid until the thread
+     * acquires the same slot again, so results must be copied out before the next query.
+     *
+     * @param slot the slot, {@link #FORWARD} or {@link #BACKWARD}
+     * @param vertexCount the vertex count of the graph to search
+     * @return the context
+     */
+    static SearchContext acquire(int slot, int vertexCount) {
+        SearchContext[] contexts = CONTEXTS.get();
+        SearchContext context = contexts[slot];
+        if (context == null || context.getVertexCount() < vertexCount) {
+            context = new SearchContext(vertexCount);
+            contexts[slot] = context;
+        } else {
+            context.reset();
+        }
+        return context;
+    }
+
+    /**
+     * Gets the vertex count.
+     *
+     * @return the vertex count
+     */
+    public int getVertexCount() {
+        return distance.length;
+    }
+
+    /**
+     * Resets the context for a new query.
+     */
+    public void reset() {
+        heap.clear();
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(reached, 0);
+            Arrays.fill(settled, 0);
+            epoch = 1;
+        }
+    }
+
+    /**
+     * Gets the tentative distance of a vertex.
+     *
+     * @param vertex the vertex
+     * @return the distance, or positive infinity if the vertex has not been reached
+     */
+    float distance(int vertex) {
+        return reached[vertex] == epoch ? distance[vertex] : Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Gets the predecessor of a vertex.
+     *
+     * @param vertex the vertex
+     * @return the predecessor, or -1 if there is none
+     */
+    int previous(int vertex) {
+        return reached[vertex] == epoch ? previous[vertex] : -1;
+    }
+
+    /**
+     * Records a shorter distance of a vertex.
+     *
+     * @param vertex the vertex
+     * @param vertexDistance the distance
+     * @param predecessor the predecessor, or -1
+     */
+    void update(int vertex, float vertexDistance, int predecessor) {
+        distance[vertex] = vertexDistance;
+        previous[vertex] = predecessor;
+        reached[vertex] = epoch;
+    }
+
+    /**
+     * Checks if a vertex is settled.
+     *
+     * @param vertex the vertex
+     * @return true, if settled
+     */
+    boolean isSettled(int vertex) {
+        return settled[vertex] == epoch;
+    }
+
+    /**
+     * Marks a vertex as settled.
+     *
+     * @param vertex the vertex
+     */
+    void settle(int vertex) {
+        settled[vertex] = epoch;
+    }
+
+    /**
+     * Copies the distances of the first vertices out of the context.
+     *
+     * @param vertexCount the number of vertices
+     * @return the distances, positive infinity where not reached
+     */
+    float[] copyDistances(int vertexCount) {
+        float[] copy = new float[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            copy[v] = distance(v);
+        }
+        return copy;
+    }
+
+    /**
+     * Copies the predecessors of the first vertices out of the context.
+     *
+     * @param vertexCount the number of vertices
+     * @return the predecessors, -1 where there is none
+     */
+    int[] copyPredecessors(int vertexCount) {
+        int[] copy = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            copy[v] = previous(v);
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,130 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import com.discovery.interstellar.transport.system.entity.Vertex;
+
+import java.util.LinkedList;
+
+/**
+ * The Class ShortestPathTree.
+ *
+ * <p>Immutable result of a one-to-all search: the distance and predecessor of every vertex
+ * reachable from the source.
+ */
+public final class ShortestPathTree {
+
+    /** The graph. */
+    private final CompactGraph graph;
+
+    /** The source vertex number. */
+    private final int source;
+
+    /** The distances. */
+    private final float[] distance;
+
+    /** The predecessors, -1 where there is none. */
+    private final int[] previous;
+
+    /**
+     * Instantiates a new shortest path tree.
+     *
+     * @param graph the graph
+     * @param source the source vertex number
+     * @param distance the distances
+     * @param previous the predecessors
+     */
+    ShortestPathTree(CompactGraph graph, int source, float[] distance, int[] previous) {
+        this.graph = graph;
+        this.source = source;
+        this.distance = distance;
+        this.previous = previous;
+    }
+
+    /**
+     * Gets the graph.
+     *
+     * @return the graph
+     */
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Gets the source vertex number.
+     *
+     * @return the source vertex number, or -1 if the source is not part of the graph
+     */
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * Checks if a vertex is reachable from the source.
+     *
+     * @param target the target vertex number
+     * @return true, if reachable
+     */
+    public boolean isReachable(int target) {
+        return distance[target] != Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Gets the distance from the source.
+     *
+     * @param target the target vertex number
+     * @return the distance, or positive infinity if unreachable
+     */
+    public float getDistance(int target) {
+        return distance[target];
+    }
+
+    /**
+     * Gets the predecessor of a vertex on its shortest path.
+     *
+     * @param target the target vertex number
+     * @return the predecessor, or -1 if there is none
+     */
+    public int getPrevious(int target) {
+        return previous[target];
+    }
+
+    /**
+     * Gets the path.
+     *
+     * @param target the target
+     * @return the path, or null if the target is the source or is not reachable
+     */
+    public LinkedList<Vertex> getPath(Vertex target) {
+        int index = graph.indexOf(target.getVertexId());
+        return index < 0 ? null : getPath(index);
+    }
+
+    /**
+     * Gets the path.
+     *
+     * @param target the target vertex number
+     * @return the path, or null if the target is the source or is not reachable
+     */
+    public LinkedList<Vertex> getPath(int target) {
+        if (previous[target] < 0) {
+            return null;
+        }
+        LinkedList<Vertex> path = new LinkedList<>();
+        for (int step = target; step >= 0; step = previous[step]) {
+            path.addFirst(graph.getVertex(step));
+        }
+        return path;
+    }
+
+    /**
+     * Gets the route to a vertex, walking only the predecessors on its path.
+     *
+     * @param target the target vertex number, may be -1
+     * @return the route result
+     */
+    public RouteResult getRoute(int target) {
+        if (target < 0) {
+            return RouteResult.unreachable();
+        }
+        return RouteResult.fromPredecessors(graph, previous, target, distance[target]);
+    }
+}
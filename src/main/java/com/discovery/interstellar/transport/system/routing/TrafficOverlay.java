@@ -0,0 +1,195 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import com.discovery.interstellar.transport.system.entity.Edge;
+import com.discovery.interstellar.transport.system.entity.Traffic;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The Class TrafficOverlay.
+ *
+ * <p>Result of joining the traffic rows onto an edge list: for every edge whose route id, source
+ * and destination match a traffic row (ignoring case), its position in the edge list and its
+ * weight including the traffic delay. The traffic rows are indexed once in a hash table and
+ * every edge is probed against it, so the join costs O(T + E) instead of O(T * E). When several
+ * rows match the same edge the last one wins. Neither the edges nor the traffic are modified.
+ */
+public final class TrafficOverlay {
+
+    /** The positions of the matched edges in the edge list. */
+    private final int[] edgeIndexes;
+
+    /** The weights of the matched edges, distance plus traffic delay. */
+    private final float[] weights;
+
+    /** The delays of the matched edges. */
+    private final float[] delays;
+
+    /**
+     * Instantiates a new traffic overlay.
+     *
+     * @param edgeIndexes the edge indexes
+     * @param weights the weights
+     * @param delays the delays
+     */
+    private TrafficOverlay(int[] edgeIndexes, float[] weights, float[] delays) {
+        this.edgeIndexes = edgeIndexes;
+        this.weights = weights;
+        this.delays = delays;
+    }
+
+    /**
+     * Joins the traffic rows onto the edges.
+     *
+     * @param edges the edges
+     * @param traffics the traffics
+     * @return the traffic overlay
+     */
+    public static TrafficOverlay build(List<Edge> edges, List<Traffic> traffics) {
+        int edgeCount = edges == null ? 0 : edges.size();
+        if (edgeCount == 0 || traffics == null || traffics.isEmpty()) {
+            return new TrafficOverlay(new int[0], new float[0], new float[0]);
+        }
+        Map<RouteKey, Float> delaysByRoute = new HashMap<>(traffics.size() * 2);
+        for (Traffic traffic : traffics) {
+            delaysByRoute.put(new RouteKey(traffic.getRouteId(), traffic.getSource(), traffic.getDestination()), traffic.getDelay());
+        }
+
+        int[] edgeIndexes = new int[Math.min(edgeCount, 16)];
+        float[] weights = new float[edgeIndexes.length];
+        float[] delays = new float[edgeIndexes.length];
+        int size = 0;
+        for (int i = 0; i < edgeCount; i++) {
+            Edge edge = edges.get(i);
+            Float delay = delaysByRoute.get(new RouteKey(edge.getEdgeId(), edge.getSource(), edge.getDestination()));
+            if (delay != null) {
+                if (size == edgeIndexes.length) {
+                    edgeIndexes = Arrays.copyOf(edgeIndexes, size << 1);
+                    weights = Arrays.copyOf(weights, size << 1);
+                    delays = Arrays.copyOf(delays, size << 1);
+                }
+                edgeIndexes[size] = i;
+                weights[size] = edge.getDistance() + delay;
+                delays[size] = delay;
+                size++;
+            }
+        }
+        return new TrafficOverlay(Arrays.copyOf(edgeIndexes, size), Arrays.copyOf(weights, size), Arrays.copyOf(delays, size));
+    }
+
+    /**
+     * Gets the number of edges the traffic applies to.
+     *
+     * @return the size
+     */
+    public int size() {
+        return edgeIndexes.length;
+    }
+
+    /**
+     * Gets the position of a matched edge in the edge list.
+     *
+     * @param match the match number
+     * @return the edge index
+     */
+    public int getEdgeIndex(int match) {
+        return edgeIndexes[match];
+    }
+
+    /**
+     * Gets the weight of a matched edge, its distance plus the traffic delay.
+     *
+     * @param match the match number
+     * @return the weight
+     */
+    public float getWeight(int match) {
+        return weights[match];
+    }
+
+    /**
+     * Gets the traffic delay of a matched edge.
+     *
+     * @param match the match number
+     * @return the delay
+     */
+    public float getDelay(int match) {
+        return delays[match];
+    }
+
+    /**
+     * The Class RouteKey.
+     *
+     * <p>Case-insensitive (route id, source, destination) triple.
+     */
+    private static final class RouteKey {
+
+        /** The route id. */
+        private final String routeId;
+
+        /** The source. */
+        private final String source;
+
+        /** The destination. */
+        private final String destination;
+
+        /**
+         * Instantiates a new route key.
+         *
+         * @param routeId the route id
+         * @param source the source
+         * @param destination the destination
+         */
+        RouteKey(String routeId, String source, String destination) {
+            this.routeId = fold(routeId);
+            this.source = fold(source);
+            this.destination = fold(destination);
+        }
+
+        /**
+         * Folds the case of a key part the way {@link String#equalsIgnoreCase(String)} compares it.
+         *
+         * @param value the value
+         * @return the folded value
+         */
+        private static String fold(String value) {
+            return value == null ? null : value.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+        }
+
+        /* (non-Javadoc)
+         * @see java.lang.Object#equals(java.lang.Object)
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof RouteKey)) {
+                return false;
+            }
+            RouteKey other = (RouteKey) obj;
+            return equal(routeId, other.routeId) && equal(source, other.source) && equal(destination, other.destination);
+        }
+
+        /**
+         * Compares two nullable key parts.
+         *
+         * @param value the value
+         * @param otherValue the other value
+         * @return true, if equal
+         */
+        private static boolean equal(String value, String otherValue) {
+            return value == null ? otherValue == null : value.equals(otherValue);
+        }
+
+        /* (non-Javadoc)
+         * @see java.lang.Object#hashCode()
+         */
+        @Override
+        public int hashCode() {
+            int result = routeId == null ? 0 : routeId.hashCode();
+            result = 31 * result + (source == null ? 0 : source.hashCode());
+            return 31 * result + (destination == null ? 0 : destination.hashCode());
+        }
+    }
+}
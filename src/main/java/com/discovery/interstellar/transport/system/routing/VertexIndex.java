@@ -0,0 +1,121 @@
+package com.discovery.interstellar.transport.system.routing;
+
+/**
+ * The Class VertexIndex.
+ *
+ * <p>Open-addressing hash table from vertex id to dense vertex number, comparing ids the way
+ * {@link String#equalsIgnoreCase(String)} does. Lookups hash and compare the characters in
+ * place, so they neither allocate a folded copy of the id nor box the vertex number.
+ */
+final class VertexIndex {
+
+    /** The Constant NOT_FOUND. */
+    static final int NOT_FOUND = -1;
+
+    /** The keys, null for free slots. */
+    private String[] keys;
+
+    /** The vertex numbers. */
+    private int[] values;
+
+    /** The number of non-null keys. */
+    private int size;
+
+    /** The vertex number of the null id. */
+    private int nullValue = NOT_FOUND;
+
+    /**
+     * Instantiates a new vertex index.
+     *
+     * @param expectedSize the expected number of ids
+     */
+    VertexIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+        this.keys = new String[capacity];
+        this.values = new int[capacity];
+    }
+
+    /**
+     * Gets the vertex number of an id.
+     *
+     * @param vertexId the vertex id
+     * @return the vertex number, or {@link #NOT_FOUND}
+     */
+    int get(String vertexId) {
+        if (vertexId == null) {
+            return nullValue;
+        }
+        int mask = keys.length - 1;
+        for (int slot = hash(vertexId) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot].equalsIgnoreCase(vertexId)) {
+                return values[slot];
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Adds an id unless an id equal to it ignoring case is already present.
+     *
+     * @param vertexId the vertex id
+     * @param vertex the vertex number
+     * @return the vertex number already present, or {@link #NOT_FOUND} if the id was added
+     */
+    int putIfAbsent(String vertexId, int vertex) {
+        if (vertexId == null) {
+            if (nullValue == NOT_FOUND) {
+                nullValue = vertex;
+                return NOT_FOUND;
+            }
+            return nullValue;
+        }
+        int mask = keys.length - 1;
+        int slot = hash(vertexId) & mask;
+        for (; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot].equalsIgnoreCase(vertexId)) {
+                return values[slot];
+            }
+        }
+        keys[slot] = vertexId;
+        values[slot] = vertex;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Doubles the table.
+     */
+    private void grow() {
+        String[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new String[oldKeys.length << 1];
+        values = new int[oldKeys.length << 1];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Hashes an id so that ids equal ignoring case hash alike.
+     *
+     * @param vertexId the vertex id
+     * @return the hash
+     */
+    static int hash(String vertexId) {
+        int hash = 0;
+        for (int i = 0; i < vertexId.length(); i++) {
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(vertexId.charAt(i)));
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
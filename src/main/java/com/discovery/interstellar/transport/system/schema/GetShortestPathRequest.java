@@ -26,6 +26,9 @@ import javax.xml.bind.annotation.XmlType;
  *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
  *       &lt;sequence>
  *         &lt;element name="name" type="{http://www.w3.org/2001/XMLSchema}string"/>
+ *         &lt;element name="trafficAllowed" type="{http://www.w3.org/2001/XMLSchema}boolean" minOccurs="0"/>
+ *         &lt;element name="undirectedGraph" type="{http://www.w3.org/2001/XMLSchema}boolean" minOccurs="0"/>
+ *         &lt;element name="algorithm" type="{http://www.w3.org/2001/XMLSchema}string" minOccurs="0"/>
  *       &lt;/sequence>
  *     &lt;/restriction>
  *   &lt;/complexContent>
@@ -36,13 +39,19 @@ import javax.xml.bind.annotation.XmlType;
  */
 @XmlAccessorType(XmlAccessType.FIELD)
 @XmlType(name = "", propOrder = {
-    "name"
+    "name",
+    "trafficAllowed",
+    "undirectedGraph",
+    "algorithm"
 })
 @XmlRootElement(name = "getShortestPathRequest")
 public class GetShortestPathRequest {
 
     @XmlElement(required = true)
     protected String name;
+    protected Boolean trafficAllowed;
+    protected Boolean undirectedGraph;
+    protected String algorithm;
 
     /**
      * Gets the value of the name property.
@@ -68,4 +77,76 @@ public class GetShortestPathRequest {
         this.name = value;
     }
 
+    /**
+     * Gets the value of the trafficAllowed property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Boolean }
+     *     
+     */
+    public Boolean isTrafficAllowed() {
+        return trafficAllowed;
+    }
+
+    /**
+     * Sets the value of the trafficAllowed property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Boolean }
+     *     
+     */
+    public void setTrafficAllowed(Boolean value) {
+        this.trafficAllowed = value;
+    }
+
+    /**
+     * Gets the value of the undirectedGraph property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Boolean }
+     *     
+     */
+    public Boolean isUndirectedGraph() {
+        return undirectedGraph;
+    }
+
+    /**
+     * Sets the value of the undirectedGraph property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Boolean }
+     *     
+     */
+    public void setUndirectedGraph(Boolean value) {
+        this.undirectedGraph = value;
+    }
+
+    /**
+     * Gets the value of the algorithm property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link String }
+     *     
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Sets the value of the algorithm property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link String }
+     *     
+     */
+    public void setAlgorithm(String value) {
+        this.algorithm = value;
+    }
+
 }
@@ -52,4 +52,68 @@ public class ObjectFactory {
         return new GetShortestPathRequest();
     }
 
+    /**
+     * Create an instance of {@link GetShortestPathsRequest }
+     * 
+     */
+    public GetShortestPathsRequest createGetShortestPathsRequest() {
+        return new GetShortestPathsRequest();
+    }
+
+    /**
+     * Create an instance of {@link GetShortestPathsResponse }
+     * 
+     */
+    public GetShortestPathsResponse createGetShortestPathsResponse() {
+        return new GetShortestPathsResponse();
+    }
+
+    /**
+     * Create an instance of {@link GetAllShortestPathsRequest }
+     * 
+     */
+    public GetAllShortestPathsRequest createGetAllShortestPathsRequest() {
+        return new GetAllShortestPathsRequest();
+    }
+
+    /**
+     * Create an instance of {@link GetAllShortestPathsResponse }
+     * 
+     */
+    public GetAllShortestPathsResponse createGetAllShortestPathsResponse() {
+        return new GetAllShortestPathsResponse();
+    }
+
+    /**
+     * Create an instance of {@link GetKShortestPathsRequest }
+     * 
+     */
+    public GetKShortestPathsRequest createGetKShortestPathsRequest() {
+        return new GetKShortestPathsRequest();
+    }
+
+    /**
+     * Create an instance of {@link GetKShortestPathsResponse }
+     * 
+     */
+    public GetKShortestPathsResponse createGetKShortestPathsResponse() {
+        return new GetKShortestPathsResponse();
+    }
+
+    /**
+     * Create an instance of {@link Destination }
+     * 
+     */
+    public Destination createDestination() {
+        return new Destination();
+    }
+
+    /**
+     * Create an instance of {@link Route }
+     * 
+     */
+    public Route createRoute() {
+        return new Route();
+    }
+
 }
@@ -0,0 +1,630 @@
+package com.discovery.interstellar.transport.system.service;
+
+import com.discovery.interstellar.transport.system.entity.Edge;
+import com.discovery.interstellar.transport.system.entity.Traffic;
+import com.discovery.interstellar.transport.system.entity.Vertex;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * The Class DelimitedFileHandler.
+ *
+ * <p>Reads vertices, edges or traffics from a comma or tab separated file with the same columns
+ * as the matching sheet of the workbook read by {@link XLSXHandler}, after a header line. Fields
+ * may be quoted with double quotes, and lines may end with a carriage return.
+ *
+ * <p>The file is memory mapped a region at a time and scanned byte by byte without decoding it.
+ * Numbers are parsed straight from the mapped bytes, and text fields are looked up by their bytes
+ * in a table of the texts already read, so a planet named by every edge it starts or ends is
+ * decoded once rather than once per field.
+ */
+public class DelimitedFileHandler {
+
+    /** The Constant COLUMN_COUNT, the number of columns read from every line. */
+    private static final int COLUMN_COUNT = 4;
+
+    /** The Constant MAX_REGION_SIZE, the most bytes of the file mapped at a time. */
+    private static final int MAX_REGION_SIZE = 1 << 28;
+
+    /** The Constant MAX_MANTISSA_DIGITS, the significant digits of a number that are kept. */
+    private static final int MAX_MANTISSA_DIGITS = 18;
+
+    /** The Constant POWERS_OF_TEN, the powers of ten that are exact doubles. */
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1d;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10d;
+        }
+    }
+
+    /** The file. */
+    private final File file;
+
+    /** The delimiter. */
+    private final byte delimiter;
+
+    /**
+     * Instantiates a new delimited file handler. Files named {@code .tsv} or {@code .tab} are
+     * read as tab separated, all others as comma separated.
+     *
+     * @param file the file
+     */
+    public DelimitedFileHandler(File file) {
+        this(file, isTabSeparated(file) ? '\t' : ',');
+    }
+
+    /**
+     * Instantiates a new delimited file handler.
+     *
+     * @param file the file
+     * @param delimiter the delimiter, a single byte character
+     */
+    public DelimitedFileHandler(File file, char delimiter) {
+        if (delimiter > 0x7f || delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Unsupported delimiter: " + delimiter);
+        }
+        this.file = file;
+        this.delimiter = (byte) delimiter;
+    }
+
+    /**
+     * Streams the vertices, with the vertex id and the name in the first two columns.
+     *
+     * @param consumer the consumer of the vertices
+     * @throws GraphImportException if the file cannot be read or a line cannot be parsed
+     */
+    public void streamVertexes(Consumer<Vertex> consumer) {
+        streamRows("vertices", row -> consumer.accept(new Vertex(row.text(0), row.text(1))));
+    }
+
+    /**
+     * Streams the edges, with the edge id, source, destination and distance in the first four
+     * columns. Edges are numbered from 1 in line order.
+     *
+     * @param consumer the consumer of the edges
+     * @throws GraphImportException if the file cannot be read or a line cannot be parsed
+     */
+    public void streamEdges(Consumer<Edge> consumer) {
+        int[] recordId = {1};
+        streamRows("edges", row -> {
+            Edge edge = new Edge();
+            edge.setRecordId(recordId[0]++);
+            edge.setEdgeId(row.isEmpty(0) ? null : String.valueOf((int) row.number(0)));
+            edge.setSource(row.internedText(1));
+            edge.setDestination(row.internedText(2));
+            if (!row.isEmpty(3)) {
+                edge.setDistance((float) row.number(3));
+            }
+            consumer.accept(edge);
+        });
+    }
+
+    /**
+     * Streams the traffics, with the route id, source, destination and delay in the first four
+     * columns.
+     *
+     * @param consumer the consumer of the traffics
+     * @throws GraphImportException if the file cannot be read or a line cannot be parsed
+     */
+    public void streamTraffics(Consumer<Traffic> consumer) {
+        streamRows("traffics", row -> {
+            Traffic traffic = new Traffic();
+            traffic.setRouteId(row.isEmpty(0) ? null : String.valueOf((int) row.number(0)));
+            traffic.setSource(row.internedText(1));
+            traffic.setDestination(row.internedText(2));
+            if (!row.isEmpty(3)) {
+                traffic.setDelay((float) row.number(3));
+            }
+            consumer.accept(traffic);
+        });
+    }
+
+    /**
+     * Checks if a file is named as tab separated.
+     *
+     * @param file the file
+     * @return true, if the file ends with {@code .tsv} or {@code .tab}
+     */
+    private static boolean isTabSeparated(File file) {
+        String name = file.getName().toLowerCase();
+        return name.endsWith(".tsv") || name.endsWith(".tab");
+    }
+
+    /**
+     * Maps the file a region at a time and hands every line after the header that is not blank
+     * to a row handler. A region ends at the start of its last incomplete line, which is mapped
+     * again at the start of the next region.
+     *
+     * @param data the name of the data, for the error message
+     * @param rowHandler the row handler
+     * @throws GraphImportException if the file cannot be read or a line cannot be parsed
+     */
+    private void streamRows(String data, Consumer<Row> rowHandler) {
+        Row row = new Row(delimiter);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            long lineNumber = 0;
+            while (position < size) {
+                int length = (int) Math.min(MAX_REGION_SIZE, size - position);
+                boolean last = position + length == size;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                row.map(buffer);
+                int offset = 0;
+                while (offset < length) {
+                    int next = row.parse(offset, length, last);
+                    if (next < 0) {
+                        break;
+                    }
+                    lineNumber++;
+                    // skip header
+                    if (lineNumber > 1 && !row.isBlank()) {
+                        try {
+                            rowHandler.accept(row);
+                        } catch (NumberFormatException ex) {
+                            throw new IOException("Invalid number on line " + lineNumber + ": " + ex.getMessage(), ex);
+                        }
+                    }
+                    offset = next;
+                }
+                if (offset == 0) {
+                    throw new IOException("Line " + (lineNumber + 1) + " is longer than " + MAX_REGION_SIZE + " bytes");
+                }
+                position += offset;
+            }
+        } catch (IOException ex) {
+            throw new GraphImportException("An Exception occurred while reading " + data + " data from " + file + ": " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * The Class Row.
+     *
+     * <p>The bounds of the fields of the current line within the mapped region. The fields are
+     * only read on demand, from the mapped bytes.
+     */
+    static final class Row {
+
+        /** The delimiter. */
+        private final byte delimiter;
+
+        /** The start of each field, -1 for missing fields. */
+        private final int[] starts = new int[COLUMN_COUNT];
+
+        /** The end of each field. */
+        private final int[] ends = new int[COLUMN_COUNT];
+
+        /** Whether each field contains escaped (doubled) quotes. */
+        private final boolean[] escaped = new boolean[COLUMN_COUNT];
+
+        /** The interned texts already read. */
+        private final TextTable texts = new TextTable();
+
+        /** The mapped region. */
+        private ByteBuffer buffer;
+
+        /** Whether the current line is blank. */
+        private boolean blank;
+
+        /**
+         * Instantiates a new row.
+         *
+         * @param delimiter the delimiter
+         */
+        Row(byte delimiter) {
+            this.delimiter = delimiter;
+        }
+
+        /**
+         * Sets the mapped region that following lines are parsed from.
+         *
+         * @param region the region
+         */
+        void map(ByteBuffer region) {
+            this.buffer = region;
+        }
+
+        /**
+         * Parses the line that starts at an offset.
+         *
+         * @param start the offset of the line
+         * @param limit the end of the region
+         * @param last true, if the region ends at the end of the file
+         * @return the offset of the next line, or -1 if the line does not end within the region
+         * @throws IOException if a quoted field is not closed before the end of the file
+         */
+        int parse(int start, int limit, boolean last) throws IOException {
+            Arrays.fill(starts, -1);
+            int i = start;
+            int column = 0;
+            while (true) {
+                int fieldStart = i;
+                int fieldEnd;
+                boolean quoted = false;
+                boolean fieldEscaped = false;
+                if (i < limit && buffer.get(i) == '"') {
+                    quoted = true;
+                    fieldStart = ++i;
+                    while (true) {
+                        if (i >= limit) {
+                            if (!last) {
+                                return -1;
+                            }
+                            throw new IOException("Unterminated quoted field");
+                        }
+                        if (buffer.get(i) == '"') {
+                            if (i + 1 >= limit && !last) {
+                                return -1;
+                            }
+                            if (i + 1 < limit && buffer.get(i + 1) == '"') {
+                                fieldEscaped = true;
+                                i += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        i++;
+                    }
+                    fieldEnd = i++;
+                    i = skipField(i, limit);
+                } else {
+                    i = skipField(i, limit);
+                    fieldEnd = i;
+                    if (fieldEnd > fieldStart && buffer.get(fieldEnd - 1) == '\r' && (i >= limit || buffer.get(i) == '\n')) {
+                        fieldEnd--;
+                    }
+                }
+                if (i >= limit && !last) {
+                    return -1;
+                }
+                if (column < COLUMN_COUNT) {
+                    starts[column] = fieldStart;
+                    ends[column] = fieldEnd;
+                    escaped[column] = fieldEscaped;
+                }
+                if (column == 0) {
+                    blank = !quoted && fieldEnd == fieldStart;
+                }
+                column++;
+                if (i >= limit) {
+                    return i;
+                }
+                if (buffer.get(i) == '\n') {
+                    return i + 1;
+                }
+                blank = false;
+                i++;
+            }
+        }
+
+        /**
+         * Skips to the delimiter or line feed that ends a field.
+         *
+         * @param from the offset to skip from
+         * @param limit the end of the region
+         * @return the offset of the delimiter or line feed, or the limit
+         */
+        private int skipField(int from, int limit) {
+            int i = from;
+            while (i < limit) {
+                byte b = buffer.get(i);
+                if (b == delimiter || b == '\n') {
+                    break;
+                }
+                i++;
+            }
+            return i;
+        }
+
+        /**
+         * Checks if the line is blank.
+         *
+         * @return true, if the line has no characters other than its line end
+         */
+        boolean isBlank() {
+            return blank;
+        }
+
+        /**
+         * Checks if a field is missing or holds nothing but spaces.
+         *
+         * @param column the column
+         * @return true, if empty
+         */
+        boolean isEmpty(int column) {
+            if (starts[column] < 0) {
+                return true;
+            }
+            for (int i = starts[column]; i < ends[column]; i++) {
+                if (buffer.get(i) != ' ') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Gets the text of a field.
+         *
+         * @param column the column
+         * @return the text, or null if the field is empty
+         */
+        String text(int column) {
+            return text(column, false);
+        }
+
+        /**
+         * Gets the text of a field that repeats across lines, such as a planet id referenced by
+         * many routes, decoding each distinct text once and sharing the same string.
+         *
+         * @param column the column
+         * @return the text, or null if the field is empty
+         */
+        String internedText(int column) {
+            return text(column, true);
+        }
+
+        /**
+         * Gets the text of a field.
+         *
+         * @param column the column
+         * @param interned true, to look the text up in the text table
+         * @return the text, or null if the field is empty
+         */
+        private String text(int column, boolean interned) {
+            if (isEmpty(column)) {
+                return null;
+            }
+            int start = starts[column];
+            int end = ends[column];
+            while (buffer.get(start) == ' ') {
+                start++;
+            }
+            while (buffer.get(end - 1) == ' ') {
+                end--;
+            }
+            if (escaped[column]) {
+                return decode(start, end).replace("\"\"", "\"");
+            }
+            return interned ? texts.get(buffer, start, end) : decode(start, end);
+        }
+
+        /**
+         * Parses the number of a field, a decimal with an optional sign, fraction and exponent.
+         * Digits beyond the eighteenth significant digit are dropped.
+         *
+         * @param column the column
+         * @return the number
+         * @throws NumberFormatException if the field is not a number
+         */
+        double number(int column) {
+            if (isEmpty(column)) {
+                throw new NumberFormatException("Empty field in column " + (column + 1));
+            }
+            int i = starts[column];
+            int end = ends[column];
+            while (buffer.get(i) == ' ') {
+                i++;
+            }
+            while (buffer.get(end - 1) == ' ') {
+                end--;
+            }
+            int numberStart = i;
+            boolean negative = false;
+            byte b = buffer.get(i);
+            if (b == '-' || b == '+') {
+                negative = b == '-';
+                i++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int exponent = 0;
+            boolean anyDigit = false;
+            boolean fraction = false;
+            for (; i < end; i++) {
+                b = buffer.get(i);
+                if (b >= '0' && b <= '9') {
+                    anyDigit = true;
+                    if (digits < MAX_MANTISSA_DIGITS) {
+                        mantissa = mantissa * 10 + (b - '0');
+                        if (mantissa != 0) {
+                            digits++;
+                        }
+                        if (fraction) {
+                            exponent--;
+                        }
+                    } else if (!fraction) {
+                        exponent++;
+                    }
+                } else if (b == '.' && !fraction) {
+                    fraction = true;
+                } else {
+                    break;
+                }
+            }
+            if (anyDigit && i < end && (b == 'e' || b == 'E')) {
+                i++;
+                boolean negativeExponent = false;
+                if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+                    negativeExponent = buffer.get(i) == '-';
+                    i++;
+                }
+                int exponentStart = i;
+                int explicitExponent = 0;
+                for (; i < end && buffer.get(i) >= '0' && buffer.get(i) <= '9'; i++) {
+                    explicitExponent = Math.min(explicitExponent * 10 + (buffer.get(i) - '0'), 1000);
+                }
+                if (i == exponentStart) {
+                    anyDigit = false;
+                }
+                exponent += negativeExponent ? -explicitExponent : explicitExponent;
+            }
+            if (!anyDigit || i != end) {
+                throw new NumberFormatException("For input string: \"" + decode(numberStart, end) + "\"");
+            }
+            double value = mantissa;
+            if (exponent < 0) {
+                value = -exponent < POWERS_OF_TEN.length ? value / POWERS_OF_TEN[-exponent] : value / Math.pow(10d, -exponent);
+            } else if (exponent > 0) {
+                value = exponent < POWERS_OF_TEN.length ? value * POWERS_OF_TEN[exponent] : value * Math.pow(10d, exponent);
+            }
+            return negative ? -value : value;
+        }
+
+        /**
+         * Decodes a range of the region.
+         *
+         * @param start the start
+         * @param end the end
+         * @return the text
+         */
+        private String decode(int start, int end) {
+            byte[] bytes = new byte[end - start];
+            for (int i = start; i < end; i++) {
+                bytes[i - start] = buffer.get(i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * The Class TextTable.
+     *
+     * <p>An open addressing table from the UTF-8 bytes of a text to the decoded text. The table
+     * is emptied when it holds {@link #MAX_SIZE} texts, so its memory stays bounded on files
+     * with many distinct texts.
+     */
+    static final class TextTable {
+
+        /** The Constant INITIAL_CAPACITY. */
+        private static final int INITIAL_CAPACITY = 1024;
+
+        /** The Constant MAX_SIZE. */
+        static final int MAX_SIZE = 1 << 16;
+
+        /** The hashes. */
+        private int[] hashes = new int[INITIAL_CAPACITY];
+
+        /** The keys, the bytes of the texts. */
+        private byte[][] keys = new byte[INITIAL_CAPACITY][];
+
+        /** The values, the texts. */
+        private String[] values = new String[INITIAL_CAPACITY];
+
+        /** The size. */
+        private int size;
+
+        /**
+         * Gets the text of a range of a buffer, decoding it only the first time it is seen.
+         *
+         * @param buffer the buffer
+         * @param start the start
+         * @param end the end
+         * @return the text
+         */
+        String get(ByteBuffer buffer, int start, int end) {
+            int hash = 1;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + buffer.get(i);
+            }
+            int mask = keys.length - 1;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (keys[slot] != null) {
+                if (hashes[slot] == hash && matches(keys[slot], buffer, start, end)) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            byte[] key = new byte[end - start];
+            for (int i = start; i < end; i++) {
+                key[i - start] = buffer.get(i);
+            }
+            String value = new String(key, StandardCharsets.UTF_8);
+            if (size == MAX_SIZE) {
+                clear();
+                slot = (hash ^ (hash >>> 16)) & (keys.length - 1);
+            }
+            hashes[slot] = hash;
+            keys[slot] = key;
+            values[slot] = value;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+            return value;
+        }
+
+        /**
+         * Checks if a key holds the bytes of a range of a buffer.
+         *
+         * @param key the key
+         * @param buffer the buffer
+         * @param start the start
+         * @param end the end
+         * @return true, if the bytes are equal
+         */
+        private static boolean matches(byte[] key, ByteBuffer buffer, int start, int end) {
+            if (key.length != end - start) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (key[i] != buffer.get(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Gets the number of texts in the table.
+         *
+         * @return the size
+         */
+        int size() {
+            return size;
+        }
+
+        /**
+         * Empties the table and releases its grown arrays.
+         */
+        private void clear() {
+            hashes = new int[INITIAL_CAPACITY];
+            keys = new byte[INITIAL_CAPACITY][];
+            values = new String[INITIAL_CAPACITY];
+            size = 0;
+        }
+
+        /**
+         * Doubles the capacity of the table.
+         */
+        private void grow() {
+            int[] oldHashes = hashes;
+            byte[][] oldKeys = keys;
+            String[] oldValues = values;
+            hashes = new int[oldKeys.length << 1];
+            keys = new byte[oldKeys.length << 1][];
+            values = new String[oldKeys.length << 1];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    int slot = (oldHashes[i] ^ (oldHashes[i] >>> 16)) & mask;
+                    while (keys[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    hashes[slot] = oldHashes[i];
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.discovery.interstellar.transport.system.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.stereotype.Service;
 
+import com.discovery.interstellar.transport.system.configuration.PersistenceBean;
 import com.discovery.interstellar.transport.system.dao.EdgeDao;
 import com.discovery.interstellar.transport.system.dao.TrafficDao;
 import com.discovery.interstellar.transport.system.dao.VertexDao;
@@ -10,20 +14,36 @@ import com.discovery.interstellar.transport.system.entity.Edge;
 import com.discovery.interstellar.transport.system.entity.Traffic;
 import com.discovery.interstellar.transport.system.entity.Vertex;
 import com.discovery.interstellar.transport.system.helper.Graph;
+import com.discovery.interstellar.transport.system.routing.GraphFile;
+import com.discovery.interstellar.transport.system.routing.GraphSnapshot;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * The Class EntityManagerService.
  */
 @Service
-public class EntityManagerService {
+public class EntityManagerService implements ApplicationEventPublisherAware {
     
     /** The Constant EXCEL_FILENAME. */
     private static final String EXCEL_FILENAME = "/interstellar.xlsx";
+
+    /** The Constant GRAPH_FILE_NAME. */
+    private static final String GRAPH_FILE_NAME = "graph.bin";
+
+    /** The Constant BULK_LOAD_CHUNK_SIZE, the number of rows saved between session flushes. */
+    private static final int BULK_LOAD_CHUNK_SIZE = 5 * PersistenceBean.JDBC_BATCH_SIZE;
     
     /** The vertex dao. */
     private VertexDao vertexDao;
@@ -34,60 +54,248 @@ public class EntityManagerService {
     /** The traffic dao. */
     private TrafficDao trafficDao;
 
+    /** The graph version, incremented whenever a vertex, edge or traffic changes. */
+    private final AtomicLong graphVersion = new AtomicLong();
+
+    /** The graph snapshot of the current or an older version. */
+    private volatile GraphSnapshot graphSnapshot;
+
+    /** The snapshot lock. */
+    private final Object snapshotLock = new Object();
+
+    /** The event publisher. */
+    private ApplicationEventPublisher eventPublisher;
+
+    /** The graph file, written after an import and mapped at startup, null to import on every startup. */
+    private final File graphFile;
+
+    /**
+     * Instantiates a new entity manager service without a graph file.
+     *
+     * @param vertexDao the vertex dao
+     * @param edgeDao the edge dao
+     * @param trafficDao the traffic dao
+     */
+    public EntityManagerService(VertexDao vertexDao, EdgeDao edgeDao, TrafficDao trafficDao) {
+        this(vertexDao, edgeDao, trafficDao, null);
+    }
+
     /**
      * Instantiates a new entity manager service.
      *
      * @param vertexDao the vertex dao
      * @param edgeDao the edge dao
      * @param trafficDao the traffic dao
+     * @param indexDirectory the directory of the graph file, empty to import on every startup
      */
     @Autowired
-    public EntityManagerService(VertexDao vertexDao, EdgeDao edgeDao, TrafficDao trafficDao) {
+    public EntityManagerService(VertexDao vertexDao, EdgeDao edgeDao, TrafficDao trafficDao,
+                                @Value("${interstellar.routing.index-directory:}") String indexDirectory) {
         this.vertexDao = vertexDao;
         this.edgeDao = edgeDao;
         this.trafficDao = trafficDao;
+        this.graphFile = indexDirectory == null || indexDirectory.isEmpty() ? null : new File(indexDirectory, GRAPH_FILE_NAME);
+    }
+
+    /* (non-Javadoc)
+     * @see org.springframework.context.ApplicationEventPublisherAware#setApplicationEventPublisher(org.springframework.context.ApplicationEventPublisher)
+     */
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.eventPublisher = applicationEventPublisher;
     }
 
     /**
      * Persist graph.
+     *
+     * @throws GraphImportException if the workbook cannot be found or read
      */
     public void persistGraph() {
+        persistGraph(workbook());
+    }
+
+    /**
+     * Installs the graph snapshot of the graph file instead of importing the workbook again.
+     *
+     * @return true, if the snapshot was installed
+     * @see #loadGraphSnapshot(File)
+     */
+    public boolean loadGraphSnapshot() {
+        return loadGraphSnapshot(workbook());
+    }
+
+    /**
+     * Installs the graph snapshot of the graph file, if it was written for the given source file
+     * and the database still holds as many vertices, edges and traffics as the file. The file is
+     * memory mapped and only the compact graphs and the vertices are decoded, so routes can be
+     * served right away.
+     *
+     * @param source the file the graph was imported from
+     * @return true, if the snapshot was installed
+     */
+    public boolean loadGraphSnapshot(File source) {
+        if (graphFile == null || !graphFile.isFile()) {
+            return false;
+        }
+        try {
+            synchronized (snapshotLock) {
+                GraphSnapshot snapshot = GraphFile.read(graphFile, sourceStamp(source), graphVersion.get());
+                if (vertexDao.count() != snapshot.getVertexes().size() || edgeDao.count() != snapshot.getEdgeCount()
+                        || trafficDao.count() != snapshot.getTrafficCount()) {
+                    Logger.getLogger("discovery").log(Level.WARNING, "The graph file does not match the database");
+                    return false;
+                }
+                graphSnapshot = snapshot;
+                return true;
+            }
+        } catch (IOException e) {
+            Logger.getLogger("discovery").log(Level.WARNING, "The graph file is not used: " + e);
+            return false;
+        }
+    }
+
+    /**
+     * Writes the graph snapshot to the graph file, to be mapped at the next startup.
+     *
+     * @see #writeGraphSnapshot(File)
+     */
+    public void writeGraphSnapshot() {
+        writeGraphSnapshot(workbook());
+    }
+
+    /**
+     * Loads the graph snapshot of the current graph version and writes it to the graph file, to
+     * be mapped at the next startup. It is only called once an import has been committed. The
+     * file is written next to its final name and then moved over it, and dropped again if the
+     * graph changed in the meantime.
+     *
+     * @param source the file the graph was imported from
+     */
+    public void writeGraphSnapshot(File source) {
+        GraphSnapshot snapshot = getGraphSnapshot();
+        if (graphFile == null) {
+            return;
+        }
+        File temporary = null;
+        try {
+            Files.createDirectories(graphFile.getParentFile().toPath());
+            temporary = File.createTempFile(graphFile.getName(), ".tmp", graphFile.getParentFile());
+            GraphFile.write(snapshot, sourceStamp(source), temporary);
+            synchronized (graphFile) {
+                Files.move(temporary.toPath(), graphFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                if (snapshot.getVersion() != graphVersion.get()) {
+                    graphFile.delete();
+                }
+            }
+        } catch (IOException e) {
+            Logger.getLogger("discovery").log(Level.SEVERE, "An Exception occurred while writing the graph file: " + e);
+        } finally {
+            if (temporary != null && temporary.exists()) {
+                temporary.delete();
+            }
+        }
+    }
+
+    /**
+     * Deletes every vertex, edge and traffic, before the workbook is imported into a database
+     * that is kept between runs.
+     */
+    public void clearGraph() {
+        dropGraphFile();
+        trafficDao.deleteAll();
+        edgeDao.deleteAll();
+        vertexDao.deleteAll();
+        graphChanged();
+    }
+
+    /**
+     * Gets the workbook of the classpath.
+     *
+     * @return the workbook
+     * @throws GraphImportException if the workbook cannot be found
+     */
+    private File workbook() {
         URL resource = getClass().getResource(EXCEL_FILENAME);
-        File file1;
+        if (resource == null) {
+            throw new GraphImportException("Workbook not found: " + EXCEL_FILENAME, null);
+        }
         try {
-            file1 = new File(resource.toURI());
-            persistGraph(file1);
+            return new File(resource.toURI());
         } catch (URISyntaxException e) {
-            e.printStackTrace();
+            throw new GraphImportException("Workbook not found: " + resource, e);
         }
     }
 
     /**
-     * Persist graph.
+     * Gets the stamp of a source file, which changes whenever the file does.
+     *
+     * @param source the source file
+     * @return the stamp
+     */
+    private static long sourceStamp(File source) {
+        return 31 * source.lastModified() + source.length();
+    }
+
+    /**
+     * Drops the graph file before the database changes, so that a file that no longer matches
+     * the database is never left behind, even if the process stops before the change completes.
+     */
+    private void dropGraphFile() {
+        if (graphFile != null) {
+            synchronized (graphFile) {
+                graphFile.delete();
+            }
+        }
+    }
+
+    /**
+     * Persist graph. The workbook is read in a single pass and its rows are saved in chunks on
+     * the calling thread: every chunk is flushed as JDBC batches and then cleared from the
+     * session, so a large import neither grows the session nor costs a round trip per row. Other
+     * entities of the current session are detached as well.
      *
      * @param file the file
+     * @throws GraphImportException if the workbook cannot be read, which rolls back the import
      */
     public void persistGraph(File file) {
+        dropGraphFile();
         XLSXHandler handler = new XLSXHandler(file);
+        ChunkedSaver<Vertex> vertexes = new ChunkedSaver<>(vertexDao::saveBatch);
+        ChunkedSaver<Edge> edges = new ChunkedSaver<>(edgeDao::saveBatch);
+        ChunkedSaver<Traffic> traffics = new ChunkedSaver<>(trafficDao::saveBatch);
+
+        handler.streamWorkbook(vertexes, edges, traffics);
+        vertexes.flush();
+        edges.flush();
+        traffics.flush();
+        graphChanged();
+    }
 
-        List<Vertex> vertices = handler.readVertexes();
-        if (vertices != null && !vertices.isEmpty()) {
-            for (Vertex v : vertices) {
-                vertexDao.save(v);
-            }
-        }
-        List<Edge> edges = handler.readEdges();
-        if (edges != null && !edges.isEmpty()) {
-            for (Edge e : edges) {
-                edgeDao.save(e);
-            }
-        }
-        List<Traffic> traffic = handler.readTraffics();
-        if (edges != null && !edges.isEmpty()) {
-            for (Traffic t : traffic) {
-                trafficDao.save(t);
-            }
+    /**
+     * Persist graph from delimited files, one file for each of the vertices, edges and traffics
+     * with the columns of the matching sheet of the workbook. The rows are saved in chunks like
+     * those of the workbook.
+     *
+     * @param vertexFile the vertex file
+     * @param edgeFile the edge file
+     * @param trafficFile the traffic file, may be null
+     * @throws GraphImportException if a file cannot be read, which rolls back the import
+     */
+    public void persistGraph(File vertexFile, File edgeFile, File trafficFile) {
+        dropGraphFile();
+        ChunkedSaver<Vertex> vertexes = new ChunkedSaver<>(vertexDao::saveBatch);
+        ChunkedSaver<Edge> edges = new ChunkedSaver<>(edgeDao::saveBatch);
+        ChunkedSaver<Traffic> traffics = new ChunkedSaver<>(trafficDao::saveBatch);
+
+        new DelimitedFileHandler(vertexFile).streamVertexes(vertexes);
+        vertexes.flush();
+        new DelimitedFileHandler(edgeFile).streamEdges(edges);
+        edges.flush();
+        if (trafficFile != null) {
+            new DelimitedFileHandler(trafficFile).streamTraffics(traffics);
+            traffics.flush();
         }
+        graphChanged();
     }
 
     /**
@@ -105,6 +313,48 @@ public class EntityManagerService {
         return graph;
     }
 
+    /**
+     * Gets the graph snapshot of the current graph version. The snapshot is loaded from the
+     * database only when a vertex, edge or traffic has changed since the last load.
+     *
+     * @return the graph snapshot
+     */
+    public GraphSnapshot getGraphSnapshot() {
+        GraphSnapshot snapshot = graphSnapshot;
+        if (snapshot != null && snapshot.getVersion() == graphVersion.get()) {
+            return snapshot;
+        }
+        synchronized (snapshotLock) {
+            long version = graphVersion.get();
+            snapshot = graphSnapshot;
+            if (snapshot == null || snapshot.getVersion() != version) {
+                snapshot = new GraphSnapshot(version, selectGraph());
+                graphSnapshot = snapshot;
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Gets the graph version.
+     *
+     * @return the graph version
+     */
+    public long getGraphVersion() {
+        return graphVersion.get();
+    }
+
+    /**
+     * Marks the graph as changed, so the next snapshot request reloads it, and tells the
+     * listeners that hold data derived from the old graph.
+     */
+    private void graphChanged() {
+        long version = graphVersion.incrementAndGet();
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new GraphChangedEvent(this, version));
+        }
+    }
+
     /**
      * Save vertex.
      *
@@ -112,7 +362,9 @@ public class EntityManagerService {
      * @return the vertex
      */
     public Vertex saveVertex(Vertex vertex) {
+        dropGraphFile();
         vertexDao.save(vertex);
+        graphChanged();
         return vertex;
     }
 
@@ -123,7 +375,9 @@ public class EntityManagerService {
      * @return the vertex
      */
     public Vertex updateVertex(Vertex vertex) {
+        dropGraphFile();
         vertexDao.update(vertex);
+        graphChanged();
         return vertex;
     }
 
@@ -134,7 +388,9 @@ public class EntityManagerService {
      * @return true, if successful
      */
     public boolean deleteVertex(String vertexId) {
+        dropGraphFile();
         vertexDao.delete(vertexId);
+        graphChanged();
         return true;
     }
 
@@ -185,7 +441,9 @@ public class EntityManagerService {
      * @return the edge
      */
     public Edge saveEdge(Edge edge) {
+        dropGraphFile();
         edgeDao.save(edge);
+        graphChanged();
         return edge;
     }
 
@@ -196,7 +454,9 @@ public class EntityManagerService {
      * @return the edge
      */
     public Edge updateEdge(Edge edge) {
+        dropGraphFile();
         edgeDao.update(edge);
+        graphChanged();
         return edge;
     }
 
@@ -207,7 +467,9 @@ public class EntityManagerService {
      * @return true, if successful
      */
     public boolean deleteEdge(long recordId) {
+        dropGraphFile();
         edgeDao.delete(recordId);
+        graphChanged();
         return true;
     }
 
@@ -257,7 +519,9 @@ public class EntityManagerService {
      * @return the traffic
      */
     public Traffic saveTraffic(Traffic traffic) {
+        dropGraphFile();
         trafficDao.save(traffic);
+        graphChanged();
         return traffic;
     }
 
@@ -268,7 +532,9 @@ public class EntityManagerService {
      * @return the traffic
      */
     public Traffic updateTraffic(Traffic traffic) {
+        dropGraphFile();
         trafficDao.update(traffic);
+        graphChanged();
         return traffic;
     }
 
@@ -279,7 +545,9 @@ public class EntityManagerService {
      * @return true, if successful
      */
     public boolean deleteTraffic(String routeId) {
+        dropGraphFile();
         trafficDao.delete(routeId);
+        graphChanged();
         return true;
     }
 
@@ -321,4 +589,50 @@ public class EntityManagerService {
         List<Traffic> traffics = trafficDao.trafficExists(traffic);
         return !traffics.isEmpty();
     }
+
+    /**
+     * The Class ChunkedSaver.
+     *
+     * <p>Collects the rows of a bulk load and saves them a chunk at a time.
+     *
+     * @param <T> the entity type
+     */
+    private static final class ChunkedSaver<T> implements Consumer<T> {
+
+        /** The batch save of the dao. */
+        private final Consumer<List<T>> saveBatch;
+
+        /** The rows of the current chunk. */
+        private final List<T> chunk = new ArrayList<>(BULK_LOAD_CHUNK_SIZE);
+
+        /**
+         * Instantiates a new chunked saver.
+         *
+         * @param saveBatch the batch save of the dao
+         */
+        ChunkedSaver(Consumer<List<T>> saveBatch) {
+            this.saveBatch = saveBatch;
+        }
+
+        /* (non-Javadoc)
+         * @see java.util.function.Consumer#accept(java.lang.Object)
+         */
+        @Override
+        public void accept(T row) {
+            chunk.add(row);
+            if (chunk.size() == BULK_LOAD_CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        /**
+         * Saves the rows of the current chunk.
+         */
+        void flush() {
+            if (!chunk.isEmpty()) {
+                saveBatch.accept(chunk);
+                chunk.clear();
+            }
+        }
+    }
 }
@@ -0,0 +1,38 @@
+package com.discovery.interstellar.transport.system.service;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * The Class GraphChangedEvent.
+ *
+ * <p>Published by the {@link EntityManagerService} after a vertex, edge or traffic has been
+ * saved, updated or deleted.
+ */
+public class GraphChangedEvent extends ApplicationEvent {
+
+    /** The Constant serialVersionUID. */
+    private static final long serialVersionUID = 1L;
+
+    /** The new graph version. */
+    private final long graphVersion;
+
+    /**
+     * Instantiates a new graph changed event.
+     *
+     * @param source the service that changed the graph
+     * @param graphVersion the new graph version
+     */
+    public GraphChangedEvent(Object source, long graphVersion) {
+        super(source);
+        this.graphVersion = graphVersion;
+    }
+
+    /**
+     * Gets the graph version.
+     *
+     * @return the graph version
+     */
+    public long getGraphVersion() {
+        return graphVersion;
+    }
+}
@@ -0,0 +1,23 @@
+package com.discovery.interstellar.transport.system.service;
+
+/**
+ * The Class GraphImportException.
+ *
+ * <p>Thrown when vertices, edges or traffics cannot be read from an import file. It is unchecked,
+ * so the transaction of the import rolls back instead of committing the rows read so far.
+ */
+public class GraphImportException extends RuntimeException {
+
+    /** The Constant serialVersionUID. */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Instantiates a new graph import exception.
+     *
+     * @param message the message
+     * @param cause the cause
+     */
+    public GraphImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,200 @@
+package com.discovery.interstellar.transport.system.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Service;
+
+import com.discovery.interstellar.transport.system.entity.Vertex;
+import com.discovery.interstellar.transport.system.routing.GraphSnapshot;
+import com.discovery.interstellar.transport.system.routing.RouteResult;
+import com.discovery.interstellar.transport.system.routing.SearchAlgorithm;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The Class RouteCache.
+ *
+ * <p>Keeps the route results of the most recently asked planet pairs in front of the
+ * {@link ShortestPathService}. Entries are keyed by the graph version of the snapshot they were
+ * computed on, so a result of an older graph is never returned, and all entries are dropped when
+ * a vertex, edge or traffic changes. The cached paths are shared and must not be modified.
+ */
+@Service
+public class RouteCache implements ApplicationListener<GraphChangedEvent> {
+
+    /** The Constant MAX_ROUTES. */
+    private static final int MAX_ROUTES = 1024;
+
+    /** The shortest path service. */
+    private final ShortestPathService shortestPathService;
+
+    /** The routes, in access order. */
+    private final Map<RouteKey, RouteResult> routes = Collections.synchronizedMap(
+            new LinkedHashMap<RouteKey, RouteResult>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<RouteKey, RouteResult> eldest) {
+                    return size() > MAX_ROUTES;
+                }
+            });
+
+    /** The hit count. */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /** The miss count. */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Instantiates a new route cache.
+     *
+     * @param shortestPathService the shortest path service
+     */
+    @Autowired
+    public RouteCache(ShortestPathService shortestPathService) {
+        this.shortestPathService = shortestPathService;
+    }
+
+    /**
+     * Finds the route between two vertices of a snapshot, reusing the result of an earlier query
+     * on the same graph version.
+     *
+     * @param snapshot the snapshot
+     * @param source the source
+     * @param destination the destination
+     * @param trafficAllowed the traffic allowed
+     * @param undirectedGraph the undirected graph
+     * @param algorithm the algorithm
+     * @return the route result
+     */
+    public RouteResult findRoute(GraphSnapshot snapshot, Vertex source, Vertex destination, boolean trafficAllowed,
+                                 boolean undirectedGraph, SearchAlgorithm algorithm) {
+        if (source == null || destination == null) {
+            return shortestPathService.findRoute(snapshot.getCompactGraph(trafficAllowed, undirectedGraph), source, destination, algorithm);
+        }
+        RouteKey key = new RouteKey(source.getVertexId(), destination.getVertexId(), trafficAllowed, undirectedGraph,
+                algorithm, snapshot.getVersion());
+        RouteResult route = routes.get(key);
+        if (route != null) {
+            hitCount.incrementAndGet();
+            return route;
+        }
+        missCount.incrementAndGet();
+        route = shortestPathService.findRoute(snapshot.getCompactGraph(trafficAllowed, undirectedGraph), source, destination, algorithm);
+        routes.put(key, route);
+        return route;
+    }
+
+    /**
+     * Gets the number of queries answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of queries that had to be computed.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Gets the number of cached routes.
+     *
+     * @return the size
+     */
+    public int size() {
+        return routes.size();
+    }
+
+    /**
+     * Drops the routes of the old graph.
+     *
+     * @param event the event
+     */
+    @Override
+    public void onApplicationEvent(GraphChangedEvent event) {
+        routes.clear();
+    }
+
+    /**
+     * The Class RouteKey.
+     */
+    private static final class RouteKey {
+
+        /** The source vertex id. */
+        private final String sourceId;
+
+        /** The destination vertex id. */
+        private final String destinationId;
+
+        /** The traffic allowed. */
+        private final boolean trafficAllowed;
+
+        /** The undirected graph. */
+        private final boolean undirectedGraph;
+
+        /** The algorithm. */
+        private final SearchAlgorithm algorithm;
+
+        /** The graph version. */
+        private final long graphVersion;
+
+        /**
+         * Instantiates a new route key.
+         *
+         * @param sourceId the source id
+         * @param destinationId the destination id
+         * @param trafficAllowed the traffic allowed
+         * @param undirectedGraph the undirected graph
+         * @param algorithm the algorithm
+         * @param graphVersion the graph version
+         */
+        RouteKey(String sourceId, String destinationId, boolean trafficAllowed, boolean undirectedGraph,
+                 SearchAlgorithm algorithm, long graphVersion) {
+            this.sourceId = sourceId;
+            this.destinationId = destinationId;
+            this.trafficAllowed = trafficAllowed;
+            this.undirectedGraph = undirectedGraph;
+            this.algorithm = algorithm;
+            this.graphVersion = graphVersion;
+        }
+
+        /* (non-Javadoc)
+         * @see java.lang.Object#equals(java.lang.Object)
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof RouteKey)) {
+                return false;
+            }
+            RouteKey other = (RouteKey) obj;
+            return graphVersion == other.graphVersion && trafficAllowed == other.trafficAllowed
+                    && undirectedGraph == other.undirectedGraph && algorithm == other.algorithm
+                    && (sourceId == null ? other.sourceId == null : sourceId.equals(other.sourceId))
+                    && (destinationId == null ? other.destinationId == null : destinationId.equals(other.destinationId));
+        }
+
+        /* (non-Javadoc)
+         * @see java.lang.Object#hashCode()
+         */
+        @Override
+        public int hashCode() {
+            int result = sourceId == null ? 0 : sourceId.hashCode();
+            result = 31 * result + (destinationId == null ? 0 : destinationId.hashCode());
+            result = 31 * result + (trafficAllowed ? 1 : 0);
+            result = 31 * result + (undirectedGraph ? 1 : 0);
+            result = 31 * result + (algorithm == null ? 0 : algorithm.hashCode());
+            return 31 * result + (int) (graphVersion ^ (graphVersion >>> 32));
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package com.discovery.interstellar.transport.system.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.discovery.interstellar.transport.system.routing.CompactGraph;
+import com.discovery.interstellar.transport.system.routing.ContractionHierarchy;
+import com.discovery.interstellar.transport.system.routing.DistanceMatrix;
+import com.discovery.interstellar.transport.system.routing.GraphSnapshot;
+import com.discovery.interstellar.transport.system.routing.HubLabels;
+import com.discovery.interstellar.transport.system.routing.LandmarkIndex;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The Class RoutingIndexService.
+ *
+ * <p>Builds the preprocessed routing indexes of the compact graphs on a background executor, so
+ * that the preprocessing never runs on a request thread. Until the index of a graph is ready,
+ * callers get null and fall back to a search that needs no preprocessing. Every index is
+ * dropped when the graph changes, and rebuilt right after the change is committed for the
+ * traffic/undirected options it has been used with, so that queries do not fall back to the
+ * slower search until their next request. A build that fails is forgotten, so the next request
+ * tries again. Hub labels are built from the contraction hierarchy of their graph, which is shared with
+ * the hierarchy queries. They are also written to the index directory, named after the variant
+ * and the fingerprint of their graph, and read back instead of being rebuilt after a restart; the
+ * files of the older graphs of a variant are deleted once the newer labels are written.
+ */
+@Service
+public class RoutingIndexService implements ApplicationListener<GraphChangedEvent> {
+
+    /** The Constant THREAD_NAME_PREFIX. */
+    private static final String THREAD_NAME_PREFIX = "routing-index-";
+
+    /** The Constant HUB_LABEL_FILE_NAME, with the variant and the fingerprint of the graph. */
+    private static final String HUB_LABEL_FILE_NAME = "hub-labels-%d-%016x.bin";
+
+    /** The Constant HUB_LABEL_FILE_PREFIX, with the variant of the graph. */
+    private static final String HUB_LABEL_FILE_PREFIX = "hub-labels-%d-";
+
+    /** The landmark indexes, keyed by compact graph identity. */
+    private final Map<CompactGraph, Future<LandmarkIndex>> landmarkIndexes = new ConcurrentHashMap<>();
+
+    /** The contraction hierarchies, keyed by compact graph identity. */
+    private final Map<CompactGraph, Future<ContractionHierarchy>> contractionHierarchies = new ConcurrentHashMap<>();
+
+    /** The hub labels, keyed by compact graph identity. */
+    private final Map<CompactGraph, Future<HubLabels>> hubLabels = new ConcurrentHashMap<>();
+
+    /** The distance matrices, keyed by compact graph identity. */
+    private final Map<CompactGraph, Future<DistanceMatrix>> distanceMatrices = new ConcurrentHashMap<>();
+
+    /** The traffic/undirected options the landmark indexes have been requested with, as {@link #variant(boolean, boolean)}. */
+    private final Set<Integer> landmarkIndexVariants = ConcurrentHashMap.newKeySet();
+
+    /** The traffic/undirected options the contraction hierarchies have been requested with. */
+    private final Set<Integer> contractionHierarchyVariants = ConcurrentHashMap.newKeySet();
+
+    /** The traffic/undirected options the hub labels have been requested with. */
+    private final Set<Integer> hubLabelVariants = ConcurrentHashMap.newKeySet();
+
+    /** The traffic/undirected options the distance matrices have been requested with. */
+    private final Set<Integer> distanceMatrixVariants = ConcurrentHashMap.newKeySet();
+
+    /** The directory of the persisted indexes, null to keep them in memory only. */
+    private final File indexDirectory;
+
+    /** The entity manager service, null when the indexes are not rebuilt after changes. */
+    private final EntityManagerService entityManagerService;
+
+    /** The executor. */
+    private final ExecutorService executor;
+
+    /**
+     * Instantiates a new routing index service that keeps its indexes in memory only.
+     */
+    public RoutingIndexService() {
+        this((File) null, null);
+    }
+
+    /**
+     * Instantiates a new routing index service.
+     *
+     * @param indexDirectory the index directory, empty to keep the indexes in memory only
+     * @param entityManagerService the entity manager service
+     */
+    @Autowired
+    public RoutingIndexService(@Value("${interstellar.routing.index-directory:}") String indexDirectory,
+                               EntityManagerService entityManagerService) {
+        this(indexDirectory == null || indexDirectory.isEmpty() ? null : new File(indexDirectory), entityManagerService);
+    }
+
+    /**
+     * Instantiates a new routing index service.
+     *
+     * @param indexDirectory the index directory, null to keep the indexes in memory only
+     * @param entityManagerService the entity manager service, null to build indexes on request only
+     */
+    public RoutingIndexService(File indexDirectory, EntityManagerService entityManagerService) {
+        this.indexDirectory = indexDirectory;
+        this.entityManagerService = entityManagerService;
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+    }
+
+    /**
+     * Gets the landmark index of a graph, scheduling its construction if it has not been requested yet.
+     *
+     * @param graph the graph
+     * @return the landmark index, or null while it is being built
+     */
+    public LandmarkIndex getLandmarkIndex(CompactGraph graph) {
+        landmarkIndexVariants.add(variant(graph.isTrafficAllowed(), graph.isUndirectedGraph()));
+        return getIndex(landmarkIndexes, graph, LandmarkIndex::build);
+    }
+
+    /**
+     * Gets the contraction hierarchy of a graph, scheduling its construction if it has not been requested yet.
+     *
+     * @param graph the graph
+     * @return the contraction hierarchy, or null while it is being built
+     */
+    public ContractionHierarchy getContractionHierarchy(CompactGraph graph) {
+        contractionHierarchyVariants.add(variant(graph.isTrafficAllowed(), graph.isUndirectedGraph()));
+        return getIndex(contractionHierarchies, graph, ContractionHierarchy::build);
+    }
+
+    /**
+     * Gets the hub labels of a graph, scheduling their construction or loading if they have not been requested yet.
+     *
+     * @param graph the graph
+     * @return the hub labels, or null while they are being built
+     */
+    public HubLabels getHubLabels(CompactGraph graph) {
+        hubLabelVariants.add(variant(graph.isTrafficAllowed(), graph.isUndirectedGraph()));
+        return getIndex(hubLabels, graph, this::loadOrBuildHubLabels);
+    }
+
+    /**
+     * Gets the distance matrix of a graph, scheduling its construction if it has not been requested yet.
+     *
+     * @param graph the graph
+     * @return the distance matrix, or null while it is being built or if the graph is too large
+     */
+    public DistanceMatrix getDistanceMatrix(CompactGraph graph) {
+        if (!DistanceMatrix.supports(graph)) {
+            return null;
+        }
+        distanceMatrixVariants.add(variant(graph.isTrafficAllowed(), graph.isUndirectedGraph()));
+        return getIndex(distanceMatrices, graph, DistanceMatrix::build);
+    }
+
+    /**
+     * Gets the distance matrix of a graph if it has already been built, without scheduling its
+     * construction, for queries that must not turn on all-pairs precomputation.
+     *
+     * @param graph the graph
+     * @return the distance matrix, or null if it has not been requested or is still being built
+     */
+    public DistanceMatrix findDistanceMatrix(CompactGraph graph) {
+        Future<DistanceMatrix> future = distanceMatrices.get(graph);
+        return future == null ? null : completed(distanceMatrices, graph, future);
+    }
+
+    /**
+     * Gets the variant code of a traffic/undirected combination.
+     *
+     * @param trafficAllowed the traffic allowed
+     * @param undirectedGraph the undirected graph
+     * @return the variant
+     */
+    private static int variant(boolean trafficAllowed, boolean undirectedGraph) {
+        return (trafficAllowed ? 1 : 0) | (undirectedGraph ? 2 : 0);
+    }
+
+    /**
+     * Reads the persisted hub labels of a graph, or builds and persists them.
+     *
+     * @param graph the graph
+     * @return the hub labels
+     */
+    private HubLabels loadOrBuildHubLabels(CompactGraph graph) {
+        if (indexDirectory == null) {
+            return HubLabels.build(sharedContractionHierarchy(graph));
+        }
+        int variant = variant(graph.isTrafficAllowed(), graph.isUndirectedGraph());
+        File file = new File(indexDirectory, String.format(HUB_LABEL_FILE_NAME, variant, graph.fingerprint()));
+        if (file.isFile()) {
+            try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+                return HubLabels.read(in, graph);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        HubLabels labels = HubLabels.build(sharedContractionHierarchy(graph));
+        File temporary = null;
+        try {
+            Files.createDirectories(indexDirectory.toPath());
+            temporary = File.createTempFile(file.getName(), ".tmp", indexDirectory);
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(temporary))) {
+                labels.write(out);
+            }
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            deleteOlderHubLabels(variant, file);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            if (temporary != null && temporary.exists()) {
+                temporary.delete();
+            }
+        }
+        return labels;
+    }
+
+    /**
+     * Deletes the hub label files of the older graphs of a variant, once the labels of the newer
+     * graph have been written.
+     *
+     * @param variant the variant
+     * @param current the file of the newer graph
+     */
+    private void deleteOlderHubLabels(int variant, File current) {
+        String prefix = String.format(HUB_LABEL_FILE_PREFIX, variant);
+        File[] files = indexDirectory.listFiles((directory, name) -> name.startsWith(prefix) && name.endsWith(".bin"));
+        if (files != null) {
+            for (File file : files) {
+                if (!file.equals(current)) {
+                    file.delete();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the contraction hierarchy of a graph for building its hub labels, sharing it with the
+     * contraction hierarchy queries so that the graph is contracted only once. A hierarchy that is
+     * scheduled but not started yet is built on the calling thread, so a full executor cannot
+     * leave the hub labels waiting for it.
+     *
+     * @param graph the graph
+     * @return the contraction hierarchy
+     */
+    private ContractionHierarchy sharedContractionHierarchy(CompactGraph graph) {
+        Future<ContractionHierarchy> future = contractionHierarchies.get(graph);
+        if (future == null) {
+            FutureTask<ContractionHierarchy> task = new FutureTask<>(() -> ContractionHierarchy.build(graph));
+            future = contractionHierarchies.putIfAbsent(graph, task);
+            if (future == null) {
+                future = task;
+            }
+        }
+        if (future instanceof RunnableFuture) {
+            ((RunnableFuture<?>) future).run();
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while contracting the graph", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("The contraction hierarchy could not be built", e.getCause());
+        }
+    }
+
+    /**
+     * Gets an index of a graph, scheduling its construction if it has not been requested yet.
+     *
+     * @param <T> the index type
+     * @param indexes the indexes of that type
+     * @param graph the graph
+     * @param builder the builder
+     * @return the index, or null while it is being built
+     */
+    private <T> T getIndex(Map<CompactGraph, Future<T>> indexes, CompactGraph graph, Function<CompactGraph, T> builder) {
+        Future<T> future = indexes.get(graph);
+        if (future == null) {
+            future = indexes.computeIfAbsent(graph, g -> executor.submit(() -> builder.apply(g)));
+        }
+        return completed(indexes, graph, future);
+    }
+
+    /**
+     * Returns the result of a future if it is done. A failed future is removed, so that the next
+     * request schedules the build again.
+     *
+     * @param <T> the index type
+     * @param indexes the indexes holding the future
+     * @param graph the graph of the future
+     * @param future the future
+     * @return the result, or null if not done or failed
+     */
+    private static <T> T completed(Map<CompactGraph, Future<T>> indexes, CompactGraph graph, Future<T> future) {
+        if (!future.isDone() || future.isCancelled()) {
+            return null;
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            if (indexes.remove(graph, future)) {
+                e.printStackTrace();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Drops the indexes of the old graphs.
+     *
+     * @param event the event
+     */
+    @Override
+    public void onApplicationEvent(GraphChangedEvent event) {
+        clear(landmarkIndexes);
+        clear(contractionHierarchies);
+        clear(hubLabels);
+        clear(distanceMatrices);
+    }
+
+    /**
+     * Starts rebuilding the indexes in use once the change is committed, so that the new
+     * snapshot sees it.
+     *
+     * @param event the event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void rebuildIndexes(GraphChangedEvent event) {
+        if (entityManagerService == null || (landmarkIndexVariants.isEmpty() && contractionHierarchyVariants.isEmpty()
+                && hubLabelVariants.isEmpty() && distanceMatrixVariants.isEmpty())) {
+            return;
+        }
+        executor.submit(() -> {
+            GraphSnapshot snapshot = entityManagerService.getGraphSnapshot();
+            for (int variant : landmarkIndexVariants) {
+                getLandmarkIndex(compactGraph(snapshot, variant));
+            }
+            for (int variant : contractionHierarchyVariants) {
+                getContractionHierarchy(compactGraph(snapshot, variant));
+            }
+            for (int variant : hubLabelVariants) {
+                getHubLabels(compactGraph(snapshot, variant));
+            }
+            for (int variant : distanceMatrixVariants) {
+                getDistanceMatrix(compactGraph(snapshot, variant));
+            }
+        });
+    }
+
+    /**
+     * Gets the compact graph of a snapshot for a variant code.
+     *
+     * @param snapshot the snapshot
+     * @param variant the variant
+     * @return the compact graph
+     */
+    private static CompactGraph compactGraph(GraphSnapshot snapshot, int variant) {
+        return snapshot.getCompactGraph((variant & 1) != 0, (variant & 2) != 0);
+    }
+
+    /**
+     * Cancels and removes the indexes of one type.
+     *
+     * @param indexes the indexes
+     */
+    private static void clear(Map<CompactGraph, ? extends Future<?>> indexes) {
+        for (Future<?> future : indexes.values()) {
+            future.cancel(true);
+        }
+        indexes.clear();
+    }
+
+    /**
+     * Stops the executor.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+}
@@ -1,36 +1,54 @@
 package com.discovery.interstellar.transport.system.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import com.discovery.interstellar.transport.system.entity.Edge;
 import com.discovery.interstellar.transport.system.entity.Vertex;
 import com.discovery.interstellar.transport.system.helper.Graph;
+import com.discovery.interstellar.transport.system.routing.AltEngine;
+import com.discovery.interstellar.transport.system.routing.BidirectionalDijkstraEngine;
+import com.discovery.interstellar.transport.system.routing.CompactGraph;
+import com.discovery.interstellar.transport.system.routing.ContractionHierarchy;
+import com.discovery.interstellar.transport.system.routing.ContractionHierarchyEngine;
+import com.discovery.interstellar.transport.system.routing.DijkstraEngine;
+import com.discovery.interstellar.transport.system.routing.DistanceMatrix;
+import com.discovery.interstellar.transport.system.routing.HubLabels;
+import com.discovery.interstellar.transport.system.routing.KShortestPathsEngine;
+import com.discovery.interstellar.transport.system.routing.LandmarkIndex;
+import com.discovery.interstellar.transport.system.routing.ManyToManyEngine;
+import com.discovery.interstellar.transport.system.routing.RouteResult;
+import com.discovery.interstellar.transport.system.routing.SearchAlgorithm;
+import com.discovery.interstellar.transport.system.routing.ShortestPathTree;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
 
 /**
  * The Class ShortestPathService.
+ *
+ * <p>The query methods that take a {@link CompactGraph} keep all per-query state in their own
+ * search context and are safe to call concurrently on the shared service. The
+ * {@link #initializePlanets(Graph)}, {@link #run(Vertex)} and {@link #getPath(Vertex)} sequence
+ * keeps its state on the instance and must not be shared between threads.
  */
 @Service
 public class ShortestPathService {
 
-    /** The vertices. */
-    private List<Vertex> vertices;
-    
-    /** The edges. */
-    private List<Edge> edges;
-    
-    /** The visited vertices. */
-    private Set<Vertex> visitedVertices;
-    
-    /** The unvisited vertices. */
-    private Set<Vertex> unvisitedVertices;
-    
-    /** The previous paths. */
-    private Map<Vertex, Vertex> previousPaths;
-    
-    /** The distance. */
-    private Map<Vertex, Float> distance;
+    /** The Constant HOME_VERTEX_INDEX, the home planet is the first vertex of the graph. */
+    private static final int HOME_VERTEX_INDEX = 0;
+
+    /** The graph of the stateful api. */
+    private CompactGraph graph;
+
+    /** The shortest path tree of the last run. */
+    private ShortestPathTree shortestPathTree;
+
+    /** The routing index service, null when no preprocessed indexes are available. */
+    private RoutingIndexService routingIndexService;
+
+    /** The shortest path tree cache, null when trees are not cached. */
+    private ShortestPathTreeCache shortestPathTreeCache;
 
     /**
      * Instantiates a new shortest path service.
@@ -38,169 +56,238 @@ public class ShortestPathService {
     public ShortestPathService() {
     }
 
+    /**
+     * Instantiates a new shortest path service.
+     *
+     * @param routingIndexService the routing index service
+     * @param shortestPathTreeCache the shortest path tree cache
+     */
+    @Autowired
+    public ShortestPathService(RoutingIndexService routingIndexService, ShortestPathTreeCache shortestPathTreeCache) {
+        this.routingIndexService = routingIndexService;
+        this.shortestPathTreeCache = shortestPathTreeCache;
+    }
+
     /**
      * Instantiates a new shortest path service.
      *
      * @param graph the graph
      */
     public ShortestPathService(Graph graph) {
-        this.vertices = new ArrayList<>(graph.getVertexes());
-        if (graph.isTrafficAllowed()) {
-            graph.processTraffics();
-        }
-        if (graph.isUndirectedGraph()) {
-            this.edges = new ArrayList<>(graph.getUndirectedEdges());
-        } else {
-            this.edges = new ArrayList<>(graph.getEdges());
-        }
+        this.graph = CompactGraph.fromGraph(graph);
     }
 
     /**
-     * Initialize planets.
+     * Computes the shortest path tree of a source.
      *
      * @param graph the graph
+     * @param source the source
+     * @return the shortest path tree
      */
-    public void initializePlanets(Graph graph) {
-        this.vertices = new ArrayList<>(graph.getVertexes());
-        if (graph.isTrafficAllowed()) {
-            graph.processTraffics();
-        }
-        if (graph.isUndirectedGraph()) {
-            this.edges = new ArrayList<>(graph.getUndirectedEdges());
-        } else {
-            this.edges = new ArrayList<>(graph.getEdges());
-        }
+    public ShortestPathTree computeShortestPathTree(CompactGraph graph, Vertex source) {
+        int sourceIndex = source == null ? -1 : graph.indexOf(source.getVertexId());
+        return new DijkstraEngine(graph).shortestPathTree(sourceIndex);
     }
 
     /**
-     * Run.
+     * Gets the shortest path tree of a source, from the tree cache when one is available.
      *
+     * @param graph the graph
      * @param source the source
+     * @return the shortest path tree
      */
-    public void run(Vertex source) {
-        distance = new HashMap<>();
-        previousPaths = new HashMap<>();
-        visitedVertices = new HashSet<>();
-        unvisitedVertices = new HashSet<>();
-        distance.put(source, 0f);
-        unvisitedVertices.add(source);
-        while (unvisitedVertices.size() > 0) {
-            Vertex currentVertex = getVertexWithLowestDistance(unvisitedVertices);
-            visitedVertices.add(currentVertex);
-            unvisitedVertices.remove(currentVertex);
-            evaluateNeighborsWithMinimalDistances(currentVertex);
+    public ShortestPathTree getShortestPathTree(CompactGraph graph, Vertex source) {
+        if (shortestPathTreeCache != null && source != null && graph.indexOf(source.getVertexId()) >= 0) {
+            return shortestPathTreeCache.getShortestPathTree(graph, source);
         }
+        return computeShortestPathTree(graph, source);
     }
 
     /**
-     * Gets the vertex with lowest distance.
+     * Gets the shortest path between two vertices.
      *
-     * @param vertexes the vertexes
-     * @return the vertex with lowest distance
+     * @param graph the graph
+     * @param source the source
+     * @param target the target
+     * @return the path, or null if the target is the source or is not reachable
      */
-    private Vertex getVertexWithLowestDistance(Set<Vertex> vertexes) {
-        Vertex lowestVertex = null;
-        for (Vertex vertex : vertexes) {
-            if (lowestVertex == null) {
-                lowestVertex = vertex;
-            } else if (getShortestDistance(vertex) < getShortestDistance(lowestVertex)) {
-                lowestVertex = vertex;
-            }
-        }
-        return lowestVertex;
+    public LinkedList<Vertex> getPath(CompactGraph graph, Vertex source, Vertex target) {
+        return findRoute(graph, source, target).getPath();
+    }
+
+    /**
+     * Finds the shortest route between two vertices with Dijkstra's algorithm.
+     *
+     * @param graph the graph
+     * @param source the source
+     * @param target the target
+     * @return the route result
+     */
+    public RouteResult findRoute(CompactGraph graph, Vertex source, Vertex target) {
+        return findRoute(graph, source, target, SearchAlgorithm.DIJKSTRA);
     }
 
     /**
-     * Evaluate neighbors with minimal distances.
+     * Finds the shortest route between two vertices with the given search algorithm. Algorithms
+     * that need a preprocessed index fall back to the bidirectional search until it is built.
+     * Dijkstra routes from the home planet are read from its cached shortest path tree. Routes from
+     * other sources are read from their tree only when one is already cached, and found by a search
+     * that stops at the target otherwise.
      *
-     * @param currentVertex the current vertex
+     * @param graph the graph
+     * @param source the source
+     * @param target the target
+     * @param algorithm the algorithm
+     * @return the route result
      */
-    private void evaluateNeighborsWithMinimalDistances(Vertex currentVertex) {
-        List<Vertex> adjacentVertices = getNeighbors(currentVertex);
-        for (Vertex target : adjacentVertices) {
-            float alternateDistance = getShortestDistance(currentVertex) + getDistance(currentVertex, target);
-            if (alternateDistance < getShortestDistance(target)) {
-                distance.put(target, alternateDistance);
-                previousPaths.put(target, currentVertex);
-                unvisitedVertices.add(target);
-            }
+    public RouteResult findRoute(CompactGraph graph, Vertex source, Vertex target, SearchAlgorithm algorithm) {
+        if (source == null || target == null) {
+            return RouteResult.unreachable();
+        }
+        int sourceIndex = graph.indexOf(source.getVertexId());
+        int targetIndex = graph.indexOf(target.getVertexId());
+        switch (algorithm) {
+            case ALT:
+                LandmarkIndex landmarkIndex = routingIndexService == null ? null : routingIndexService.getLandmarkIndex(graph);
+                if (landmarkIndex != null) {
+                    return new AltEngine(landmarkIndex).route(sourceIndex, targetIndex);
+                }
+                return new BidirectionalDijkstraEngine(graph).route(sourceIndex, targetIndex);
+            case CONTRACTION_HIERARCHIES:
+                ContractionHierarchy hierarchy = routingIndexService == null ? null : routingIndexService.getContractionHierarchy(graph);
+                if (hierarchy != null) {
+                    return new ContractionHierarchyEngine(hierarchy).route(sourceIndex, targetIndex);
+                }
+                return new BidirectionalDijkstraEngine(graph).route(sourceIndex, targetIndex);
+            case DISTANCE_MATRIX:
+                DistanceMatrix matrix = routingIndexService == null ? null : routingIndexService.getDistanceMatrix(graph);
+                if (matrix != null) {
+                    return matrix.route(sourceIndex, targetIndex);
+                }
+                return new BidirectionalDijkstraEngine(graph).route(sourceIndex, targetIndex);
+            case BIDIRECTIONAL:
+                return new BidirectionalDijkstraEngine(graph).route(sourceIndex, targetIndex);
+            case DIJKSTRA:
+            default:
+                if (shortestPathTreeCache != null && sourceIndex == HOME_VERTEX_INDEX) {
+                    return shortestPathTreeCache.getShortestPathTree(graph, source).getRoute(targetIndex);
+                }
+                ShortestPathTree tree = shortestPathTreeCache == null || sourceIndex < 0 ? null
+                        : shortestPathTreeCache.findShortestPathTree(graph, source);
+                if (tree != null) {
+                    return tree.getRoute(targetIndex);
+                }
+                return new DijkstraEngine(graph).route(sourceIndex, targetIndex);
         }
     }
 
     /**
-     * Gets the neighbors.
+     * Finds the shortest loopless routes between two vertices, best first.
      *
-     * @param currentVertex the current vertex
-     * @return the neighbors
+     * @param graph the graph
+     * @param source the source
+     * @param target the target
+     * @param k the maximum number of routes
+     * @return the routes, empty if the target is not reachable
      */
-    private List<Vertex> getNeighbors(Vertex currentVertex) {
-        List<Vertex> neighbors = new ArrayList<>();
-        for (Edge edge : edges) {
-            Vertex destination = fromId(edge.getDestination());
-            if (edge.getSource().equals(currentVertex.getVertexId()) && !isVisited(destination)) {
-                neighbors.add(destination);
-            }
+    public List<RouteResult> findRoutes(CompactGraph graph, Vertex source, Vertex target, int k) {
+        if (source == null || target == null) {
+            return new ArrayList<>();
         }
-        return neighbors;
+        return new KShortestPathsEngine(graph).routes(graph.indexOf(source.getVertexId()), graph.indexOf(target.getVertexId()), k);
     }
 
     /**
-     * From id.
+     * Gets the distances from every source to every target, from the distance matrix of the
+     * graph if route queries have already built one, otherwise from its hub labels or the bucket
+     * searches of its contraction hierarchy, whichever is built first, and from one shortest path
+     * tree per source until then. A distance table never schedules a distance matrix itself.
      *
-     * @param str the str
-     * @return the vertex
+     * @param graph the graph
+     * @param sources the sources, null entries are unknown vertices
+     * @param targets the targets, null entries are unknown vertices
+     * @return the distances, {@code [source][target]}, positive infinity where not reachable
      */
-    public Vertex fromId(final String str) {
-        for (Vertex v : vertices) {
-            if (v.getVertexId().equalsIgnoreCase(str)) {
-                return v;
+    public float[][] getDistanceTable(CompactGraph graph, List<Vertex> sources, List<Vertex> targets) {
+        int[] sourceIndexes = indexesOf(graph, sources);
+        int[] targetIndexes = indexesOf(graph, targets);
+        DistanceMatrix matrix = routingIndexService == null ? null : routingIndexService.findDistanceMatrix(graph);
+        if (matrix == null && routingIndexService != null) {
+            HubLabels labels = routingIndexService.getHubLabels(graph);
+            if (labels != null) {
+                float[][] table = new float[sourceIndexes.length][targetIndexes.length];
+                for (int i = 0; i < table.length; i++) {
+                    for (int j = 0; j < targetIndexes.length; j++) {
+                        table[i][j] = labels.distance(sourceIndexes[i], targetIndexes[j]);
+                    }
+                }
+                return table;
+            }
+            ContractionHierarchy hierarchy = routingIndexService.getContractionHierarchy(graph);
+            if (hierarchy != null) {
+                return new ManyToManyEngine(hierarchy).distances(sourceIndexes, targetIndexes);
+            }
+        }
+        float[][] table = new float[sourceIndexes.length][targetIndexes.length];
+        for (int i = 0; i < table.length; i++) {
+            int sourceIndex = sourceIndexes[i];
+            ShortestPathTree tree = matrix != null || sourceIndex < 0 ? null : new DijkstraEngine(graph).shortestPathTree(sourceIndex);
+            for (int j = 0; j < targetIndexes.length; j++) {
+                if (matrix != null) {
+                    table[i][j] = matrix.distance(sourceIndex, targetIndexes[j]);
+                } else {
+                    table[i][j] = tree == null || targetIndexes[j] < 0 ? Float.POSITIVE_INFINITY : tree.getDistance(targetIndexes[j]);
+                }
             }
         }
-        Vertex islandVertex = new Vertex();
-        islandVertex.setVertexId(str);
-        islandVertex.setName("Island " + str);
-        return islandVertex;
+        return table;
     }
 
     /**
-     * Checks if is visited.
+     * Gets the vertex numbers of vertices.
      *
-     * @param vertex the vertex
-     * @return true, if is visited
+     * @param graph the graph
+     * @param vertices the vertices, null entries are unknown vertices
+     * @return the vertex numbers, -1 for unknown vertices
      */
-    private boolean isVisited(Vertex vertex) {
-        return visitedVertices.contains(vertex);
+    private static int[] indexesOf(CompactGraph graph, List<Vertex> vertices) {
+        int[] indexes = new int[vertices.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = vertices.get(i) == null ? -1 : graph.indexOf(vertices.get(i).getVertexId());
+        }
+        return indexes;
     }
 
     /**
-     * Gets the shortest distance.
+     * Initialize planets.
      *
-     * @param destination the destination
-     * @return the shortest distance
+     * @param graph the graph
+     * @deprecated not thread-safe, use {@link #getPath(CompactGraph, Vertex, Vertex)}
      */
-    private Float getShortestDistance(Vertex destination) {
-        Float d = distance.get(destination);
-        if (d == null) {
-            return Float.POSITIVE_INFINITY;
-        } else {
-            return d;
-        }
+    @Deprecated
+    public void initializePlanets(Graph graph) {
+        this.graph = CompactGraph.fromGraph(graph);
     }
 
     /**
-     * Gets the distance.
+     * Run.
      *
      * @param source the source
-     * @param target the target
-     * @return the distance
+     * @deprecated not thread-safe, use {@link #computeShortestPathTree(CompactGraph, Vertex)}
      */
-    private float getDistance(Vertex source, Vertex target) {
-        for (Edge edge : edges) {
-            if (edge.getSource().equals(source.getVertexId()) && edge.getDestination().equals(target.getVertexId())) {
-                return edge.getDistance() + edge.getTimeDelay();
-            }
-        }
-        throw new RuntimeException("Error: Something went wrong!");
+    @Deprecated
+    public void run(Vertex source) {
+        shortestPathTree = computeShortestPathTree(graph, source);
+    }
+
+    /**
+     * From id.
+     *
+     * @param str the str
+     * @return the vertex
+     */
+    public Vertex fromId(final String str) {
+        return graph.getVertexOrIsland(str);
     }
 
     /**
@@ -208,22 +295,11 @@ public class ShortestPathService {
      *
      * @param target the target
      * @return the path
+     * @deprecated not thread-safe, use {@link #getPath(CompactGraph, Vertex, Vertex)}
      */
+    @Deprecated
     public LinkedList<Vertex> getPath(Vertex target) {
-        LinkedList<Vertex> path = new LinkedList<>();
-        Vertex step = target;
-
-        if (previousPaths.get(step) == null) {
-            return null;
-        }
-        path.add(step);
-        while (previousPaths.get(step) != null) {
-            step = previousPaths.get(step);
-            path.add(step);
-        }
-
-        Collections.reverse(path);
-        return path;
+        return shortestPathTree.getPath(target);
     }
 
 }
@@ -0,0 +1,189 @@
+package com.discovery.interstellar.transport.system.service;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Service;
+
+import com.discovery.interstellar.transport.system.entity.Vertex;
+import com.discovery.interstellar.transport.system.routing.CompactGraph;
+import com.discovery.interstellar.transport.system.routing.DijkstraEngine;
+import com.discovery.interstellar.transport.system.routing.ShortestPathTree;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The Class ShortestPathTreeCache.
+ *
+ * <p>Keeps the complete shortest path trees of the most recently used sources, keyed by source
+ * and traffic/undirected options, so that repeated queries from the same planet only walk the
+ * predecessors of the path. The cache holds at most {@link #MAX_TREES} trees and at most
+ * {@link #MAX_CACHED_VERTICES} vertices over all trees, evicting the least recently used first.
+ * All trees are dropped when a vertex, edge or traffic changes.
+ */
+@Service
+public class ShortestPathTreeCache implements ApplicationListener<GraphChangedEvent> {
+
+    /** The Constant MAX_TREES. */
+    private static final int MAX_TREES = 64;
+
+    /** The Constant MAX_CACHED_VERTICES, the bound on the vertices of all cached trees together. */
+    private static final long MAX_CACHED_VERTICES = 1L << 22;
+
+    /** The trees, in access order. */
+    private final LinkedHashMap<TreeKey, ShortestPathTree> trees = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** The number of vertices of all cached trees. */
+    private long cachedVertices;
+
+    /** The maximum number of trees. */
+    private final int maxTrees;
+
+    /** The maximum number of vertices of all cached trees. */
+    private final long maxCachedVertices;
+
+    /**
+     * Instantiates a new shortest path tree cache.
+     */
+    public ShortestPathTreeCache() {
+        this(MAX_TREES, MAX_CACHED_VERTICES);
+    }
+
+    /**
+     * Instantiates a new shortest path tree cache with the given bounds.
+     *
+     * @param maxTrees the maximum number of trees
+     * @param maxCachedVertices the maximum number of vertices of all cached trees
+     */
+    ShortestPathTreeCache(int maxTrees, long maxCachedVertices) {
+        this.maxTrees = maxTrees;
+        this.maxCachedVertices = maxCachedVertices;
+    }
+
+    /**
+     * Gets the shortest path tree of a source, computing it if it is not cached for this graph.
+     *
+     * @param graph the graph
+     * @param source the source
+     * @return the shortest path tree
+     */
+    public ShortestPathTree getShortestPathTree(CompactGraph graph, Vertex source) {
+        ShortestPathTree tree = findShortestPathTree(graph, source);
+        if (tree == null) {
+            tree = new DijkstraEngine(graph).shortestPathTree(graph.indexOf(source.getVertexId()));
+            put(new TreeKey(source.getVertexId(), graph.isTrafficAllowed(), graph.isUndirectedGraph()), tree);
+        }
+        return tree;
+    }
+
+    /**
+     * Finds the cached shortest path tree of a source, without computing it.
+     *
+     * @param graph the graph
+     * @param source the source
+     * @return the shortest path tree, or null if it is not cached for this graph
+     */
+    public synchronized ShortestPathTree findShortestPathTree(CompactGraph graph, Vertex source) {
+        ShortestPathTree tree = trees.get(new TreeKey(source.getVertexId(), graph.isTrafficAllowed(), graph.isUndirectedGraph()));
+        return tree == null || tree.getGraph() != graph ? null : tree;
+    }
+
+    /**
+     * Caches a tree, evicting the least recently used trees while there are too many of them or
+     * their vertices exceed the bound. The most recent tree is always kept.
+     *
+     * @param key the key
+     * @param tree the tree
+     */
+    private synchronized void put(TreeKey key, ShortestPathTree tree) {
+        ShortestPathTree previous = trees.put(key, tree);
+        if (previous != null) {
+            cachedVertices -= previous.getGraph().getVertexCount();
+        }
+        cachedVertices += tree.getGraph().getVertexCount();
+        Iterator<Map.Entry<TreeKey, ShortestPathTree>> eldest = trees.entrySet().iterator();
+        while (trees.size() > 1 && (trees.size() > maxTrees || cachedVertices > maxCachedVertices)) {
+            cachedVertices -= eldest.next().getValue().getGraph().getVertexCount();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Gets the number of cached trees.
+     *
+     * @return the size
+     */
+    public synchronized int size() {
+        return trees.size();
+    }
+
+    /**
+     * Gets the number of vertices of all cached trees.
+     *
+     * @return the cached vertices
+     */
+    public synchronized long getCachedVertices() {
+        return cachedVertices;
+    }
+
+    /**
+     * Drops the trees of the old graph.
+     *
+     * @param event the event
+     */
+    @Override
+    public synchronized void onApplicationEvent(GraphChangedEvent event) {
+        trees.clear();
+        cachedVertices = 0;
+    }
+
+    /**
+     * The Class TreeKey.
+     */
+    private static final class TreeKey {
+
+        /** The source vertex id. */
+        private final String sourceId;
+
+        /** The traffic allowed. */
+        private final boolean trafficAllowed;
+
+        /** The undirected graph. */
+        private final boolean undirectedGraph;
+
+        /**
+         * Instantiates a new tree key.
+         *
+         * @param sourceId the source id
+         * @param trafficAllowed the traffic allowed
+         * @param undirectedGraph the undirected graph
+         */
+        TreeKey(String sourceId, boolean trafficAllowed, boolean undirectedGraph) {
+            this.sourceId = sourceId;
+            this.trafficAllowed = trafficAllowed;
+            this.undirectedGraph = undirectedGraph;
+        }
+
+        /* (non-Javadoc)
+         * @see java.lang.Object#equals(java.lang.Object)
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof TreeKey)) {
+                return false;
+            }
+            TreeKey other = (TreeKey) obj;
+            return trafficAllowed == other.trafficAllowed && undirectedGraph == other.undirectedGraph
+                    && (sourceId == null ? other.sourceId == null : sourceId.equals(other.sourceId));
+        }
+
+        /* (non-Javadoc)
+         * @see java.lang.Object#hashCode()
+         */
+        @Override
+        public int hashCode() {
+            int result = sourceId == null ? 0 : sourceId.hashCode();
+            return 31 * (31 * result + (trafficAllowed ? 1 : 0)) + (undirectedGraph ? 1 : 0);
+        }
+    }
+}
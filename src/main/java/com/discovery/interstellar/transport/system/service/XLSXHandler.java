@@ -1,10 +1,22 @@
 package com.discovery.interstellar.transport.system.service;
 
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
 import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Service;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
 import com.discovery.interstellar.transport.system.entity.Edge;
 import com.discovery.interstellar.transport.system.entity.Traffic;
@@ -13,18 +25,54 @@ import com.discovery.interstellar.transport.system.entity.Vertex;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+
 /**
  * The Class XLSXHandler.
+ *
+ * <p>The read methods load the whole workbook into memory and return lists. The stream methods
+ * parse one sheet with the POI event model instead: the rows are read by a SAX parser straight
+ * from the package and handed to a consumer one at a time, so memory stays constant however many
+ * rows the sheet has (only the shared strings table of the workbook is kept). The workbook stream
+ * reads all three sheets from one opened package, parsing them side by side.
  */
 @Service
 public class XLSXHandler {
-    
+
+    /** The Constant VERTEX_SHEET. */
+    private static final int VERTEX_SHEET = 0;
+
+    /** The Constant EDGE_SHEET. */
+    private static final int EDGE_SHEET = 1;
+
+    /** The Constant TRAFFIC_SHEET. */
+    private static final int TRAFFIC_SHEET = 2;
+
+    /** The Constant COLUMN_COUNT, the number of columns read from every sheet. */
+    private static final int COLUMN_COUNT = 4;
+
+    /** The Constant BATCH_SIZE, the number of records a sheet parser hands over at a time. */
+    private static final int BATCH_SIZE = 256;
+
+    /** The Constant MAX_PENDING_BATCHES, after which the sheet parsers wait for the consumers. */
+    private static final int MAX_PENDING_BATCHES = 64;
+
     /** The file. */
     private File file;
 
@@ -197,6 +245,457 @@ public class XLSXHandler {
         return traffics;
     }
 
+    /**
+     * Streams the vertices of the first sheet.
+     *
+     * @param consumer the consumer of the vertices
+     * @throws GraphImportException if the workbook cannot be read or a cell cannot be parsed
+     */
+    public void streamVertexes(Consumer<Vertex> consumer) {
+        streamSheet(VERTEX_SHEET, "vertices", vertexRows(consumer));
+    }
+
+    /**
+     * Streams the edges of the second sheet. Edges are numbered from 1 in row order.
+     *
+     * @param consumer the consumer of the edges
+     * @throws GraphImportException if the workbook cannot be read or a cell cannot be parsed
+     */
+    public void streamEdges(Consumer<Edge> consumer) {
+        streamSheet(EDGE_SHEET, "edges", edgeRows(consumer));
+    }
+
+    /**
+     * Streams the traffics of the third sheet.
+     *
+     * @param consumer the consumer of the traffics
+     * @throws GraphImportException if the workbook cannot be read or a cell cannot be parsed
+     */
+    public void streamTraffics(Consumer<Traffic> consumer) {
+        streamSheet(TRAFFIC_SHEET, "traffics", trafficRows(consumer));
+    }
+
+    /**
+     * Streams the vertices, edges and traffics of the workbook in a single pass. The package,
+     * its shared strings and its styles are read once, and the three sheets are parsed
+     * concurrently on their own threads. The consumers are all called on the calling thread,
+     * which hands them the rows of each sheet in order as the parsers produce them, so they need
+     * not be thread-safe (the daos are bound to the transaction of the calling thread).
+     *
+     * @param vertexConsumer the consumer of the vertices
+     * @param edgeConsumer the consumer of the edges
+     * @param trafficConsumer the consumer of the traffics
+     * @throws GraphImportException if the workbook cannot be read or a cell cannot be parsed
+     */
+    public void streamWorkbook(Consumer<Vertex> vertexConsumer, Consumer<Edge> edgeConsumer, Consumer<Traffic> trafficConsumer) {
+        OPCPackage opcPackage = null;
+        ExecutorService executor = null;
+        try {
+            opcPackage = OPCPackage.open(this.file, PackageAccess.READ);
+            XSSFReader reader = new XSSFReader(opcPackage);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(opcPackage);
+            StylesTable styles = reader.getStylesTable();
+            List<InputStream> sheets = new ArrayList<>();
+            Iterator<InputStream> sheetIterator = reader.getSheetsData();
+            while (sheets.size() <= TRAFFIC_SHEET && sheetIterator.hasNext()) {
+                sheets.add(sheetIterator.next());
+            }
+
+            BlockingQueue<RowBatch<?>> batches = new ArrayBlockingQueue<>(MAX_PENDING_BATCHES);
+            executor = Executors.newFixedThreadPool(sheets.size(), runnable -> {
+                Thread thread = new Thread(runnable, "workbook-reader");
+                thread.setDaemon(true);
+                return thread;
+            });
+            List<Future<?>> parsers = new ArrayList<>();
+            String[] data = {"vertices", "edges", "traffics"};
+            for (int i = 0; i < sheets.size(); i++) {
+                InputStream sheet = sheets.get(i);
+                String sheetData = data[i];
+                BatchingConsumer<?> batching;
+                RowHandler rowHandler;
+                if (i == VERTEX_SHEET) {
+                    BatchingConsumer<Vertex> vertexes = new BatchingConsumer<>(vertexConsumer, batches);
+                    batching = vertexes;
+                    rowHandler = vertexRows(vertexes);
+                } else if (i == EDGE_SHEET) {
+                    BatchingConsumer<Edge> edges = new BatchingConsumer<>(edgeConsumer, batches);
+                    batching = edges;
+                    rowHandler = edgeRows(edges);
+                } else {
+                    BatchingConsumer<Traffic> traffics = new BatchingConsumer<>(trafficConsumer, batches);
+                    batching = traffics;
+                    rowHandler = trafficRows(traffics);
+                }
+                parsers.add(executor.submit(() -> {
+                    try (InputStream in = sheet) {
+                        parseSheet(styles, strings, in, rowHandler);
+                    } catch (IOException | SAXException | ParserConfigurationException | RuntimeException ex) {
+                        throw new GraphImportException("An Exception occurred while reading " + sheetData + " data: " + ex, ex);
+                    } finally {
+                        batching.flush();
+                        batches.put(RowBatch.END);
+                    }
+                    return null;
+                }));
+            }
+            for (int ended = 0; ended < parsers.size(); ) {
+                RowBatch<?> batch = batches.take();
+                if (batch == RowBatch.END) {
+                    ended++;
+                } else {
+                    batch.deliver();
+                }
+            }
+            for (Future<?> parser : parsers) {
+                parser.get();
+            }
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof GraphImportException) {
+                throw (GraphImportException) ex.getCause();
+            }
+            throw new GraphImportException("An Exception occurred while reading workbook data: " + ex.getCause(), ex.getCause());
+        } catch (IOException | OpenXML4JException | SAXException ex) {
+            throw new GraphImportException("An Exception occurred while reading workbook data: " + ex, ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new GraphImportException("Interrupted while reading workbook data", ex);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            // a package opened for reading is closed without saving
+            if (opcPackage != null) {
+                opcPackage.revert();
+            }
+        }
+    }
+
+    /**
+     * Creates the row handler of the vertex sheet.
+     *
+     * @param consumer the consumer of the vertices
+     * @return the row handler
+     */
+    private static RowHandler vertexRows(Consumer<Vertex> consumer) {
+        return (rowNum, values) -> consumer.accept(new Vertex(values[0], values[1]));
+    }
+
+    /**
+     * Creates the row handler of the edge sheet.
+     *
+     * @param consumer the consumer of the edges
+     * @return the row handler
+     */
+    private static RowHandler edgeRows(Consumer<Edge> consumer) {
+        int[] recordId = {1};
+        return (rowNum, values) -> {
+            Edge edge = new Edge();
+            edge.setRecordId(recordId[0]++);
+            edge.setEdgeId(values[0] == null ? null : String.valueOf((int) Double.parseDouble(values[0])));
+            edge.setSource(values[1]);
+            edge.setDestination(values[2]);
+            if (values[3] != null) {
+                edge.setDistance(Float.parseFloat(values[3]));
+            }
+            consumer.accept(edge);
+        };
+    }
+
+    /**
+     * Creates the row handler of the traffic sheet.
+     *
+     * @param consumer the consumer of the traffics
+     * @return the row handler
+     */
+    private static RowHandler trafficRows(Consumer<Traffic> consumer) {
+        return (rowNum, values) -> {
+            Traffic traffic = new Traffic();
+            traffic.setRouteId(values[0] == null ? null : String.valueOf((int) Double.parseDouble(values[0])));
+            traffic.setSource(values[1]);
+            traffic.setDestination(values[2]);
+            if (values[3] != null) {
+                traffic.setDelay(Float.parseFloat(values[3]));
+            }
+            consumer.accept(traffic);
+        };
+    }
+
+    /**
+     * Parses the rows of a sheet after its header row with a SAX parser.
+     *
+     * @param sheetIndex the sheet index
+     * @param data the name of the data, for the error message
+     * @param rowHandler the row handler
+     * @throws GraphImportException if the workbook cannot be read or a cell cannot be parsed
+     */
+    private void streamSheet(int sheetIndex, String data, RowHandler rowHandler) {
+        OPCPackage opcPackage = null;
+        try {
+            opcPackage = OPCPackage.open(this.file, PackageAccess.READ);
+            XSSFReader reader = new XSSFReader(opcPackage);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(opcPackage);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            for (int i = 0; sheets.hasNext(); i++) {
+                try (InputStream sheet = sheets.next()) {
+                    if (i == sheetIndex) {
+                        parseSheet(reader.getStylesTable(), strings, sheet, rowHandler);
+                        return;
+                    }
+                }
+            }
+        } catch (GraphImportException ex) {
+            throw ex;
+        } catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException | RuntimeException ex) {
+            throw new GraphImportException("An Exception occurred while reading " + data + " data: " + ex, ex);
+        } finally {
+            // a package opened for reading is closed without saving
+            if (opcPackage != null) {
+                opcPackage.revert();
+            }
+        }
+    }
+
+    /**
+     * Parses a sheet with the event model sheet handler.
+     *
+     * @param styles the styles of the workbook
+     * @param strings the shared strings of the workbook
+     * @param sheet the sheet data
+     * @param rowHandler the row handler
+     * @throws IOException Signals that an I/O exception has occurred.
+     * @throws SAXException the SAX exception
+     * @throws ParserConfigurationException the parser configuration exception
+     */
+    private static void parseSheet(StylesTable styles, ReadOnlySharedStringsTable strings, InputStream sheet, RowHandler rowHandler)
+            throws IOException, SAXException, ParserConfigurationException {
+        XMLReader parser = newXMLReader();
+        parser.setContentHandler(new XSSFSheetXMLHandler(styles, strings, new SheetRows(rowHandler), new RawValueFormatter(), false));
+        parser.parse(new InputSource(sheet));
+    }
+
+    /**
+     * Creates a namespace aware SAX parser.
+     *
+     * @return the XML reader
+     * @throws SAXException the SAX exception
+     * @throws ParserConfigurationException the parser configuration exception
+     */
+    private static XMLReader newXMLReader() throws SAXException, ParserConfigurationException {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newSAXParser().getXMLReader();
+    }
+
+    /**
+     * Gets the index of the column of a cell reference such as {@code "AB12"}.
+     *
+     * @param cellReference the cell reference
+     * @return the zero based column index
+     */
+    static int columnIndex(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char c = cellReference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    /**
+     * The Interface RowHandler.
+     */
+    private interface RowHandler {
+
+        /**
+         * Handles a row.
+         *
+         * @param rowNum the zero based row number
+         * @param values the values of the first columns, null for empty cells
+         */
+        void row(int rowNum, String[] values);
+    }
+
+    /**
+     * The Class SheetRows.
+     *
+     * <p>Collects the cell values of each row of a sheet into one reused array and hands every row
+     * after the header to a row handler.
+     */
+    private static final class SheetRows implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        /** The row handler. */
+        private final RowHandler rowHandler;
+
+        /** The values of the current row. */
+        private final String[] values = new String[COLUMN_COUNT];
+
+        /** The column of the last cell, for cells without a reference. */
+        private int column;
+
+        /**
+         * Instantiates new sheet rows.
+         *
+         * @param rowHandler the row handler
+         */
+        SheetRows(RowHandler rowHandler) {
+            this.rowHandler = rowHandler;
+        }
+
+        /* (non-Javadoc)
+         * @see org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler#startRow(int)
+         */
+        @Override
+        public void startRow(int rowNum) {
+            Arrays.fill(values, null);
+            column = -1;
+        }
+
+        /* (non-Javadoc)
+         * @see org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler#endRow(int)
+         */
+        @Override
+        public void endRow(int rowNum) {
+            // skip header
+            if (rowNum > 0) {
+                rowHandler.row(rowNum, values);
+            }
+        }
+
+        /* (non-Javadoc)
+         * @see org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler#cell(java.lang.String, java.lang.String, org.apache.poi.xssf.usermodel.XSSFComment)
+         */
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            column = cellReference == null ? column + 1 : columnIndex(cellReference);
+            if (column >= 0 && column < COLUMN_COUNT) {
+                values[column] = formattedValue;
+            }
+        }
+
+        /* (non-Javadoc)
+         * @see org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler#headerFooter(java.lang.String, boolean, java.lang.String)
+         */
+        @Override
+        public void headerFooter(String text, boolean isHeader, String tagName) {
+        }
+    }
+
+    /**
+     * The Class RawValueFormatter.
+     *
+     * <p>Hands numeric cells on unformatted, so that they parse back to the stored value whatever
+     * their display format.
+     */
+    private static final class RawValueFormatter extends DataFormatter {
+
+        /* (non-Javadoc)
+         * @see org.apache.poi.ss.usermodel.DataFormatter#formatRawCellContents(double, int, java.lang.String)
+         */
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            return Double.toString(value);
+        }
+    }
+
+    /**
+     * The Class RowBatch.
+     *
+     * <p>Records parsed from one sheet, waiting to be handed to the consumer of that sheet.
+     *
+     * @param <T> the record type
+     */
+    private static final class RowBatch<T> {
+
+        /** The Constant END, queued by a sheet parser once it has queued all of its records. */
+        static final RowBatch<Object> END = new RowBatch<>(null, new ArrayList<>());
+
+        /** The consumer. */
+        private final Consumer<T> consumer;
+
+        /** The records. */
+        private final List<T> records;
+
+        /**
+         * Instantiates a new row batch.
+         *
+         * @param consumer the consumer
+         * @param records the records
+         */
+        RowBatch(Consumer<T> consumer, List<T> records) {
+            this.consumer = consumer;
+            this.records = records;
+        }
+
+        /**
+         * Hands the records to the consumer.
+         */
+        void deliver() {
+            records.forEach(consumer);
+        }
+    }
+
+    /**
+     * The Class BatchingConsumer.
+     *
+     * <p>Collects the records of a sheet parser into batches and queues them for the thread that
+     * owns the consumer.
+     *
+     * @param <T> the record type
+     */
+    private static final class BatchingConsumer<T> implements Consumer<T> {
+
+        /** The consumer. */
+        private final Consumer<T> consumer;
+
+        /** The queue of batches. */
+        private final BlockingQueue<RowBatch<?>> batches;
+
+        /** The records of the current batch. */
+        private List<T> records = new ArrayList<>(BATCH_SIZE);
+
+        /**
+         * Instantiates a new batching consumer.
+         *
+         * @param consumer the consumer
+         * @param batches the queue of batches
+         */
+        BatchingConsumer(Consumer<T> consumer, BlockingQueue<RowBatch<?>> batches) {
+            this.consumer = consumer;
+            this.batches = batches;
+        }
+
+        /* (non-Javadoc)
+         * @see java.util.function.Consumer#accept(java.lang.Object)
+         */
+        @Override
+        public void accept(T record) {
+            records.add(record);
+            if (records.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        /**
+         * Queues the current batch, waiting while the queue is full.
+         */
+        void flush() {
+            if (records.isEmpty()) {
+                return;
+            }
+            try {
+                batches.put(new RowBatch<>(consumer, records));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while queueing rows", ex);
+            }
+            records = new ArrayList<>(BATCH_SIZE);
+        }
+    }
+
     /**
      * Gets the cell value.
      *
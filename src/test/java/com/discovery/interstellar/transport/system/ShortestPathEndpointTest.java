@@ -19,6 +19,10 @@ import com.discovery.interstellar.transport.system.dao.VertexDao;
 import com.discovery.interstellar.transport.system.schema.GetShortestPathRequest;
 import com.discovery.interstellar.transport.system.schema.GetShortestPathResponse;
 import com.discovery.interstellar.transport.system.service.EntityManagerService;
+import com.discovery.interstellar.transport.system.service.RouteCache;
+import com.discovery.interstellar.transport.system.service.RoutingIndexService;
+import com.discovery.interstellar.transport.system.service.ShortestPathService;
+import com.discovery.interstellar.transport.system.service.ShortestPathTreeCache;
 
 import static com.shazam.shazamcrest.MatcherAssert.assertThat;
 import static com.shazam.shazamcrest.matcher.Matchers.sameBeanAs;
@@ -26,7 +30,8 @@ import static com.shazam.shazamcrest.matcher.Matchers.sameBeanAs;
 
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration(classes = {DatasourceBean.class, PersistenceBean.class, WebServiceBean.class,
-        ShortestPathEndpoint.class, ShortestPathRepository.class, EntityManagerService.class, EdgeDao.class, VertexDao.class,
+        ShortestPathEndpoint.class, ShortestPathRepository.class, EntityManagerService.class, ShortestPathService.class, RoutingIndexService.class, RouteCache.class,
+        ShortestPathTreeCache.class, EdgeDao.class, VertexDao.class,
         TrafficDao.class},
         loader = AnnotationConfigContextLoader.class)
 @Ignore
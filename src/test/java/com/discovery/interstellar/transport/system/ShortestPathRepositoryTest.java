@@ -18,7 +18,12 @@ import com.discovery.interstellar.transport.system.entity.Edge;
 import com.discovery.interstellar.transport.system.entity.Traffic;
 import com.discovery.interstellar.transport.system.entity.Vertex;
 import com.discovery.interstellar.transport.system.helper.Graph;
+import com.discovery.interstellar.transport.system.routing.GraphSnapshot;
+import com.discovery.interstellar.transport.system.schema.Destination;
+import com.discovery.interstellar.transport.system.schema.Route;
 import com.discovery.interstellar.transport.system.service.EntityManagerService;
+import com.discovery.interstellar.transport.system.service.RouteCache;
+import com.discovery.interstellar.transport.system.service.ShortestPathService;
 
 import java.util.ArrayList;
 import java.util.LinkedList;
@@ -26,6 +31,8 @@ import java.util.List;
 
 import static com.shazam.shazamcrest.MatcherAssert.assertThat;
 import static com.shazam.shazamcrest.matcher.Matchers.sameBeanAs;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -64,12 +71,11 @@ public class ShortestPathRepositoryTest {
         LinkedList<Vertex> pathList = new LinkedList<>();
         pathList.add(expectedSource);
         pathList.add(expectedDestination);
-        when(entityManagerService.selectGraph()).thenReturn(graph);
-        when(entityManagerService.getVertexByName(expectedDestination.getName())).thenReturn(expectedDestination);
-        when(entityManagerService.getVertexById(expectedDestination.getVertexId())).thenReturn(expectedDestination);
+        when(entityManagerService.getGraphSnapshot()).thenReturn(new GraphSnapshot(1, graph));
 
         path.append("Earth (A)\tPluto (F)\t");
-        ShortestPathRepository pathRepository = new ShortestPathRepository(platformTransactionManager, entityManagerService);
+        ShortestPathService shortestPathService = new ShortestPathService();
+        ShortestPathRepository pathRepository = new ShortestPathRepository(platformTransactionManager, entityManagerService, shortestPathService, new RouteCache(shortestPathService));
 
         // Test
         pathRepository.initData();
@@ -78,4 +84,81 @@ public class ShortestPathRepositoryTest {
         //Verify
         assertThat(actualPath, sameBeanAs(path.toString()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void verifyThatBatchGivesOneRoutePerDestination() throws Exception {
+
+        // SetUp Fixture
+        EntityManagerService entityManagerService = mock(EntityManagerService.class);
+
+        List<Vertex> vertices = new ArrayList<>();
+        vertices.add(new Vertex("A", "Earth"));
+        vertices.add(new Vertex("B", "Moon"));
+        vertices.add(new Vertex("C", "Mars"));
+        List<Edge> edges = new ArrayList<>();
+        edges.add(new Edge(1, "1", "A", "B", 1f));
+        edges.add(new Edge(2, "2", "B", "C", 2f));
+        Graph graph = new Graph(vertices, edges, new ArrayList<Traffic>());
+        when(entityManagerService.getGraphSnapshot()).thenReturn(new GraphSnapshot(1, graph));
+        ShortestPathService shortestPathService = new ShortestPathService();
+        ShortestPathRepository pathRepository = new ShortestPathRepository(platformTransactionManager, entityManagerService, shortestPathService, new RouteCache(shortestPathService));
+
+        List<Destination> destinations = new ArrayList<>();
+        destinations.add(destination("Mars", null));
+        destinations.add(destination("Moon", null));
+        destinations.add(destination("Mars", "Moon"));
+        destinations.add(destination("Earth", "Mars"));
+        destinations.add(destination("Venus", null));
+
+        // Test
+        List<Route> routes = pathRepository.getShortestPaths(null, destinations, false, false);
+
+        //Verify
+        assertEquals(5, routes.size());
+        assertEquals("Earth (A)\tMoon (B)\tMars (C)\t", routes.get(0).getPath());
+        assertEquals(3f, routes.get(0).getCost(), 0f);
+        assertEquals("Earth (A)\tMoon (B)\t", routes.get(1).getPath());
+        assertEquals("Moon", routes.get(2).getSource());
+        assertEquals("Moon (B)\tMars (C)\t", routes.get(2).getPath());
+        assertEquals("There is no path to Earth.", routes.get(3).getPath());
+        assertNull(routes.get(3).getCost());
+        assertEquals("Venus does not exist in the Interstellar Transport System.", routes.get(4).getPath());
+    }
+
+    @Test
+    public void verifyThatKShortestPathsAreOrderedByCost() throws Exception {
+
+        // SetUp Fixture
+        EntityManagerService entityManagerService = mock(EntityManagerService.class);
+
+        List<Vertex> vertices = new ArrayList<>();
+        vertices.add(new Vertex("A", "Earth"));
+        vertices.add(new Vertex("B", "Moon"));
+        vertices.add(new Vertex("C", "Mars"));
+        List<Edge> edges = new ArrayList<>();
+        edges.add(new Edge(1, "1", "A", "B", 1f));
+        edges.add(new Edge(2, "2", "B", "C", 2f));
+        edges.add(new Edge(3, "3", "A", "C", 5f));
+        Graph graph = new Graph(vertices, edges, new ArrayList<Traffic>());
+        when(entityManagerService.getGraphSnapshot()).thenReturn(new GraphSnapshot(1, graph));
+        ShortestPathService shortestPathService = new ShortestPathService();
+        ShortestPathRepository pathRepository = new ShortestPathRepository(platformTransactionManager, entityManagerService, shortestPathService, new RouteCache(shortestPathService));
+
+        // Test
+        List<Route> routes = pathRepository.getKShortestPaths(null, "Mars", 5, false, false);
+
+        //Verify
+        assertEquals(2, routes.size());
+        assertEquals("Earth (A)\tMoon (B)\tMars (C)\t", routes.get(0).getPath());
+        assertEquals(3f, routes.get(0).getCost(), 0f);
+        assertEquals("Earth (A)\tMars (C)\t", routes.get(1).getPath());
+        assertEquals(5f, routes.get(1).getCost(), 0f);
+    }
+
+    private static Destination destination(String name, String source) {
+        Destination destination = new Destination();
+        destination.setName(name);
+        destination.setSource(source);
+        return destination;
+    }
+}
@@ -15,11 +15,18 @@ import com.discovery.interstellar.transport.system.entity.Edge;
 import com.discovery.interstellar.transport.system.entity.Traffic;
 import com.discovery.interstellar.transport.system.entity.Vertex;
 import com.discovery.interstellar.transport.system.helper.Graph;
+import com.discovery.interstellar.transport.system.model.DistanceMatrixModel;
 import com.discovery.interstellar.transport.system.model.ShortestPathModel;
+import com.discovery.interstellar.transport.system.routing.CompactGraph;
+import com.discovery.interstellar.transport.system.routing.GraphSnapshot;
+import com.discovery.interstellar.transport.system.routing.RouteResult;
+import com.discovery.interstellar.transport.system.routing.SearchAlgorithm;
 import com.discovery.interstellar.transport.system.service.EntityManagerService;
+import com.discovery.interstellar.transport.system.service.RouteCache;
 import com.discovery.interstellar.transport.system.service.ShortestPathService;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -42,6 +49,8 @@ public class InterstellarControllerTest {
     private EntityManagerService entityManagerService;
     @Mock
     private ShortestPathService shortestPathService;
+    @Mock
+    private RouteCache routeCache;
     private List<Vertex> vertices;
     private List<Edge> edges;
     private List<Traffic> traffics;
@@ -537,26 +546,92 @@ public class InterstellarControllerTest {
         pathList.add(expectedSource);
         pathList.add(step);
         pathList.add(expectedDestination);
-        when(entityManagerService.selectGraph()).thenReturn(graph);
-        when(entityManagerService.getVertexByName("A")).thenReturn(expectedSource);
-        when(entityManagerService.getVertexById("E")).thenReturn(expectedDestination);
-        when(shortestPathService.getPath(expectedDestination)).thenReturn(pathList);
+        when(entityManagerService.getGraphSnapshot()).thenReturn(new GraphSnapshot(1, graph));
+        when(routeCache.findRoute(any(GraphSnapshot.class), eq(expectedSource), eq(expectedDestination), eq(false), eq(false), eq(SearchAlgorithm.BIDIRECTIONAL))).thenReturn(new RouteResult(pathList, 3.89f));
 
         path.append("Earth (A)\tMoon (B)\tMars (E)\t");
         ShortestPathModel pathModel = new ShortestPathModel();
         pathModel.setThePath(path.toString());
+        pathModel.setTotalCost(3.89f);
         pathModel.setSelectedVertexName(expectedDestination.getName());
         pathModel.setSelectedVertex("E");
         pathModel.setVertexId("A");
         pathModel.setVertexName("Earth");
+        pathModel.setAlgorithm("BIDIRECTIONAL");
 
         //Verify
-        mockMvc.perform(post("/shortest").param("vertexId", "A").param("vertexName", "Earth").param("selectedVertex", "E").param("trafficAllowed", "false").param("undirectedGraph", "false"))
+        mockMvc.perform(post("/shortest").param("vertexId", "A").param("vertexName", "Earth").param("selectedVertex", "E").param("trafficAllowed", "false").param("undirectedGraph", "false").param("algorithm", "BIDIRECTIONAL"))
                 .andExpect(status().isOk())
                 .andExpect(model().attribute("shortest", sameBeanAs(pathModel)))
                 .andExpect(view().name("result"));
     }
 
+    @Test
+    public void verifyThatAllRoutesViewAndModelIsCorrect() throws Exception {
+        //Set
+        Graph graph = new Graph(vertices, edges, traffics);
+        final Vertex expectedSource = vertices.get(0);
+        when(entityManagerService.getGraphSnapshot()).thenReturn(new GraphSnapshot(1, graph));
+        when(shortestPathService.getShortestPathTree(any(CompactGraph.class), eq(expectedSource))).thenAnswer(
+                invocation -> new ShortestPathService().computeShortestPathTree((CompactGraph) invocation.getArguments()[0], expectedSource));
+
+        List<ShortestPathModel> routes = new ArrayList<>();
+        routes.add(route("Moon", "B", "Earth (A)\tMoon (B)\t", 0.44f));
+        routes.add(route("Jupiter", "C", "Earth (A)\tJupiter (C)\t", 1.89f));
+        routes.add(route("Venus", "D", "Earth (A)\tVenus (D)\t", 0.10f));
+        routes.add(route("Mars", "E", "Earth (A)\tMoon (B)\tMars (E)\t", 0.44f + 3.45f));
+
+        //Verify
+        mockMvc.perform(post("/routes").param("vertexName", "Earth").param("trafficAllowed", "false").param("undirectedGraph", "false"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("routes", sameBeanAs(routes)))
+                .andExpect(view().name("routes"));
+    }
+
+    @Test
+    public void verifyThatAllRoutesFromUnknownPlanetViewAndModelIsCorrect() throws Exception {
+        //Set
+        Graph graph = new Graph(vertices, edges, traffics);
+        when(entityManagerService.getGraphSnapshot()).thenReturn(new GraphSnapshot(1, graph));
+        String message = "Pluto does not exist in the Interstellar Transport System.";
+
+        //Verify
+        mockMvc.perform(post("/routes").param("vertexName", "Pluto"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("validationMessage", sameBeanAs(message)))
+                .andExpect(view().name("validation"));
+    }
+
+    private static ShortestPathModel route(String destinationName, String destinationId, String path, float cost) {
+        ShortestPathModel route = new ShortestPathModel();
+        route.setVertexName("Earth");
+        route.setSelectedVertex(destinationId);
+        route.setSelectedVertexName(destinationName);
+        route.setThePath(path);
+        route.setTotalCost(cost);
+        return route;
+    }
+
+    @Test
+    public void verifyThatDistanceMatrixModelIsCorrect() throws Exception {
+        //Set
+        Graph graph = new Graph(vertices, edges, traffics);
+        when(entityManagerService.getGraphSnapshot()).thenReturn(new GraphSnapshot(1, graph));
+        float[][] table = {{0.44f, Float.POSITIVE_INFINITY}, {Float.POSITIVE_INFINITY, 3.45f}};
+        when(shortestPathService.getDistanceTable(any(CompactGraph.class), eq(Arrays.asList(vertices.get(0), null)), eq(Arrays.asList(vertices.get(1), vertices.get(4))))).thenReturn(table);
+
+        DistanceMatrixModel expected = new DistanceMatrixModel();
+        expected.setSources(Arrays.asList("A", "X"));
+        expected.setDestinations(Arrays.asList("B", "E"));
+        expected.setDistances(new Float[][]{{0.44f, null}, {null, 3.45f}});
+
+        //Test
+        DistanceMatrixModel actual = controller.distanceMatrix(Arrays.asList("A", "X"), Arrays.asList("B", "E"), true, false);
+
+        //Verify
+        assertThat(actual, sameBeanAs(expected));
+    }
+
     public void setUpFixture() {
         mockMvc = standaloneSetup(
                 new InterstellarController(entityManagerService, shortestPathService)
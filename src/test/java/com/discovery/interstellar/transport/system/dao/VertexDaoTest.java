@@ -61,6 +61,26 @@ public class VertexDaoTest {
         session.getTransaction().rollback();
     }
 
+    @Test
+    public void verifyThatSaveBatchOfVertexesIsCorrect() throws Exception {
+        //Set
+        Session session = sessionFactory.getCurrentSession();
+        List<Vertex> expectedVertexes = new ArrayList<>();
+        expectedVertexes.add(new Vertex("A", "Earth"));
+        expectedVertexes.add(new Vertex("B", "Moon"));
+
+        //Test
+        vertexDao.saveBatch(expectedVertexes);
+        Criteria criteria = session.createCriteria(Vertex.class);
+        List<Vertex> persistedVertexes = (List<Vertex>) criteria.list();
+
+        //Verify
+        assertThat(persistedVertexes, sameBeanAs(expectedVertexes));
+        assertEquals(false, session.contains(expectedVertexes.get(0)));
+        //Rollback for testing purpose
+        session.getTransaction().rollback();
+    }
+
     @Test
     public void verifyThatUpdateVertexIsCorrect() throws Exception {
         //Set
@@ -0,0 +1,48 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import org.junit.Test;
+
+import com.discovery.interstellar.transport.system.helper.Graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AltEngineTest {
+
+    @Test
+    public void verifyThatRoutesMatchDijkstra() throws Exception {
+        for (long seed = 1; seed <= 12; seed++) {
+            //Set
+            Graph source = DijkstraEngineTest.randomGraph(seed, 50, 140);
+            source.setTrafficAllowed(seed % 2 == 0);
+            source.setUndirectedGraph(seed % 3 == 0);
+            CompactGraph graph = CompactGraph.fromGraph(source);
+            DijkstraEngine dijkstra = new DijkstraEngine(graph);
+            AltEngine alt = new AltEngine(LandmarkIndex.build(graph, 4));
+
+            for (int s = 0; s < 5; s++) {
+                for (int t = 0; t < graph.getVertexCount(); t++) {
+                    //Test
+                    RouteResult expected = dijkstra.route(s, t);
+                    RouteResult actual = alt.route(s, t);
+
+                    //Verify
+                    assertEquals(expected.isReachable(), actual.isReachable());
+                    assertEquals(expected.getCost(), actual.getCost(), 0.001f);
+                    if (s != t && actual.isReachable()) {
+                        assertEquals(actual.getCost(), BidirectionalDijkstraEngineTest.pathCost(graph, actual.getPath()), 0.001f);
+                    } else {
+                        assertNull(actual.getPath());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void verifyThatUnknownVerticesAreUnreachable() throws Exception {
+        CompactGraph graph = CompactGraph.fromGraph(DijkstraEngineTest.randomGraph(3, 10, 20));
+        assertTrue(!new AltEngine(LandmarkIndex.build(graph)).route(-1, 0).isReachable());
+    }
+}
@@ -0,0 +1,73 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import org.junit.Test;
+
+import com.discovery.interstellar.transport.system.entity.Vertex;
+import com.discovery.interstellar.transport.system.helper.Graph;
+
+import java.util.LinkedList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BidirectionalDijkstraEngineTest {
+
+    static float pathCost(CompactGraph graph, LinkedList<Vertex> path) {
+        float cost = 0f;
+        Vertex previous = null;
+        for (Vertex vertex : path) {
+            if (previous != null) {
+                int from = graph.indexOf(previous.getVertexId());
+                int to = graph.indexOf(vertex.getVertexId());
+                float best = Float.POSITIVE_INFINITY;
+                for (int arc = graph.beginArc(from); arc < graph.endArc(from); arc++) {
+                    if (graph.arcTarget(arc) == to) {
+                        best = Math.min(best, graph.arcWeight(arc));
+                    }
+                }
+                cost += best;
+            }
+            previous = vertex;
+        }
+        return cost;
+    }
+
+    @Test
+    public void verifyThatRoutesMatchDijkstra() throws Exception {
+        for (long seed = 1; seed <= 12; seed++) {
+            //Set
+            Graph source = DijkstraEngineTest.randomGraph(seed, 50, 140);
+            source.setTrafficAllowed(seed % 2 == 0);
+            source.setUndirectedGraph(seed % 3 == 0);
+            CompactGraph graph = CompactGraph.fromGraph(source);
+            DijkstraEngine dijkstra = new DijkstraEngine(graph);
+            BidirectionalDijkstraEngine bidirectional = new BidirectionalDijkstraEngine(graph);
+
+            for (int s = 0; s < 5; s++) {
+                for (int t = 0; t < graph.getVertexCount(); t++) {
+                    //Test
+                    RouteResult expected = dijkstra.route(s, t);
+                    RouteResult actual = bidirectional.route(s, t);
+
+                    //Verify
+                    assertEquals(expected.isReachable(), actual.isReachable());
+                    assertEquals(expected.getCost(), actual.getCost(), 0.001f);
+                    if (s != t && actual.isReachable()) {
+                        assertEquals(s, graph.indexOf(actual.getPath().getFirst().getVertexId()));
+                        assertEquals(t, graph.indexOf(actual.getPath().getLast().getVertexId()));
+                        assertEquals(actual.getCost(), pathCost(graph, actual.getPath()), 0.001f);
+                    } else {
+                        assertNull(actual.getPath());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void verifyThatUnknownVerticesAreUnreachable() throws Exception {
+        CompactGraph graph = CompactGraph.fromGraph(DijkstraEngineTest.randomGraph(3, 10, 20));
+        assertTrue(!new BidirectionalDijkstraEngine(graph).route(0, -1).isReachable());
+    }
+}
@@ -0,0 +1,175 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import org.junit.Test;
+
+import com.discovery.interstellar.transport.system.entity.Edge;
+import com.discovery.interstellar.transport.system.entity.Traffic;
+import com.discovery.interstellar.transport.system.entity.Vertex;
+import com.discovery.interstellar.transport.system.helper.Graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CompactGraphTest {
+
+    private Graph buildGraph() {
+        List<Vertex> vertices = new ArrayList<>();
+        vertices.add(new Vertex("A", "Earth"));
+        vertices.add(new Vertex("B", "Moon"));
+        vertices.add(new Vertex("C", "Jupiter"));
+
+        List<Edge> edges = new ArrayList<>();
+        edges.add(new Edge(1, "1", "A", "B", 0.44f));
+        edges.add(new Edge(2, "2", "A", "C", 1.89f));
+        edges.add(new Edge(3, "3", "B", "X", 0.10f));
+
+        List<Traffic> traffics = new ArrayList<>();
+        traffics.add(new Traffic("1", "A", "B", 0.30f));
+
+        return new Graph(vertices, edges, traffics);
+    }
+
+    @Test
+    public void verifyThatDirectedAdjacencyIsCorrect() throws Exception {
+        //Test
+        CompactGraph graph = CompactGraph.fromGraph(buildGraph());
+
+        //Verify
+        assertEquals(4, graph.getVertexCount());
+        assertEquals(3, graph.getArcCount());
+        int a = graph.indexOf("A");
+        assertEquals(2, graph.endArc(a) - graph.beginArc(a));
+        assertEquals(graph.indexOf("B"), graph.arcTarget(graph.beginArc(a)));
+        assertEquals(0.44f, graph.arcWeight(graph.beginArc(a)), 0.0001f);
+        assertEquals(graph.indexOf("C"), graph.arcTarget(graph.beginArc(a) + 1));
+        int c = graph.indexOf("C");
+        assertEquals(0, graph.endArc(c) - graph.beginArc(c));
+    }
+
+    @Test
+    public void verifyThatUnknownEndPointsBecomeIslands() throws Exception {
+        //Test
+        CompactGraph graph = CompactGraph.fromGraph(buildGraph());
+
+        //Verify
+        int x = graph.indexOf("X");
+        assertEquals(3, x);
+        assertEquals("Island X", graph.getVertex(x).getName());
+        assertEquals(-1, graph.indexOf("Z"));
+    }
+
+    @Test
+    public void verifyThatTrafficAndUndirectedOptionsAreApplied() throws Exception {
+        //Set
+        Graph source = buildGraph();
+        source.setTrafficAllowed(true);
+        source.setUndirectedGraph(true);
+
+        //Test
+        CompactGraph graph = CompactGraph.fromGraph(source);
+
+        //Verify
+        assertEquals(6, graph.getArcCount());
+        int b = graph.indexOf("B");
+        assertEquals(2, graph.endArc(b) - graph.beginArc(b));
+        assertEquals(graph.indexOf("A"), graph.arcTarget(graph.endArc(b) - 1));
+        assertEquals(0.74f, graph.arcWeight(graph.endArc(b) - 1), 0.0001f);
+    }
+
+    @Test
+    public void verifyThatReverseAdjacencyIsCorrect() throws Exception {
+        //Test
+        CompactGraph graph = CompactGraph.fromGraph(buildGraph());
+
+        //Verify
+        int b = graph.indexOf("B");
+        assertEquals(1, graph.endReverseArc(b) - graph.beginReverseArc(b));
+        assertEquals(graph.indexOf("A"), graph.reverseArcSource(graph.beginReverseArc(b)));
+        assertEquals(0.44f, graph.reverseArcWeight(graph.beginReverseArc(b)), 0.0001f);
+        int a = graph.indexOf("A");
+        assertEquals(0, graph.endReverseArc(a) - graph.beginReverseArc(a));
+    }
+
+    @Test
+    public void verifyThatFingerprintIdentifiesTheGraph() throws Exception {
+        //Set
+        Graph undirected = buildGraph();
+        undirected.setUndirectedGraph(true);
+
+        //Test
+        long first = CompactGraph.fromGraph(buildGraph()).fingerprint();
+        long second = CompactGraph.fromGraph(buildGraph()).fingerprint();
+        long other = CompactGraph.fromGraph(undirected).fingerprint();
+
+        //Verify
+        assertEquals(first, second);
+        assertTrue(first != other);
+    }
+
+    @Test
+    public void verifyThatTrafficOnlyReplacesTheWeights() throws Exception {
+        //Set
+        Graph source = buildGraph();
+        source.setUndirectedGraph(true);
+        CompactGraph plain = CompactGraph.fromGraph(source);
+
+        //Test
+        CompactGraph traffic = plain.withTraffic(TrafficOverlay.build(source.getEdges(), source.getTraffics()));
+
+        //Verify
+        assertTrue(traffic.isTrafficAllowed());
+        assertEquals(plain.getArcCount(), traffic.getArcCount());
+        int a = traffic.indexOf("A");
+        int b = traffic.indexOf("B");
+        assertEquals(0.74f, traffic.arcWeight(traffic.beginArc(a)), 0.0001f);
+        assertEquals(0.74f, traffic.arcWeight(traffic.endArc(b) - 1), 0.0001f);
+        assertEquals(0.74f, traffic.reverseArcWeight(traffic.endReverseArc(b) - 1), 0.0001f);
+        assertEquals(1.89f, traffic.arcWeight(traffic.beginArc(a) + 1), 0.0001f);
+        assertEquals(0.44f, plain.arcWeight(plain.beginArc(a)), 0.0001f);
+        assertEquals(0f, source.getEdges().get(0).getTimeDelay(), 0f);
+    }
+
+    @Test
+    public void verifyThatUndirectedViewSharesTheArcs() throws Exception {
+        //Set
+        CompactGraph directed = CompactGraph.fromGraph(buildGraph());
+
+        //Test
+        CompactGraph undirected = directed.undirectedView();
+
+        //Verify
+        assertTrue(undirected.isUndirectedGraph());
+        assertEquals(6, undirected.getArcCount());
+        int b = undirected.indexOf("B");
+        assertEquals(undirected.beginArc(b), undirected.beginReverseArc(b));
+        assertEquals(undirected.endArc(b), undirected.endReverseArc(b));
+        assertEquals(directed.beginArc(b), undirected.beginArc(b));
+        assertEquals(directed.endReverseArc(b), undirected.endArc(b));
+        assertSame(undirected, undirected.undirectedView());
+    }
+
+    @Test
+    public void verifyThatVertexIdsAreMatchedIgnoringCase() throws Exception {
+        //Set
+        List<Vertex> vertices = new ArrayList<>();
+        vertices.add(new Vertex("A", "Earth"));
+        vertices.add(new Vertex("B", "Moon"));
+        List<Edge> edges = new ArrayList<>();
+        edges.add(new Edge(1, "1", "a", "b", 0.44f));
+        edges.add(new Edge(2, "2", "b", "x", 0.10f));
+
+        //Test
+        CompactGraph graph = CompactGraph.fromGraph(new Graph(vertices, edges, new ArrayList<Traffic>()));
+
+        //Verify
+        assertEquals(3, graph.getVertexCount());
+        assertEquals(graph.indexOf("B"), graph.arcTarget(graph.beginArc(graph.indexOf("A"))));
+        assertEquals(0, graph.indexOf("a"));
+        assertSame(graph.getVertex(2), graph.getVertexOrIsland("X"));
+        assertEquals("Island Z", graph.getVertexOrIsland("Z").getName());
+    }
+}
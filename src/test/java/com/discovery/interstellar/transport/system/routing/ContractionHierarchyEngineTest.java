@@ -0,0 +1,50 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import org.junit.Test;
+
+import com.discovery.interstellar.transport.system.helper.Graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ContractionHierarchyEngineTest {
+
+    @Test
+    public void verifyThatRoutesMatchDijkstra() throws Exception {
+        for (long seed = 1; seed <= 12; seed++) {
+            //Set
+            Graph source = DijkstraEngineTest.randomGraph(seed, 60, 160);
+            source.setTrafficAllowed(seed % 2 == 0);
+            source.setUndirectedGraph(seed % 3 == 0);
+            CompactGraph graph = CompactGraph.fromGraph(source);
+            DijkstraEngine dijkstra = new DijkstraEngine(graph);
+            ContractionHierarchyEngine engine = new ContractionHierarchyEngine(ContractionHierarchy.build(graph));
+
+            for (int s = 0; s < graph.getVertexCount(); s += 3) {
+                for (int t = 0; t < graph.getVertexCount(); t++) {
+                    //Test
+                    RouteResult expected = dijkstra.route(s, t);
+                    RouteResult actual = engine.route(s, t);
+
+                    //Verify
+                    assertEquals(expected.isReachable(), actual.isReachable());
+                    assertEquals(expected.getCost(), actual.getCost(), 0.001f);
+                    if (s != t && actual.isReachable()) {
+                        assertEquals(s, graph.indexOf(actual.getPath().getFirst().getVertexId()));
+                        assertEquals(t, graph.indexOf(actual.getPath().getLast().getVertexId()));
+                        assertEquals(actual.getCost(), BidirectionalDijkstraEngineTest.pathCost(graph, actual.getPath()), 0.001f);
+                    } else {
+                        assertNull(actual.getPath());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void verifyThatUnknownVerticesAreUnreachable() throws Exception {
+        CompactGraph graph = CompactGraph.fromGraph(DijkstraEngineTest.randomGraph(3, 10, 20));
+        assertTrue(!new ContractionHierarchyEngine(ContractionHierarchy.build(graph)).route(0, -1).isReachable());
+    }
+}
@@ -0,0 +1,48 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ContractionHierarchyTest {
+
+    @Test
+    public void verifyThatRanksArePermutation() throws Exception {
+        //Set
+        CompactGraph graph = CompactGraph.fromGraph(DijkstraEngineTest.randomGraph(7, 200, 600));
+
+        //Test
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+
+        //Verify
+        boolean[] seen = new boolean[graph.getVertexCount()];
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            int rank = hierarchy.getRank(v);
+            assertTrue(!seen[rank]);
+            seen[rank] = true;
+        }
+    }
+
+    @Test
+    public void verifyThatArcsOnlyClimbTheHierarchy() throws Exception {
+        //Set
+        CompactGraph graph = CompactGraph.fromGraph(DijkstraEngineTest.randomGraph(11, 200, 600));
+
+        //Test
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+
+        //Verify
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            for (int arc = hierarchy.beginUpArc(v); arc < hierarchy.endUpArc(v); arc++) {
+                int target = hierarchy.upArcTarget(arc);
+                assertTrue(hierarchy.getRank(target) > hierarchy.getRank(v) || hierarchy.isCore(v) && hierarchy.isCore(target));
+            }
+            for (int arc = hierarchy.beginDownArc(v); arc < hierarchy.endDownArc(v); arc++) {
+                int source = hierarchy.downArcSource(arc);
+                assertTrue(hierarchy.getRank(source) > hierarchy.getRank(v) || hierarchy.isCore(v) && hierarchy.isCore(source));
+            }
+        }
+        assertEquals(graph, hierarchy.getGraph());
+    }
+}
@@ -0,0 +1,173 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import org.junit.Test;
+
+import com.discovery.interstellar.transport.system.entity.Edge;
+import com.discovery.interstellar.transport.system.entity.Traffic;
+import com.discovery.interstellar.transport.system.entity.Vertex;
+import com.discovery.interstellar.transport.system.helper.Graph;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DijkstraEngineTest {
+
+    static Graph randomGraph(long seed, int vertexCount, int edgeCount) {
+        Random random = new Random(seed);
+        List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < vertexCount; i++) {
+            vertices.add(new Vertex("V" + i, "Planet " + i));
+        }
+        List<Edge> edges = new ArrayList<>();
+        List<Traffic> traffics = new ArrayList<>();
+        for (int i = 0; i < edgeCount; i++) {
+            String source = "V" + random.nextInt(vertexCount);
+            String destination = "V" + random.nextInt(vertexCount);
+            edges.add(new Edge(i + 1, String.valueOf(i + 1), source, destination, 1 + random.nextInt(20) / 4f));
+            if (random.nextInt(4) == 0) {
+                traffics.add(new Traffic(String.valueOf(i + 1), source, destination, random.nextInt(8) / 2f));
+            }
+        }
+        return new Graph(vertices, edges, traffics);
+    }
+
+    static float[] bellmanFord(CompactGraph graph, int source) {
+        float[] distance = new float[graph.getVertexCount()];
+        java.util.Arrays.fill(distance, Float.POSITIVE_INFINITY);
+        distance[source] = 0f;
+        for (int round = 0; round < graph.getVertexCount(); round++) {
+            boolean changed = false;
+            for (int v = 0; v < graph.getVertexCount(); v++) {
+                for (int arc = graph.beginArc(v); arc < graph.endArc(v); arc++) {
+                    float candidate = distance[v] + graph.arcWeight(arc);
+                    if (candidate < distance[graph.arcTarget(arc)]) {
+                        distance[graph.arcTarget(arc)] = candidate;
+                        changed = true;
+                    }
+                }
+            }
+            if (!changed) {
+                break;
+            }
+        }
+        return distance;
+    }
+
+    @Test
+    public void verifyThatShortestPathTreeIsCorrect() throws Exception {
+        //Set
+        List<Vertex> vertices = new ArrayList<>();
+        vertices.add(new Vertex("A", "Earth"));
+        vertices.add(new Vertex("B", "Moon"));
+        vertices.add(new Vertex("C", "Jupiter"));
+        vertices.add(new Vertex("D", "Venus"));
+        List<Edge> edges = new ArrayList<>();
+        edges.add(new Edge(1, "1", "A", "B", 1f));
+        edges.add(new Edge(2, "2", "B", "C", 1f));
+        edges.add(new Edge(3, "3", "A", "C", 3f));
+        CompactGraph graph = CompactGraph.fromGraph(new Graph(vertices, edges, new ArrayList<Traffic>()));
+
+        //Test
+        ShortestPathTree tree = new DijkstraEngine(graph).shortestPathTree(graph.indexOf("A"));
+        LinkedList<Vertex> path = tree.getPath(vertices.get(2));
+
+        //Verify
+        assertEquals(3, path.size());
+        assertEquals("A", path.get(0).getVertexId());
+        assertEquals("B", path.get(1).getVertexId());
+        assertEquals("C", path.get(2).getVertexId());
+        assertEquals(2f, tree.getDistance(graph.indexOf("C")), 0f);
+        assertTrue(!tree.isReachable(graph.indexOf("D")));
+        assertNull(tree.getPath(vertices.get(3)));
+        assertNull(tree.getPath(vertices.get(0)));
+    }
+
+    @Test
+    public void verifyThatDistancesMatchBellmanFord() throws Exception {
+        for (long seed = 1; seed <= 20; seed++) {
+            //Set
+            Graph source = randomGraph(seed, 40, 120);
+            source.setTrafficAllowed(seed % 2 == 0);
+            source.setUndirectedGraph(seed % 3 == 0);
+            CompactGraph graph = CompactGraph.fromGraph(source);
+
+            //Test
+            ShortestPathTree tree = new DijkstraEngine(graph).shortestPathTree(0);
+            float[] expected = bellmanFord(graph, 0);
+
+            //Verify
+            for (int v = 0; v < graph.getVertexCount(); v++) {
+                assertEquals(expected[v], tree.getDistance(v), 0.001f);
+            }
+        }
+    }
+
+    @Test
+    public void verifyThatConcurrentQueriesDoNotInterfere() throws Exception {
+        //Set
+        final CompactGraph graph = CompactGraph.fromGraph(randomGraph(7, 300, 1200));
+        final DijkstraEngine engine = new DijkstraEngine(graph);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<float[]>> results = new ArrayList<>();
+
+        //Test
+        for (int i = 0; i < 32; i++) {
+            final int source = i % 8;
+            results.add(executor.submit(new Callable<float[]>() {
+                @Override
+                public float[] call() throws Exception {
+                    ShortestPathTree tree = engine.shortestPathTree(source);
+                    float[] distances = new float[graph.getVertexCount()];
+                    for (int v = 0; v < distances.length; v++) {
+                        distances[v] = tree.getDistance(v);
+                    }
+                    return distances;
+                }
+            }));
+        }
+        executor.shutdown();
+
+        //Verify
+        for (int i = 0; i < results.size(); i++) {
+            float[] expected = bellmanFord(graph, i % 8);
+            float[] actual = results.get(i).get();
+            for (int v = 0; v < expected.length; v++) {
+                assertEquals(expected[v], actual[v], 0.001f);
+            }
+        }
+    }
+
+    @Test
+    public void verifyThatPointToPointRouteMatchesShortestPathTree() throws Exception {
+        //Set
+        CompactGraph graph = CompactGraph.fromGraph(randomGraph(11, 60, 200));
+        DijkstraEngine engine = new DijkstraEngine(graph);
+        ShortestPathTree tree = engine.shortestPathTree(0);
+
+        for (int target = 0; target < graph.getVertexCount(); target++) {
+            //Test
+            RouteResult route = engine.route(0, target);
+
+            //Verify
+            assertEquals(tree.getDistance(target), route.getCost(), 0.001f);
+            assertEquals(tree.isReachable(target), route.isReachable());
+            if (target != 0 && route.isReachable()) {
+                assertEquals(0, graph.indexOf(route.getPath().getFirst().getVertexId()));
+                assertEquals(target, graph.indexOf(route.getPath().getLast().getVertexId()));
+            } else {
+                assertNull(route.getPath());
+            }
+        }
+        assertTrue(!engine.route(-1, 0).isReachable());
+    }
+}
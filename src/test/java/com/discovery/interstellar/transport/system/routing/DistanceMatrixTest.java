@@ -0,0 +1,116 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import org.junit.Test;
+
+import com.discovery.interstellar.transport.system.entity.Edge;
+import com.discovery.interstellar.transport.system.entity.Vertex;
+import com.discovery.interstellar.transport.system.helper.Graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DistanceMatrixTest {
+
+    @Test
+    public void verifyThatDistancesMatchBellmanFord() throws Exception {
+        for (long seed = 1; seed <= 8; seed++) {
+            //Set
+            Graph source = DijkstraEngineTest.randomGraph(seed, 150, 400);
+            source.setTrafficAllowed(seed % 2 == 0);
+            source.setUndirectedGraph(seed % 3 == 0);
+            CompactGraph graph = CompactGraph.fromGraph(source);
+
+            //Test
+            DistanceMatrix matrix = DistanceMatrix.build(graph);
+
+            //Verify
+            for (int s = 0; s < graph.getVertexCount(); s += 7) {
+                float[] expected = DijkstraEngineTest.bellmanFord(graph, s);
+                for (int t = 0; t < graph.getVertexCount(); t++) {
+                    assertEquals(expected[t], matrix.distance(s, t), 0.001f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void verifyThatRoutesFollowTheSuccessors() throws Exception {
+        //Set
+        CompactGraph graph = CompactGraph.fromGraph(DijkstraEngineTest.randomGraph(9, 100, 300));
+        DistanceMatrix matrix = DistanceMatrix.build(graph);
+        DijkstraEngine dijkstra = new DijkstraEngine(graph);
+
+        for (int s = 0; s < graph.getVertexCount(); s += 9) {
+            for (int t = 0; t < graph.getVertexCount(); t++) {
+                //Test
+                RouteResult expected = dijkstra.route(s, t);
+                RouteResult actual = matrix.route(s, t);
+
+                //Verify
+                assertEquals(expected.isReachable(), actual.isReachable());
+                assertEquals(expected.getCost(), actual.getCost(), 0.001f);
+                if (s != t && actual.isReachable()) {
+                    assertEquals(s, graph.indexOf(actual.getPath().getFirst().getVertexId()));
+                    assertEquals(t, graph.indexOf(actual.getPath().getLast().getVertexId()));
+                    assertEquals(actual.getCost(), BidirectionalDijkstraEngineTest.pathCost(graph, actual.getPath()), 0.001f);
+                } else {
+                    assertNull(actual.getPath());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void verifyThatRoutesOverZeroWeightArcsEnd() throws Exception {
+        //Set
+        Random random = new Random(137);
+        List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 137; i++) {
+            vertices.add(new Vertex("V" + i, "Planet " + i));
+        }
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            edges.add(new Edge(i + 1, String.valueOf(i + 1), "V" + random.nextInt(137), "V" + random.nextInt(137), random.nextInt(3)));
+        }
+        Graph source = new Graph(vertices, edges, new ArrayList<>());
+        source.setUndirectedGraph(true);
+        CompactGraph graph = CompactGraph.fromGraph(source);
+        DistanceMatrix matrix = DistanceMatrix.build(graph);
+        DijkstraEngine dijkstra = new DijkstraEngine(graph);
+
+        for (int s = 0; s < graph.getVertexCount(); s++) {
+            for (int t = 0; t < graph.getVertexCount(); t++) {
+                //Test
+                RouteResult actual = matrix.route(s, t);
+
+                //Verify
+                assertEquals(dijkstra.route(s, t).getCost(), actual.getCost(), 0.001f);
+                if (s != t && actual.isReachable()) {
+                    assertEquals(t, graph.indexOf(actual.getPath().getLast().getVertexId()));
+                    assertTrue(actual.getPath().size() <= graph.getVertexCount());
+                    assertEquals(actual.getCost(), BidirectionalDijkstraEngineTest.pathCost(graph, actual.getPath()), 0.001f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void verifyThatLargeGraphsAreNotSupported() throws Exception {
+        //Set
+        CompactGraph graph = CompactGraph.fromGraph(DijkstraEngineTest.randomGraph(1, DistanceMatrix.MAX_VERTEX_COUNT + 1, 10));
+
+        //Verify
+        assertTrue(!DistanceMatrix.supports(graph));
+        try {
+            DistanceMatrix.build(graph);
+            assertTrue(false);
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Too many vertices"));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.discovery.interstellar.transport.system.entity.Edge;
+import com.discovery.interstellar.transport.system.entity.Traffic;
+import com.discovery.interstellar.transport.system.entity.Vertex;
+import com.discovery.interstellar.transport.system.helper.Graph;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GraphFileTest {
+
+    private static final long SOURCE_STAMP = 42L;
+
+    private final File file = createFile();
+
+    private static File createFile() {
+        try {
+            return Files.createTempFile("graph", ".bin").toFile();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    private static GraphSnapshot buildSnapshot() {
+        List<Vertex> vertices = new ArrayList<>();
+        vertices.add(new Vertex("A", "Earth"));
+        vertices.add(new Vertex("B", "Moon"));
+        vertices.add(new Vertex("C", null));
+        vertices.add(new Vertex("a", "Duplicate"));
+
+        List<Edge> edges = new ArrayList<>();
+        edges.add(new Edge(1, "1", "A", "B", 0.44f));
+        edges.add(new Edge(2, "2", "B", "C", 1.89f, 0.5f));
+        edges.add(new Edge(3, "3", "C", "Z", 2.5f));
+        edges.add(new Edge(4, null, "b", "A", 3f));
+
+        List<Traffic> traffics = new ArrayList<>();
+        traffics.add(new Traffic("1", "A", "B", 0.30f));
+
+        return new GraphSnapshot(1, new Graph(vertices, edges, traffics));
+    }
+
+    private static void assertSameGraph(CompactGraph expected, CompactGraph actual) {
+        assertEquals(expected.getVertexCount(), actual.getVertexCount());
+        assertEquals(expected.fingerprint(), actual.fingerprint());
+        assertEquals(expected.isTrafficAllowed(), actual.isTrafficAllowed());
+        for (int v = 0; v < expected.getVertexCount(); v++) {
+            assertEquals(expected.getVertex(v).getVertexId(), actual.getVertex(v).getVertexId());
+            assertEquals(expected.getVertex(v).getName(), actual.getVertex(v).getName());
+            assertEquals(v, actual.indexOf(expected.getVertex(v).getVertexId()));
+        }
+    }
+
+    @Test
+    public void verifyThatSnapshotIsReadBackFromFile() throws Exception {
+        //Set
+        GraphSnapshot written = buildSnapshot();
+
+        //Test
+        GraphFile.write(written, SOURCE_STAMP, file);
+        GraphSnapshot read = GraphFile.read(file, SOURCE_STAMP, 7);
+
+        //Verify
+        assertEquals(7, read.getVersion());
+        assertEquals(4, read.getVertexes().size());
+        assertNull(read.getVertexById("C").getName());
+        assertEquals("Earth", read.getVertexById("A").getName());
+        assertEquals("a", read.getVertexByName("Duplicate").getVertexId());
+        for (boolean traffic : new boolean[] {false, true}) {
+            for (boolean undirected : new boolean[] {false, true}) {
+                assertSameGraph(written.getCompactGraph(traffic, undirected), read.getCompactGraph(traffic, undirected));
+            }
+        }
+        assertEquals(written.getEdges().size(), read.getEdges().size());
+        for (int i = 0; i < written.getEdges().size(); i++) {
+            Edge expected = written.getEdges().get(i);
+            Edge actual = read.getEdges().get(i);
+            assertEquals(expected.getRecordId(), actual.getRecordId());
+            assertEquals(expected.getEdgeId(), actual.getEdgeId());
+            assertEquals(expected.getSource(), actual.getSource());
+            assertEquals(expected.getDestination(), actual.getDestination());
+            assertEquals(expected.getDistance(), actual.getDistance(), 0f);
+            assertEquals(expected.getTimeDelay(), actual.getTimeDelay(), 0f);
+        }
+        assertEquals(1, read.getTraffics().size());
+        assertEquals(0.30f, read.getTraffics().get(0).getDelay(), 0f);
+        assertEquals("Island Z", read.getCompactGraph(false, false).getVertexOrIsland("Z").getName());
+    }
+
+    @Test
+    public void verifyThatRoutesAreTheSameAfterReading() throws Exception {
+        //Set
+        GraphSnapshot written = buildSnapshot();
+        GraphFile.write(written, SOURCE_STAMP, file);
+
+        //Test
+        GraphSnapshot read = GraphFile.read(file, SOURCE_STAMP, 1);
+
+        //Verify
+        for (boolean traffic : new boolean[] {false, true}) {
+            ShortestPathTree expected = new DijkstraEngine(written.getCompactGraph(traffic, false)).shortestPathTree(0);
+            ShortestPathTree actual = new DijkstraEngine(read.getCompactGraph(traffic, false)).shortestPathTree(0);
+            for (int v = 0; v < written.getCompactGraph(traffic, false).getVertexCount(); v++) {
+                assertEquals(expected.getDistance(v), actual.getDistance(v), 0f);
+            }
+        }
+    }
+
+    @Test
+    public void verifyThatFileOfAnotherSourceIsRejected() throws Exception {
+        //Set
+        GraphFile.write(buildSnapshot(), SOURCE_STAMP, file);
+
+        //Test
+        try {
+            GraphFile.read(file, SOURCE_STAMP + 1, 1);
+            fail("Expected an IOException");
+        } catch (IOException e) {
+            //Verify
+            assertTrue(e.getMessage().contains("another source"));
+        }
+    }
+
+    @Test
+    public void verifyThatTruncatedFileIsRejected() throws Exception {
+        //Set
+        GraphFile.write(buildSnapshot(), SOURCE_STAMP, file);
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.setLength(randomAccessFile.length() - 3);
+        }
+
+        //Test
+        try {
+            GraphFile.read(file, SOURCE_STAMP, 1);
+            fail("Expected an IOException");
+        } catch (IOException e) {
+            //Verify
+            assertTrue(e.getMessage().contains("Damaged"));
+        }
+    }
+}
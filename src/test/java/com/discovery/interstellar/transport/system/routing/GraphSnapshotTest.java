@@ -0,0 +1,86 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import org.junit.Test;
+
+import com.discovery.interstellar.transport.system.entity.Edge;
+import com.discovery.interstellar.transport.system.entity.Traffic;
+import com.discovery.interstellar.transport.system.entity.Vertex;
+import com.discovery.interstellar.transport.system.helper.Graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GraphSnapshotTest {
+
+    private List<Edge> edges;
+
+    private Graph buildGraph() {
+        List<Vertex> vertices = new ArrayList<>();
+        vertices.add(new Vertex("A", "Earth"));
+        vertices.add(new Vertex("B", "Moon"));
+        vertices.add(new Vertex("C", "Jupiter"));
+
+        edges = new ArrayList<>();
+        edges.add(new Edge(1, "1", "A", "B", 0.44f));
+        edges.add(new Edge(2, "2", "B", "C", 1.89f));
+
+        List<Traffic> traffics = new ArrayList<>();
+        traffics.add(new Traffic("1", "A", "B", 0.30f));
+
+        return new Graph(vertices, edges, traffics);
+    }
+
+    @Test
+    public void verifyThatVertexLookupsAreCorrect() throws Exception {
+        //Test
+        GraphSnapshot snapshot = new GraphSnapshot(3, buildGraph());
+
+        //Verify
+        assertEquals(3, snapshot.getVersion());
+        assertEquals("A", snapshot.getHomeVertex().getVertexId());
+        assertEquals("B", snapshot.getVertexByName("Moon").getVertexId());
+        assertEquals("Jupiter", snapshot.getVertexById("C").getName());
+        assertNull(snapshot.getVertexByName("Pluto"));
+        assertNull(snapshot.getVertexById(null));
+        assertTrue(new GraphSnapshot(1, new Graph(new ArrayList<Vertex>(), new ArrayList<Edge>(), new ArrayList<Traffic>())).isEmpty());
+    }
+
+    @Test
+    public void verifyThatCompactGraphsAreBuiltOncePerVariant() throws Exception {
+        //Set
+        GraphSnapshot snapshot = new GraphSnapshot(1, buildGraph());
+
+        //Test
+        CompactGraph plain = snapshot.getCompactGraph(false, false);
+        CompactGraph traffic = snapshot.getCompactGraph(true, false);
+        CompactGraph undirected = snapshot.getCompactGraph(false, true);
+
+        //Verify
+        assertSame(plain, snapshot.getCompactGraph(false, false));
+        assertNotSame(plain, traffic);
+        assertEquals(2, plain.getArcCount());
+        assertEquals(4, undirected.getArcCount());
+        int a = traffic.indexOf("A");
+        assertEquals(0.74f, traffic.arcWeight(traffic.beginArc(a)), 0.0001f);
+        assertEquals(0.44f, plain.arcWeight(plain.beginArc(plain.indexOf("A"))), 0.0001f);
+    }
+
+    @Test
+    public void verifyThatEntitiesAreNotModified() throws Exception {
+        //Set
+        GraphSnapshot snapshot = new GraphSnapshot(1, buildGraph());
+
+        //Test
+        snapshot.getCompactGraph(true, true);
+
+        //Verify
+        assertEquals(0f, edges.get(0).getTimeDelay(), 0f);
+        assertEquals(0f, snapshot.getEdges().get(0).getTimeDelay(), 0f);
+    }
+}
@@ -0,0 +1,82 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import org.junit.Test;
+
+import com.discovery.interstellar.transport.system.helper.Graph;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HubLabelsTest {
+
+    @Test
+    public void verifyThatDistancesMatchBellmanFord() throws Exception {
+        for (long seed = 1; seed <= 10; seed++) {
+            //Set
+            Graph source = DijkstraEngineTest.randomGraph(seed, 60, 150);
+            source.setTrafficAllowed(seed % 2 == 0);
+            source.setUndirectedGraph(seed % 3 == 0);
+            CompactGraph graph = CompactGraph.fromGraph(source);
+
+            //Test
+            HubLabels labels = HubLabels.build(graph);
+
+            //Verify
+            for (int s = 0; s < graph.getVertexCount(); s++) {
+                float[] expected = DijkstraEngineTest.bellmanFord(graph, s);
+                for (int t = 0; t < graph.getVertexCount(); t++) {
+                    assertEquals(expected[t], labels.distance(s, t), 0.001f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void verifyThatLabelsSurviveWriteAndRead() throws Exception {
+        //Set
+        CompactGraph graph = CompactGraph.fromGraph(DijkstraEngineTest.randomGraph(4, 40, 100));
+        HubLabels labels = HubLabels.build(graph);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //Test
+        labels.write(out);
+        HubLabels read = HubLabels.read(new ByteArrayInputStream(out.toByteArray()), graph);
+
+        //Verify
+        assertEquals(labels.getLabelEntryCount(), read.getLabelEntryCount());
+        for (int s = 0; s < graph.getVertexCount(); s++) {
+            for (int t = 0; t < graph.getVertexCount(); t++) {
+                assertEquals(labels.distance(s, t), read.distance(s, t), 0f);
+            }
+        }
+    }
+
+    @Test
+    public void verifyThatLabelsOfAnotherGraphAreRejected() throws Exception {
+        //Set
+        CompactGraph graph = CompactGraph.fromGraph(DijkstraEngineTest.randomGraph(4, 40, 100));
+        CompactGraph other = CompactGraph.fromGraph(DijkstraEngineTest.randomGraph(5, 40, 100));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HubLabels.build(graph).write(out);
+
+        //Test
+        try {
+            HubLabels.read(new ByteArrayInputStream(out.toByteArray()), other);
+            fail();
+        } catch (IOException e) {
+            //Verify
+            assertTrue(e.getMessage().contains("another graph"));
+        }
+    }
+
+    @Test
+    public void verifyThatUnknownVerticesAreUnreachable() throws Exception {
+        CompactGraph graph = CompactGraph.fromGraph(DijkstraEngineTest.randomGraph(3, 10, 20));
+        assertEquals(Float.POSITIVE_INFINITY, HubLabels.build(graph).distance(-1, 0), 0f);
+    }
+}
@@ -0,0 +1,117 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import org.junit.Test;
+
+import com.discovery.interstellar.transport.system.entity.Vertex;
+import com.discovery.interstellar.transport.system.helper.Graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class KShortestPathsEngineTest {
+
+    private static void collectSimplePathCosts(CompactGraph graph, int current, int target, boolean[] onPath, float cost, List<Float> costs) {
+        if (current == target) {
+            costs.add(cost);
+            return;
+        }
+        onPath[current] = true;
+        float[] best = new float[graph.getVertexCount()];
+        java.util.Arrays.fill(best, Float.POSITIVE_INFINITY);
+        for (int arc = graph.beginArc(current); arc < graph.endArc(current); arc++) {
+            best[graph.arcTarget(arc)] = Math.min(best[graph.arcTarget(arc)], graph.arcWeight(arc));
+        }
+        for (int next = 0; next < best.length; next++) {
+            if (best[next] != Float.POSITIVE_INFINITY && !onPath[next]) {
+                collectSimplePathCosts(graph, next, target, onPath, cost + best[next], costs);
+            }
+        }
+        onPath[current] = false;
+    }
+
+    @Test
+    public void verifyThatRoutesMatchAllSimplePaths() throws Exception {
+        for (long seed = 1; seed <= 12; seed++) {
+            //Set
+            Graph source = DijkstraEngineTest.randomGraph(seed, 9, 24);
+            source.setUndirectedGraph(seed % 3 == 0);
+            CompactGraph graph = CompactGraph.fromGraph(source);
+            KShortestPathsEngine engine = new KShortestPathsEngine(graph);
+
+            for (int s = 0; s < graph.getVertexCount(); s += 2) {
+                for (int t = 0; t < graph.getVertexCount(); t++) {
+                    if (s == t) {
+                        continue;
+                    }
+                    List<Float> expected = new ArrayList<>();
+                    collectSimplePathCosts(graph, s, t, new boolean[graph.getVertexCount()], 0f, expected);
+                    Collections.sort(expected);
+
+                    //Test
+                    List<RouteResult> routes = engine.routes(s, t, 6);
+
+                    //Verify
+                    assertEquals(Math.min(6, expected.size()), routes.size());
+                    Set<List<Vertex>> distinct = new HashSet<>();
+                    for (int i = 0; i < routes.size(); i++) {
+                        RouteResult route = routes.get(i);
+                        assertEquals(expected.get(i), route.getCost(), 0.001f);
+                        assertEquals(s, graph.indexOf(route.getPath().getFirst().getVertexId()));
+                        assertEquals(t, graph.indexOf(route.getPath().getLast().getVertexId()));
+                        assertEquals(route.getCost(), BidirectionalDijkstraEngineTest.pathCost(graph, route.getPath()), 0.001f);
+                        assertEquals(route.getPath().size(), new HashSet<>(route.getPath()).size());
+                        assertTrue(distinct.add(route.getPath()));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void verifyThatFirstRouteIsTheShortestRoute() throws Exception {
+        //Set
+        CompactGraph graph = CompactGraph.fromGraph(DijkstraEngineTest.randomGraph(5, 200, 700));
+        DijkstraEngine dijkstra = new DijkstraEngine(graph);
+        KShortestPathsEngine engine = new KShortestPathsEngine(graph);
+
+        for (int t = 1; t < graph.getVertexCount(); t += 13) {
+            //Test
+            RouteResult expected = dijkstra.route(0, t);
+            List<RouteResult> routes = engine.routes(0, t, 4);
+
+            //Verify
+            if (expected.isReachable()) {
+                assertEquals(expected.getCost(), routes.get(0).getCost(), 0.001f);
+                for (int i = 1; i < routes.size(); i++) {
+                    assertTrue(routes.get(i - 1).getCost() <= routes.get(i).getCost());
+                }
+            } else {
+                assertTrue(routes.isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void verifyThatSourceAndUnknownVerticesAreHandled() throws Exception {
+        //Set
+        CompactGraph graph = CompactGraph.fromGraph(DijkstraEngineTest.randomGraph(3, 10, 20));
+        KShortestPathsEngine engine = new KShortestPathsEngine(graph);
+
+        //Test
+        List<RouteResult> same = engine.routes(2, 2, 3);
+
+        //Verify
+        assertEquals(1, same.size());
+        assertNull(same.get(0).getPath());
+        assertEquals(0f, same.get(0).getCost(), 0f);
+        assertTrue(engine.routes(0, -1, 3).isEmpty());
+        assertTrue(engine.routes(0, 1, 0).isEmpty());
+    }
+}
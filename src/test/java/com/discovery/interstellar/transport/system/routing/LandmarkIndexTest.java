@@ -0,0 +1,54 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import org.junit.Test;
+
+import com.discovery.interstellar.transport.system.helper.Graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LandmarkIndexTest {
+
+    @Test
+    public void verifyThatLowerBoundsNeverExceedDistances() throws Exception {
+        for (long seed = 1; seed <= 8; seed++) {
+            //Set
+            Graph source = DijkstraEngineTest.randomGraph(seed, 40, 90);
+            source.setUndirectedGraph(seed % 2 == 0);
+            CompactGraph graph = CompactGraph.fromGraph(source);
+
+            //Test
+            LandmarkIndex index = LandmarkIndex.build(graph, 4);
+
+            //Verify
+            for (int s = 0; s < graph.getVertexCount(); s++) {
+                float[] expected = DijkstraEngineTest.bellmanFord(graph, s);
+                for (int t = 0; t < graph.getVertexCount(); t++) {
+                    float bound = index.lowerBound(s, t);
+                    if (expected[t] == Float.POSITIVE_INFINITY) {
+                        continue;
+                    }
+                    assertTrue(bound <= expected[t] + 0.001f);
+                    assertEquals(0f, index.lowerBound(t, t), 0f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void verifyThatLandmarksAreDistinct() throws Exception {
+        //Set
+        CompactGraph graph = CompactGraph.fromGraph(DijkstraEngineTest.randomGraph(5, 6, 10));
+
+        //Test
+        LandmarkIndex index = LandmarkIndex.build(graph, 20);
+
+        //Verify
+        assertEquals(graph.getVertexCount(), index.getLandmarkCount());
+        for (int i = 0; i < index.getLandmarkCount(); i++) {
+            for (int j = i + 1; j < index.getLandmarkCount(); j++) {
+                assertTrue(index.getLandmark(i) != index.getLandmark(j));
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import org.junit.Test;
+
+import com.discovery.interstellar.transport.system.helper.Graph;
+
+import static org.junit.Assert.assertEquals;
+
+public class ManyToManyEngineTest {
+
+    @Test
+    public void verifyThatDistancesMatchBellmanFord() throws Exception {
+        for (long seed = 1; seed <= 10; seed++) {
+            //Set
+            Graph source = DijkstraEngineTest.randomGraph(seed, 120, 320);
+            source.setTrafficAllowed(seed % 2 == 0);
+            source.setUndirectedGraph(seed % 3 == 0);
+            CompactGraph graph = CompactGraph.fromGraph(source);
+            ManyToManyEngine engine = new ManyToManyEngine(ContractionHierarchy.build(graph));
+            int[] sources = {0, 5, 17, 5, -1, 42, 99};
+            int[] targets = {3, 0, 17, 64, 119, -1, 5, 5};
+
+            //Test
+            float[][] table = engine.distances(sources, targets);
+
+            //Verify
+            assertEquals(sources.length, table.length);
+            for (int i = 0; i < sources.length; i++) {
+                assertEquals(targets.length, table[i].length);
+                float[] expected = sources[i] < 0 ? null : DijkstraEngineTest.bellmanFord(graph, sources[i]);
+                for (int j = 0; j < targets.length; j++) {
+                    float distance = expected == null || targets[j] < 0 ? Float.POSITIVE_INFINITY : expected[targets[j]];
+                    assertEquals(distance, table[i][j], 0.001f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void verifyThatEmptySetsGiveEmptyTables() throws Exception {
+        //Set
+        CompactGraph graph = CompactGraph.fromGraph(DijkstraEngineTest.randomGraph(3, 10, 20));
+        ManyToManyEngine engine = new ManyToManyEngine(ContractionHierarchy.build(graph));
+
+        //Test
+        float[][] noSources = engine.distances(new int[0], new int[]{1, 2});
+        float[][] noTargets = engine.distances(new int[]{1, 2}, new int[0]);
+
+        //Verify
+        assertEquals(0, noSources.length);
+        assertEquals(2, noTargets.length);
+        assertEquals(0, noTargets[0].length);
+    }
+}
@@ -0,0 +1,46 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MinHeapTest {
+
+    @Test
+    public void verifyThatEntriesArePolledInKeyOrder() throws Exception {
+        //Set
+        MinHeap heap = new MinHeap(2);
+        float[] keys = {5f, 1f, 4f, 2f, 3f, 0.5f, 7f};
+
+        //Test
+        for (int i = 0; i < keys.length; i++) {
+            heap.push(i, keys[i]);
+        }
+
+        //Verify
+        assertEquals(7, heap.size());
+        int[] expected = {5, 1, 3, 4, 2, 0, 6};
+        for (int vertex : expected) {
+            assertEquals(keys[vertex], heap.peekKey(), 0f);
+            assertEquals(vertex, heap.poll());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void verifyThatClearEmptiesTheHeap() throws Exception {
+        //Set
+        MinHeap heap = new MinHeap();
+        heap.push(1, 1f);
+        heap.push(2, 2f);
+
+        //Test
+        heap.clear();
+
+        //Verify
+        assertTrue(heap.isEmpty());
+        heap.push(3, 3f);
+        assertEquals(3, heap.peekVertex());
+    }
+}
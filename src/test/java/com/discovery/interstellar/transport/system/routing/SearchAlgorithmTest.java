@@ -0,0 +1,17 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class SearchAlgorithmTest {
+    @Test
+    public void verifyThatSearchAlgorithmHandlingIsCorrect() throws Exception {
+        assertEquals(SearchAlgorithm.BIDIRECTIONAL, SearchAlgorithm.fromString("bidirectional"));
+        assertEquals(SearchAlgorithm.BIDIRECTIONAL, SearchAlgorithm.fromString("Bidirectional Dijkstra"));
+        assertNull(SearchAlgorithm.fromString("teleport"));
+        assertEquals(SearchAlgorithm.DIJKSTRA, SearchAlgorithm.fromStringOrDefault(null));
+        assertEquals(2, SearchAlgorithm.BIDIRECTIONAL.getId());
+    }
+}
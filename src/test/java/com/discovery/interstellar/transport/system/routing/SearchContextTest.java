@@ -0,0 +1,67 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SearchContextTest {
+
+    @Test
+    public void verifyThatResetForgetsThePreviousQuery() throws Exception {
+        //Set
+        SearchContext context = new SearchContext(3);
+        context.update(1, 2.5f, 0);
+        context.settle(1);
+
+        //Test
+        context.reset();
+
+        //Verify
+        assertEquals(Float.POSITIVE_INFINITY, context.distance(1), 0f);
+        assertEquals(-1, context.previous(1));
+        assertFalse(context.isSettled(1));
+        assertTrue(context.heap.isEmpty());
+    }
+
+    @Test
+    public void verifyThatContextsAreReusedPerThreadAndSlot() throws Exception {
+        //Set
+        SearchContext forward = SearchContext.acquire(SearchContext.FORWARD, 4);
+        forward.update(2, 1f, 0);
+
+        //Test
+        SearchContext again = SearchContext.acquire(SearchContext.FORWARD, 3);
+        SearchContext backward = SearchContext.acquire(SearchContext.BACKWARD, 3);
+        SearchContext larger = SearchContext.acquire(SearchContext.FORWARD, forward.getVertexCount() + 1);
+
+        //Verify
+        assertSame(forward, again);
+        assertEquals(Float.POSITIVE_INFINITY, again.distance(2), 0f);
+        assertNotSame(forward, backward);
+        assertNotSame(forward, larger);
+        assertEquals(forward.getVertexCount() + 1, larger.getVertexCount());
+    }
+
+    @Test
+    public void verifyThatCopiesHoldTheDistancesAndPredecessors() throws Exception {
+        //Set
+        SearchContext context = new SearchContext(3);
+        context.update(0, 0f, -1);
+        context.update(2, 4f, 0);
+
+        //Test
+        float[] distances = context.copyDistances(3);
+        int[] predecessors = context.copyPredecessors(3);
+
+        //Verify
+        assertEquals(0f, distances[0], 0f);
+        assertEquals(Float.POSITIVE_INFINITY, distances[1], 0f);
+        assertEquals(4f, distances[2], 0f);
+        assertEquals(-1, predecessors[1]);
+        assertEquals(0, predecessors[2]);
+    }
+}
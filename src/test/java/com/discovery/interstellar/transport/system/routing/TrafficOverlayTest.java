@@ -0,0 +1,54 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import org.junit.Test;
+
+import com.discovery.interstellar.transport.system.entity.Edge;
+import com.discovery.interstellar.transport.system.entity.Traffic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class TrafficOverlayTest {
+
+    @Test
+    public void verifyThatTrafficIsJoinedOnRouteSourceAndDestination() throws Exception {
+        //Set
+        List<Edge> edges = new ArrayList<>();
+        edges.add(new Edge(1, "1", "A", "B", 0.44f));
+        edges.add(new Edge(2, "2", "A", "C", 1.89f));
+        edges.add(new Edge(3, "3", "A", "D", 0.10f));
+        List<Traffic> traffics = new ArrayList<>();
+        traffics.add(new Traffic("1", "a", "b", 0.30f));
+        traffics.add(new Traffic("2", "A", "D", 0.90f));
+        traffics.add(new Traffic("3", "A", "D", 0.20f));
+        traffics.add(new Traffic("3", "A", "D", 0.40f));
+
+        //Test
+        TrafficOverlay overlay = TrafficOverlay.build(edges, traffics);
+
+        //Verify
+        assertEquals(2, overlay.size());
+        assertEquals(0, overlay.getEdgeIndex(0));
+        assertEquals(0.74f, overlay.getWeight(0), 0.0001f);
+        assertEquals(2, overlay.getEdgeIndex(1));
+        assertEquals(0.40f, overlay.getDelay(1), 0.0001f);
+        assertEquals(0.50f, overlay.getWeight(1), 0.0001f);
+        assertEquals(0f, edges.get(0).getTimeDelay(), 0f);
+        assertEquals(0f, edges.get(2).getTimeDelay(), 0f);
+    }
+
+    @Test
+    public void verifyThatMissingTrafficGivesAnEmptyOverlay() throws Exception {
+        //Set
+        List<Edge> edges = new ArrayList<>();
+        edges.add(new Edge(1, "1", "A", "B", 0.44f));
+
+        //Test
+        TrafficOverlay overlay = TrafficOverlay.build(edges, null);
+
+        //Verify
+        assertEquals(0, overlay.size());
+    }
+}
@@ -0,0 +1,43 @@
+package com.discovery.interstellar.transport.system.routing;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class VertexIndexTest {
+
+    @Test
+    public void verifyThatIdsAreFoundIgnoringCase() throws Exception {
+        //Set
+        VertexIndex index = new VertexIndex(2);
+
+        //Test
+        int added = index.putIfAbsent("Earth", 0);
+        int duplicate = index.putIfAbsent("EARTH", 1);
+
+        //Verify
+        assertEquals(VertexIndex.NOT_FOUND, added);
+        assertEquals(0, duplicate);
+        assertEquals(0, index.get("earth"));
+        assertEquals(VertexIndex.NOT_FOUND, index.get("Mars"));
+        assertEquals(VertexIndex.NOT_FOUND, index.get(null));
+    }
+
+    @Test
+    public void verifyThatTheTableGrows() throws Exception {
+        //Set
+        VertexIndex index = new VertexIndex(1);
+
+        //Test
+        for (int i = 0; i < 1000; i++) {
+            index.putIfAbsent("V" + i, i);
+        }
+        index.putIfAbsent(null, 1000);
+
+        //Verify
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, index.get("v" + i));
+        }
+        assertEquals(1000, index.get(null));
+    }
+}
@@ -0,0 +1,200 @@
+package com.discovery.interstellar.transport.system.service;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.discovery.interstellar.transport.system.entity.Edge;
+import com.discovery.interstellar.transport.system.entity.Traffic;
+import com.discovery.interstellar.transport.system.entity.Vertex;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DelimitedFileHandlerTest {
+
+    private final List<File> files = new ArrayList<>();
+
+    @After
+    public void tearDown() throws Exception {
+        for (File file : files) {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    private File write(String suffix, String content) throws Exception {
+        File file = Files.createTempFile("interstellar", suffix).toFile();
+        files.add(file);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static DelimitedFileHandler.Row parse(String line) throws Exception {
+        DelimitedFileHandler.Row row = new DelimitedFileHandler.Row((byte) ',');
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        row.map(ByteBuffer.wrap(bytes));
+        row.parse(0, bytes.length, true);
+        return row;
+    }
+
+    @Test
+    public void verifyThatStreamingVerticesFromCsvIsCorrect() throws Exception {
+        //Set
+        File file = write(".csv", "Planet Node,Planet Name\r\nA,Earth\r\n\r\nB,\"Moon, the\"\r\nC,\"Say \"\"hi\"\"\"");
+        List<Vertex> vertexes = new ArrayList<>();
+
+        //Test
+        new DelimitedFileHandler(file).streamVertexes(vertexes::add);
+
+        //Verify
+        assertEquals(3, vertexes.size());
+        assertEquals("A", vertexes.get(0).getVertexId());
+        assertEquals("Earth", vertexes.get(0).getName());
+        assertEquals("B", vertexes.get(1).getVertexId());
+        assertEquals("Moon, the", vertexes.get(1).getName());
+        assertEquals("Say \"hi\"", vertexes.get(2).getName());
+    }
+
+    @Test
+    public void verifyThatStreamingEdgesFromTsvIsCorrect() throws Exception {
+        //Set
+        File file = write(".tsv", "Route Id\tPlanet Origin\tPlanet Destination\tDistance(Light Years)\n"
+                + "1\tA\tB\t0.44\n2.0\tA\tC\t1.89\n3\tB\tC\t\n");
+        List<Edge> edges = new ArrayList<>();
+
+        //Test
+        new DelimitedFileHandler(file).streamEdges(edges::add);
+
+        //Verify
+        assertEquals(3, edges.size());
+        assertEquals(1, edges.get(0).getRecordId());
+        assertEquals("1", edges.get(0).getEdgeId());
+        assertEquals("A", edges.get(0).getSource());
+        assertEquals("B", edges.get(0).getDestination());
+        assertEquals(0.44f, edges.get(0).getDistance(), 0f);
+        assertEquals(2, edges.get(1).getRecordId());
+        assertEquals("2", edges.get(1).getEdgeId());
+        assertEquals(1.89f, edges.get(1).getDistance(), 0f);
+        assertEquals(0f, edges.get(2).getDistance(), 0f);
+        assertSame(edges.get(0).getSource(), edges.get(1).getSource());
+    }
+
+    @Test
+    public void verifyThatStreamingTrafficsFromCsvIsCorrect() throws Exception {
+        //Set
+        File file = write(".csv", "Route Id,Planet Origin,Planet Destination,Traffic Delay\n1,A,B,0.3\n2,A,C,1.2\n");
+        List<Traffic> traffics = new ArrayList<>();
+
+        //Test
+        new DelimitedFileHandler(file).streamTraffics(traffics::add);
+
+        //Verify
+        assertEquals(2, traffics.size());
+        assertEquals("2", traffics.get(1).getRouteId());
+        assertEquals("C", traffics.get(1).getDestination());
+        assertEquals(1.2f, traffics.get(1).getDelay(), 0f);
+    }
+
+    @Test
+    public void verifyThatTextTableIsClearedWhenFull() throws Exception {
+        //Set
+        DelimitedFileHandler.TextTable texts = new DelimitedFileHandler.TextTable();
+        ByteBuffer first = ByteBuffer.wrap("A".getBytes(StandardCharsets.UTF_8));
+        String interned = texts.get(first, 0, 1);
+
+        //Test
+        for (int i = 1; i < DelimitedFileHandler.TextTable.MAX_SIZE; i++) {
+            byte[] bytes = ("V" + i).getBytes(StandardCharsets.UTF_8);
+            texts.get(ByteBuffer.wrap(bytes), 0, bytes.length);
+        }
+        int fullSize = texts.size();
+        String reread = texts.get(first, 0, 1);
+        byte[] next = "W".getBytes(StandardCharsets.UTF_8);
+        texts.get(ByteBuffer.wrap(next), 0, next.length);
+
+        //Verify
+        assertEquals(DelimitedFileHandler.TextTable.MAX_SIZE, fullSize);
+        assertSame(interned, reread);
+        assertEquals(1, texts.size());
+        assertEquals("W", texts.get(ByteBuffer.wrap(next), 0, next.length));
+    }
+
+    @Test
+    public void verifyThatOnlyRepeatedColumnsAreInterned() throws Exception {
+        //Set
+        DelimitedFileHandler.Row row = parse("A,Earth,A");
+
+        //Test
+        String source = row.internedText(0);
+        String name = row.text(1);
+
+        //Verify
+        assertSame(source, row.internedText(2));
+        assertEquals("Earth", name);
+        assertTrue(row.text(0) != source);
+    }
+
+    @Test
+    public void verifyThatInvalidNumberStopsTheImport() throws Exception {
+        //Set
+        File file = write(".csv", "Route Id,Planet Origin,Planet Destination,Distance(Light Years)\n1,A,B,abc\n2,C,D,4\n");
+        List<Edge> edges = new ArrayList<>();
+
+        //Test
+        try {
+            new DelimitedFileHandler(file).streamEdges(edges::add);
+            fail("Expected a GraphImportException");
+        } catch (GraphImportException e) {
+            //Verify
+            assertTrue(e.getMessage().contains("line 2"));
+            assertTrue(edges.isEmpty());
+        }
+    }
+
+    @Test
+    public void verifyThatNumbersAreParsedLikeFloats() throws Exception {
+        String[] numbers = {"0", "7", "-3", "+2.5", "0.44", "12.345", "0.0001", "1e3", "2.5E-2", "123456789.123456789", " 8.75 "};
+        for (String number : numbers) {
+            assertEquals(number, Float.parseFloat(number), (float) parse(number).number(0), 0f);
+        }
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void verifyThatInvalidNumbersAreRejected() throws Exception {
+        parse("12x").number(0);
+    }
+
+    @Test
+    public void verifyThatIncompleteLinesAreLeftForTheNextRegion() throws Exception {
+        DelimitedFileHandler.Row row = new DelimitedFileHandler.Row((byte) ',');
+        byte[] bytes = "A,Earth\nB,Mo".getBytes(StandardCharsets.UTF_8);
+        row.map(ByteBuffer.wrap(bytes));
+
+        assertEquals(8, row.parse(0, bytes.length, false));
+        assertEquals("Earth", row.text(1));
+        assertEquals(-1, row.parse(8, bytes.length, false));
+        assertEquals(bytes.length, row.parse(8, bytes.length, true));
+        assertEquals("Mo", row.text(1));
+    }
+
+    @Test
+    public void verifyThatMissingFieldsAreEmpty() throws Exception {
+        DelimitedFileHandler.Row row = parse("A,,B");
+
+        assertFalse(row.isBlank());
+        assertNull(row.text(1));
+        assertEquals("B", row.text(2));
+        assertTrue(row.isEmpty(3));
+        assertTrue(parse("").isBlank());
+    }
+}
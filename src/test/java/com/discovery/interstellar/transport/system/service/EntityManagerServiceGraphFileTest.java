@@ -0,0 +1,281 @@
+package com.discovery.interstellar.transport.system.service;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.discovery.interstellar.transport.system.dao.EdgeDao;
+import com.discovery.interstellar.transport.system.dao.TrafficDao;
+import com.discovery.interstellar.transport.system.dao.VertexDao;
+import com.discovery.interstellar.transport.system.entity.Edge;
+import com.discovery.interstellar.transport.system.entity.Traffic;
+import com.discovery.interstellar.transport.system.entity.Vertex;
+import com.discovery.interstellar.transport.system.routing.CompactGraph;
+import com.discovery.interstellar.transport.system.routing.DijkstraEngine;
+import com.discovery.interstellar.transport.system.routing.GraphSnapshot;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class EntityManagerServiceGraphFileTest {
+
+    private File directory;
+    private File vertexFile;
+    private File edgeFile;
+    private File trafficFile;
+    private File graphFile;
+    private InMemoryVertexDao vertexDao;
+    private InMemoryEdgeDao edgeDao;
+    private InMemoryTrafficDao trafficDao;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("interstellar-index").toFile();
+        vertexFile = write("vertices.csv", "Planet Node,Planet Name\nA,Earth\nB,Moon\nC,Jupiter\n");
+        edgeFile = write("edges.csv", "Route Id,Planet Origin,Planet Destination,Distance(Light Years)\n1,A,B,0.44\n2,B,C,1.89\n");
+        trafficFile = write("traffics.csv", "Route Id,Planet Origin,Planet Destination,Traffic Delay\n1,A,B,0.30\n");
+        graphFile = new File(directory, "graph.bin");
+        vertexDao = new InMemoryVertexDao();
+        edgeDao = new InMemoryEdgeDao();
+        trafficDao = new InMemoryTrafficDao();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (File file : directory.listFiles()) {
+            Files.deleteIfExists(file.toPath());
+        }
+        Files.deleteIfExists(directory.toPath());
+    }
+
+    private File write(String name, String content) throws Exception {
+        File file = new File(directory, name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private EntityManagerService newService() {
+        return new EntityManagerService(vertexDao, edgeDao, trafficDao, directory.getPath());
+    }
+
+    private EntityManagerService importGraph() {
+        EntityManagerService service = newService();
+        service.clearGraph();
+        service.persistGraph(vertexFile, edgeFile, trafficFile);
+        service.writeGraphSnapshot(vertexFile);
+        return service;
+    }
+
+    @Test
+    public void verifyThatMatchingGraphFileIsLoaded() throws Exception {
+        //Set
+        importGraph();
+        EntityManagerService service = newService();
+
+        //Test
+        boolean loaded = service.loadGraphSnapshot(vertexFile);
+
+        //Verify
+        assertTrue(loaded);
+        GraphSnapshot snapshot = service.getGraphSnapshot();
+        assertEquals(3, snapshot.getVertexes().size());
+        assertEquals(2, snapshot.getEdgeCount());
+        assertEquals(1, snapshot.getTrafficCount());
+        assertEquals("Moon", snapshot.getVertexById("B").getName());
+        CompactGraph graph = snapshot.getCompactGraph(false, false);
+        assertEquals(2.33f, new DijkstraEngine(graph).route(graph.indexOf("A"), graph.indexOf("C")).getCost(), 0.001f);
+    }
+
+    @Test
+    public void verifyThatGraphFileOfAnotherSourceIsNotLoaded() throws Exception {
+        //Set
+        importGraph();
+        assertTrue(vertexFile.setLastModified(vertexFile.lastModified() + 60000));
+
+        //Test
+        boolean loaded = newService().loadGraphSnapshot(vertexFile);
+
+        //Verify
+        assertFalse(loaded);
+    }
+
+    @Test
+    public void verifyThatGraphFileIsNotLoadedWhenCountsDiffer() throws Exception {
+        //Set
+        importGraph();
+
+        //Test
+        edgeDao.rows.remove(1);
+        boolean loadedWithoutEdge = newService().loadGraphSnapshot(vertexFile);
+        edgeDao.rows.add(new Edge(2, "2", "B", "C", 1.89f));
+        trafficDao.rows.add(new Traffic("2", "B", "C", 1f));
+        boolean loadedWithExtraTraffic = newService().loadGraphSnapshot(vertexFile);
+
+        //Verify
+        assertFalse(loadedWithoutEdge);
+        assertFalse(loadedWithExtraTraffic);
+    }
+
+    @Test
+    public void verifyThatClearAndImportReplaceTheGraphFile() throws Exception {
+        //Set
+        EntityManagerService service = importGraph();
+        edgeFile = write("edges.csv", "Route Id,Planet Origin,Planet Destination,Distance(Light Years)\n1,A,C,5\n");
+
+        //Test
+        service.clearGraph();
+        assertFalse(graphFile.exists());
+        service.persistGraph(vertexFile, edgeFile, trafficFile);
+        service.writeGraphSnapshot(vertexFile);
+        EntityManagerService restarted = newService();
+
+        //Verify
+        assertEquals(3, vertexDao.rows.size());
+        assertEquals(1, edgeDao.rows.size());
+        assertTrue(restarted.loadGraphSnapshot(vertexFile));
+        assertEquals(1, restarted.getGraphSnapshot().getEdgeCount());
+    }
+
+    @Test
+    public void verifyThatGraphChangeDropsTheGraphFile() throws Exception {
+        //Set
+        EntityManagerService service = importGraph();
+        assertTrue(graphFile.exists());
+
+        //Test
+        service.saveEdge(new Edge(3, "3", "C", "A", 1f));
+
+        //Verify
+        assertFalse(graphFile.exists());
+        assertFalse(newService().loadGraphSnapshot(vertexFile));
+    }
+
+    @Test
+    public void verifyThatFailedImportLeavesNoGraphFile() throws Exception {
+        //Set
+        EntityManagerService service = importGraph();
+        edgeFile = write("edges.csv", "Route Id,Planet Origin,Planet Destination,Distance(Light Years)\n1,A,B,abc\n");
+
+        //Test
+        try {
+            service.persistGraph(vertexFile, edgeFile, trafficFile);
+            fail("Expected a GraphImportException");
+        } catch (GraphImportException e) {
+            //Verify
+            assertFalse(graphFile.exists());
+        }
+    }
+
+    private static class InMemoryVertexDao extends VertexDao {
+        private final List<Vertex> rows = new ArrayList<>();
+
+        InMemoryVertexDao() {
+            super(null);
+        }
+
+        @Override
+        public void save(Vertex vertex) {
+            rows.add(vertex);
+        }
+
+        @Override
+        public void saveBatch(List<Vertex> vertexes) {
+            rows.addAll(vertexes);
+        }
+
+        @Override
+        public int deleteAll() {
+            int count = rows.size();
+            rows.clear();
+            return count;
+        }
+
+        @Override
+        public long count() {
+            return rows.size();
+        }
+
+        @Override
+        public List<Vertex> selectAll() {
+            return new ArrayList<>(rows);
+        }
+    }
+
+    private static class InMemoryEdgeDao extends EdgeDao {
+        private final List<Edge> rows = new ArrayList<>();
+
+        InMemoryEdgeDao() {
+            super(null);
+        }
+
+        @Override
+        public void save(Edge edge) {
+            rows.add(edge);
+        }
+
+        @Override
+        public void saveBatch(List<Edge> edges) {
+            rows.addAll(edges);
+        }
+
+        @Override
+        public int deleteAll() {
+            int count = rows.size();
+            rows.clear();
+            return count;
+        }
+
+        @Override
+        public long count() {
+            return rows.size();
+        }
+
+        @Override
+        public List<Edge> selectAll() {
+            return new ArrayList<>(rows);
+        }
+    }
+
+    private static class InMemoryTrafficDao extends TrafficDao {
+        private final List<Traffic> rows = new ArrayList<>();
+
+        InMemoryTrafficDao() {
+            super(null);
+        }
+
+        @Override
+        public void save(Traffic traffic) {
+            rows.add(traffic);
+        }
+
+        @Override
+        public void saveBatch(List<Traffic> traffics) {
+            rows.addAll(traffics);
+        }
+
+        @Override
+        public int deleteAll() {
+            int count = rows.size();
+            rows.clear();
+            return count;
+        }
+
+        @Override
+        public long count() {
+            return rows.size();
+        }
+
+        @Override
+        public List<Traffic> selectAll() {
+            return new ArrayList<>(rows);
+        }
+    }
+}
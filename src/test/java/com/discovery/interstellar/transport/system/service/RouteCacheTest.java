@@ -0,0 +1,84 @@
+package com.discovery.interstellar.transport.system.service;
+
+import org.junit.Test;
+
+import com.discovery.interstellar.transport.system.entity.Edge;
+import com.discovery.interstellar.transport.system.entity.Vertex;
+import com.discovery.interstellar.transport.system.helper.Graph;
+import com.discovery.interstellar.transport.system.routing.GraphSnapshot;
+import com.discovery.interstellar.transport.system.routing.RouteResult;
+import com.discovery.interstellar.transport.system.routing.SearchAlgorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class RouteCacheTest {
+
+    private final RouteCache cache = new RouteCache(new ShortestPathService());
+
+    private static GraphSnapshot buildSnapshot(long version, float distance) {
+        List<Vertex> vertices = new ArrayList<>();
+        vertices.add(new Vertex("A", "Earth"));
+        vertices.add(new Vertex("B", "Moon"));
+        vertices.add(new Vertex("C", "Jupiter"));
+        List<Edge> edges = new ArrayList<>();
+        edges.add(new Edge(1, "1", "A", "B", 1.0f));
+        edges.add(new Edge(2, "2", "B", "C", distance));
+        return new GraphSnapshot(version, new Graph(vertices, edges, new ArrayList<>()));
+    }
+
+    @Test
+    public void verifyThatRepeatedQueriesAreAnsweredFromTheCache() throws Exception {
+        //Set
+        GraphSnapshot snapshot = buildSnapshot(1, 2.0f);
+        Vertex earth = snapshot.getVertexById("A");
+        Vertex jupiter = snapshot.getVertexById("C");
+
+        //Test
+        RouteResult first = cache.findRoute(snapshot, earth, jupiter, false, false, SearchAlgorithm.DIJKSTRA);
+        RouteResult second = cache.findRoute(snapshot, earth, jupiter, false, false, SearchAlgorithm.DIJKSTRA);
+        RouteResult undirected = cache.findRoute(snapshot, earth, jupiter, false, true, SearchAlgorithm.DIJKSTRA);
+
+        //Verify
+        assertSame(first, second);
+        assertNotSame(first, undirected);
+        assertEquals(3.0f, first.getCost(), 0f);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void verifyThatRoutesOfAnOlderGraphVersionAreNotReturned() throws Exception {
+        //Set
+        GraphSnapshot oldSnapshot = buildSnapshot(1, 2.0f);
+        GraphSnapshot newSnapshot = buildSnapshot(2, 5.0f);
+        cache.findRoute(oldSnapshot, oldSnapshot.getVertexById("A"), oldSnapshot.getVertexById("C"), false, false, SearchAlgorithm.DIJKSTRA);
+
+        //Test
+        RouteResult route = cache.findRoute(newSnapshot, newSnapshot.getVertexById("A"), newSnapshot.getVertexById("C"), false, false,
+                SearchAlgorithm.DIJKSTRA);
+
+        //Verify
+        assertEquals(6.0f, route.getCost(), 0f);
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void verifyThatGraphChangeDropsTheRoutes() throws Exception {
+        //Set
+        GraphSnapshot snapshot = buildSnapshot(1, 2.0f);
+        cache.findRoute(snapshot, snapshot.getVertexById("A"), snapshot.getVertexById("B"), false, false, SearchAlgorithm.BIDIRECTIONAL);
+
+        //Test
+        cache.onApplicationEvent(new GraphChangedEvent(this, 2));
+
+        //Verify
+        assertEquals(0, cache.size());
+    }
+}
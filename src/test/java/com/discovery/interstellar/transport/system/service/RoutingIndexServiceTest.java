@@ -0,0 +1,271 @@
+package com.discovery.interstellar.transport.system.service;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.discovery.interstellar.transport.system.entity.Edge;
+import com.discovery.interstellar.transport.system.entity.Vertex;
+import com.discovery.interstellar.transport.system.helper.Graph;
+import com.discovery.interstellar.transport.system.routing.CompactGraph;
+import com.discovery.interstellar.transport.system.routing.ContractionHierarchy;
+import com.discovery.interstellar.transport.system.routing.DistanceMatrix;
+import com.discovery.interstellar.transport.system.routing.GraphSnapshot;
+import com.discovery.interstellar.transport.system.routing.HubLabels;
+import com.discovery.interstellar.transport.system.routing.LandmarkIndex;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RoutingIndexServiceTest {
+
+    private final RoutingIndexService routingIndexService = new RoutingIndexService();
+
+    @After
+    public void tearDown() throws Exception {
+        routingIndexService.shutdown();
+    }
+
+    private static CompactGraph buildGraph() {
+        List<Vertex> vertices = new ArrayList<>();
+        vertices.add(new Vertex("A", "Earth"));
+        vertices.add(new Vertex("B", "Moon"));
+        vertices.add(new Vertex("C", "Jupiter"));
+        List<Edge> edges = new ArrayList<>();
+        edges.add(new Edge(1, "1", "A", "B", 1.0f));
+        edges.add(new Edge(2, "2", "B", "C", 2.0f));
+        return CompactGraph.fromGraph(new Graph(vertices, edges, new ArrayList<>()));
+    }
+
+    private LandmarkIndex awaitLandmarkIndex(CompactGraph graph) throws InterruptedException {
+        LandmarkIndex index = routingIndexService.getLandmarkIndex(graph);
+        for (int i = 0; index == null && i < 500; i++) {
+            Thread.sleep(10);
+            index = routingIndexService.getLandmarkIndex(graph);
+        }
+        return index;
+    }
+
+    @Test
+    public void verifyThatLandmarkIndexIsBuiltInTheBackground() throws Exception {
+        //Set
+        CompactGraph graph = buildGraph();
+
+        //Test
+        LandmarkIndex index = awaitLandmarkIndex(graph);
+
+        //Verify
+        assertNotNull(index);
+        assertSame(graph, index.getGraph());
+        assertSame(index, routingIndexService.getLandmarkIndex(graph));
+    }
+
+    @Test
+    public void verifyThatContractionHierarchyIsBuiltInTheBackground() throws Exception {
+        //Set
+        CompactGraph graph = buildGraph();
+
+        //Test
+        ContractionHierarchy hierarchy = routingIndexService.getContractionHierarchy(graph);
+        for (int i = 0; hierarchy == null && i < 500; i++) {
+            Thread.sleep(10);
+            hierarchy = routingIndexService.getContractionHierarchy(graph);
+        }
+
+        //Verify
+        assertNotNull(hierarchy);
+        assertSame(graph, hierarchy.getGraph());
+    }
+
+    @Test
+    public void verifyThatHubLabelsArePersisted() throws Exception {
+        //Set
+        File directory = Files.createTempDirectory("hub-labels").toFile();
+        CompactGraph graph = buildGraph();
+        RoutingIndexService persistingService = new RoutingIndexService(directory, null);
+        RoutingIndexService restartedService = new RoutingIndexService(directory, null);
+        try {
+            //Test
+            HubLabels built = awaitHubLabels(persistingService, graph);
+            File[] files = directory.listFiles();
+            HubLabels loaded = awaitHubLabels(restartedService, graph);
+
+            //Verify
+            assertNotNull(built);
+            assertEquals(1, files.length);
+            assertNotNull(loaded);
+            assertEquals(3.0f, loaded.distance(0, 2), 0f);
+        } finally {
+            persistingService.shutdown();
+            restartedService.shutdown();
+            for (File file : directory.listFiles()) {
+                file.delete();
+            }
+            directory.delete();
+        }
+    }
+
+    private static HubLabels awaitHubLabels(RoutingIndexService service, CompactGraph graph) throws InterruptedException {
+        HubLabels labels = service.getHubLabels(graph);
+        for (int i = 0; labels == null && i < 500; i++) {
+            Thread.sleep(10);
+            labels = service.getHubLabels(graph);
+        }
+        return labels;
+    }
+
+    @Test
+    public void verifyThatHubLabelsShareTheContractionHierarchy() throws Exception {
+        //Set
+        CompactGraph graph = buildGraph();
+
+        //Test
+        HubLabels labels = awaitHubLabels(routingIndexService, graph);
+        ContractionHierarchy hierarchy = routingIndexService.getContractionHierarchy(graph);
+
+        //Verify
+        assertNotNull(labels);
+        assertNotNull(hierarchy);
+        assertSame(graph, hierarchy.getGraph());
+    }
+
+    @Test
+    public void verifyThatDistanceMatrixIsBuiltInTheBackground() throws Exception {
+        //Set
+        CompactGraph graph = buildGraph();
+
+        //Test
+        DistanceMatrix matrix = routingIndexService.getDistanceMatrix(graph);
+        for (int i = 0; matrix == null && i < 500; i++) {
+            Thread.sleep(10);
+            matrix = routingIndexService.getDistanceMatrix(graph);
+        }
+
+        //Verify
+        assertNotNull(matrix);
+        assertEquals(3.0f, matrix.distance(0, 2), 0f);
+    }
+
+    @Test
+    public void verifyThatFindingDistanceMatrixDoesNotBuildIt() throws Exception {
+        //Set
+        CompactGraph graph = buildGraph();
+
+        //Test
+        DistanceMatrix missing = routingIndexService.findDistanceMatrix(graph);
+        Thread.sleep(100);
+
+        //Verify
+        assertNull(missing);
+        assertNull(routingIndexService.findDistanceMatrix(graph));
+        routingIndexService.getDistanceMatrix(graph);
+        DistanceMatrix found = routingIndexService.findDistanceMatrix(graph);
+        for (int i = 0; found == null && i < 500; i++) {
+            Thread.sleep(10);
+            found = routingIndexService.findDistanceMatrix(graph);
+        }
+        assertNotNull(found);
+    }
+
+    @Test
+    public void verifyThatGraphChangeDropsTheIndexes() throws Exception {
+        //Set
+        CompactGraph graph = buildGraph();
+        LandmarkIndex index = awaitLandmarkIndex(graph);
+
+        //Test
+        routingIndexService.onApplicationEvent(new GraphChangedEvent(this, 2));
+
+        //Verify
+        LandmarkIndex rebuilt = awaitLandmarkIndex(graph);
+        assertNotNull(rebuilt);
+        assertTrue(index != rebuilt);
+    }
+
+    @Test
+    public void verifyThatFailedBuildIsRetried() throws Exception {
+        //Set
+        File directory = Files.createTempDirectory("hub-labels").toFile();
+        CompactGraph graph = buildGraph();
+        RoutingIndexService persistingService = new RoutingIndexService(directory, null);
+        RoutingIndexService restartedService = new RoutingIndexService(directory, null);
+        try {
+            awaitHubLabels(persistingService, graph);
+            File file = directory.listFiles()[0];
+            try (RandomAccessFile damaged = new RandomAccessFile(file, "rw")) {
+                // the last out offset, read as the length of the out labels
+                damaged.seek(20 + 4L * graph.getVertexCount());
+                damaged.writeInt(-1);
+            }
+
+            //Test
+            HubLabels failed = awaitHubLabels(restartedService, graph);
+            assertTrue(file.delete());
+            HubLabels retried = awaitHubLabels(restartedService, graph);
+
+            //Verify
+            assertNull(failed);
+            assertNotNull(retried);
+            assertEquals(3.0f, retried.distance(0, 2), 0f);
+        } finally {
+            persistingService.shutdown();
+            restartedService.shutdown();
+            for (File file : directory.listFiles()) {
+                file.delete();
+            }
+            directory.delete();
+        }
+    }
+
+    @Test
+    public void verifyThatIndexesAreRebuiltAfterCommittedChange() throws Exception {
+        //Set
+        File directory = Files.createTempDirectory("hub-labels").toFile();
+        List<Vertex> vertices = new ArrayList<>();
+        vertices.add(new Vertex("A", "Earth"));
+        vertices.add(new Vertex("B", "Moon"));
+        List<Edge> edges = new ArrayList<>();
+        edges.add(new Edge(1, "1", "A", "B", 1.0f));
+        GraphSnapshot[] snapshot = {new GraphSnapshot(1, new Graph(vertices, edges, new ArrayList<>()))};
+        EntityManagerService entityManagerService = new EntityManagerService(null, null, null) {
+            @Override
+            public GraphSnapshot getGraphSnapshot() {
+                return snapshot[0];
+            }
+        };
+        RoutingIndexService rebuildingService = new RoutingIndexService(directory, entityManagerService);
+        try {
+            awaitHubLabels(rebuildingService, snapshot[0].getCompactGraph(false, false));
+            File oldFile = directory.listFiles()[0];
+            edges.add(new Edge(2, "2", "B", "A", 2.0f));
+            snapshot[0] = new GraphSnapshot(2, new Graph(vertices, edges, new ArrayList<>()));
+            GraphChangedEvent event = new GraphChangedEvent(this, 2);
+
+            //Test
+            rebuildingService.onApplicationEvent(event);
+            rebuildingService.rebuildIndexes(event);
+            for (int i = 0; oldFile.exists() && i < 500; i++) {
+                Thread.sleep(10);
+            }
+
+            //Verify
+            assertFalse(oldFile.exists());
+            assertEquals(1, directory.listFiles().length);
+        } finally {
+            rebuildingService.shutdown();
+            for (File file : directory.listFiles()) {
+                file.delete();
+            }
+            directory.delete();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.discovery.interstellar.transport.system.service;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.discovery.interstellar.transport.system.entity.Edge;
+import com.discovery.interstellar.transport.system.entity.Vertex;
+import com.discovery.interstellar.transport.system.helper.Graph;
+import com.discovery.interstellar.transport.system.routing.CompactGraph;
+import com.discovery.interstellar.transport.system.routing.ContractionHierarchy;
+import com.discovery.interstellar.transport.system.routing.HubLabels;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ShortestPathServiceDistanceTableTest {
+
+    private final RoutingIndexService routingIndexService = new RoutingIndexService();
+
+    private final ShortestPathService shortestPathService = new ShortestPathService(routingIndexService, null);
+
+    private final List<Vertex> vertices = Arrays.asList(new Vertex("A", "Earth"), new Vertex("B", "Moon"),
+            new Vertex("C", "Jupiter"), new Vertex("D", "Venus"));
+
+    @After
+    public void tearDown() throws Exception {
+        routingIndexService.shutdown();
+    }
+
+    private CompactGraph buildGraph() {
+        List<Edge> edges = new ArrayList<>();
+        edges.add(new Edge(1, "1", "A", "B", 1.0f));
+        edges.add(new Edge(2, "2", "B", "C", 2.0f));
+        edges.add(new Edge(3, "3", "A", "C", 4.0f));
+        return CompactGraph.fromGraph(new Graph(vertices, edges, new ArrayList<>()));
+    }
+
+    private static void assertTable(float[][] table) {
+        float infinity = Float.POSITIVE_INFINITY;
+        float[][] expected = {{0f, 3.0f, infinity, infinity}, {infinity, 0f, infinity, infinity}, {infinity, infinity, infinity, infinity}};
+        assertEquals(expected.length, table.length);
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected[i].length; j++) {
+                assertEquals(expected[i][j], table[i][j], 0.001f);
+            }
+        }
+    }
+
+    @Test
+    public void verifyThatDistanceTableDoesNotBuildDistanceMatrix() throws Exception {
+        //Set
+        CompactGraph graph = buildGraph();
+        List<Vertex> sources = Arrays.asList(vertices.get(0), vertices.get(2), null);
+        List<Vertex> targets = Arrays.asList(vertices.get(0), vertices.get(2), vertices.get(3), null);
+
+        //Test
+        float[][] table = shortestPathService.getDistanceTable(graph, sources, targets);
+        for (int i = 0; i < 20; i++) {
+            Thread.sleep(10);
+            table = shortestPathService.getDistanceTable(graph, sources, targets);
+        }
+
+        //Verify
+        assertTable(table);
+        assertNull(routingIndexService.findDistanceMatrix(graph));
+    }
+
+    @Test
+    public void verifyThatDistanceTableUsesHubLabels() throws Exception {
+        //Set
+        CompactGraph graph = buildGraph();
+        List<CompactGraph> labelledGraphs = new ArrayList<>();
+        RoutingIndexService labelledService = new RoutingIndexService() {
+            @Override
+            public HubLabels getHubLabels(CompactGraph g) {
+                labelledGraphs.add(g);
+                return HubLabels.build(g);
+            }
+
+            @Override
+            public ContractionHierarchy getContractionHierarchy(CompactGraph g) {
+                throw new AssertionError("Hub labels are preferred to the contraction hierarchy");
+            }
+        };
+        List<Vertex> sources = Arrays.asList(vertices.get(0), vertices.get(2), null);
+        List<Vertex> targets = Arrays.asList(vertices.get(0), vertices.get(2), vertices.get(3), null);
+
+        try {
+            //Test
+            float[][] table = new ShortestPathService(labelledService, null).getDistanceTable(graph, sources, targets);
+
+            //Verify
+            assertTable(table);
+            assertEquals(1, labelledGraphs.size());
+            assertSame(graph, labelledGraphs.get(0));
+        } finally {
+            labelledService.shutdown();
+        }
+    }
+}
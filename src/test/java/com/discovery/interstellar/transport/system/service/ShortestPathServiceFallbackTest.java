@@ -0,0 +1,46 @@
+package com.discovery.interstellar.transport.system.service;
+
+import org.junit.Test;
+
+import com.discovery.interstellar.transport.system.entity.Edge;
+import com.discovery.interstellar.transport.system.entity.Vertex;
+import com.discovery.interstellar.transport.system.helper.Graph;
+import com.discovery.interstellar.transport.system.routing.CompactGraph;
+import com.discovery.interstellar.transport.system.routing.RouteResult;
+import com.discovery.interstellar.transport.system.routing.SearchAlgorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ShortestPathServiceFallbackTest {
+
+    private static CompactGraph buildGraph(List<Vertex> vertices) {
+        List<Edge> edges = new ArrayList<>();
+        edges.add(new Edge(1, "1", "A", "B", 1.0f));
+        edges.add(new Edge(2, "2", "B", "C", 2.0f));
+        edges.add(new Edge(3, "3", "A", "C", 4.0f));
+        return CompactGraph.fromGraph(new Graph(vertices, edges, new ArrayList<>()));
+    }
+
+    @Test
+    public void verifyThatIndexedAlgorithmsFallBackWithoutIndexService() throws Exception {
+        //Set
+        List<Vertex> vertices = new ArrayList<>();
+        vertices.add(new Vertex("A", "Earth"));
+        vertices.add(new Vertex("B", "Moon"));
+        vertices.add(new Vertex("C", "Jupiter"));
+        CompactGraph graph = buildGraph(vertices);
+        ShortestPathService shortestPathService = new ShortestPathService();
+
+        for (SearchAlgorithm algorithm : SearchAlgorithm.values()) {
+            //Test
+            RouteResult route = shortestPathService.findRoute(graph, vertices.get(0), vertices.get(2), algorithm);
+
+            //Verify
+            assertEquals(algorithm.name(), 3.0f, route.getCost(), 0f);
+            assertEquals(algorithm.name(), 3, route.getPath().size());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.discovery.interstellar.transport.system.service;
+
+import org.junit.Test;
+
+import com.discovery.interstellar.transport.system.entity.Edge;
+import com.discovery.interstellar.transport.system.entity.Vertex;
+import com.discovery.interstellar.transport.system.helper.Graph;
+import com.discovery.interstellar.transport.system.routing.CompactGraph;
+import com.discovery.interstellar.transport.system.routing.RouteResult;
+import com.discovery.interstellar.transport.system.routing.ShortestPathTree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ShortestPathTreeCacheTest {
+
+    private final ShortestPathTreeCache cache = new ShortestPathTreeCache();
+
+    private static CompactGraph buildGraph(boolean undirectedGraph) {
+        List<Vertex> vertices = new ArrayList<>();
+        vertices.add(new Vertex("A", "Earth"));
+        vertices.add(new Vertex("B", "Moon"));
+        vertices.add(new Vertex("C", "Jupiter"));
+        List<Edge> edges = new ArrayList<>();
+        edges.add(new Edge(1, "1", "A", "B", 1.0f));
+        edges.add(new Edge(2, "2", "B", "C", 2.0f));
+        Graph graph = new Graph(vertices, edges, new ArrayList<>());
+        graph.setUndirectedGraph(undirectedGraph);
+        return CompactGraph.fromGraph(graph);
+    }
+
+    @Test
+    public void verifyThatTreesAreReusedPerSourceAndOptions() throws Exception {
+        //Set
+        CompactGraph directed = buildGraph(false);
+        CompactGraph undirected = buildGraph(true);
+        Vertex earth = directed.getVertex(0);
+
+        //Test
+        ShortestPathTree first = cache.getShortestPathTree(directed, earth);
+        ShortestPathTree second = cache.getShortestPathTree(directed, earth);
+        ShortestPathTree other = cache.getShortestPathTree(undirected, earth);
+
+        //Verify
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void verifyThatRoutesAreReadFromTheTree() throws Exception {
+        //Set
+        CompactGraph graph = buildGraph(false);
+
+        //Test
+        ShortestPathTree tree = cache.getShortestPathTree(graph, graph.getVertex(0));
+        RouteResult route = tree.getRoute(2);
+
+        //Verify
+        assertEquals(3.0f, route.getCost(), 0f);
+        assertEquals(3, route.getPath().size());
+        assertNull(tree.getRoute(0).getPath());
+        assertTrue(!tree.getRoute(-1).isReachable());
+    }
+
+    @Test
+    public void verifyThatGraphChangeDropsTheTrees() throws Exception {
+        //Set
+        CompactGraph graph = buildGraph(false);
+        ShortestPathTree tree = cache.getShortestPathTree(graph, graph.getVertex(0));
+
+        //Test
+        cache.onApplicationEvent(new GraphChangedEvent(this, 2));
+
+        //Verify
+        assertEquals(0, cache.size());
+        assertNotSame(tree, cache.getShortestPathTree(graph, graph.getVertex(0)));
+    }
+
+    @Test
+    public void verifyThatTreesOfAnotherGraphAreNotReturned() throws Exception {
+        //Set
+        CompactGraph oldGraph = buildGraph(false);
+        CompactGraph newGraph = buildGraph(false);
+        ShortestPathTree oldTree = cache.getShortestPathTree(oldGraph, oldGraph.getVertex(0));
+
+        //Test
+        ShortestPathTree newTree = cache.getShortestPathTree(newGraph, newGraph.getVertex(0));
+
+        //Verify
+        assertNotSame(oldTree, newTree);
+        assertSame(newGraph, newTree.getGraph());
+    }
+
+    @Test
+    public void verifyThatFindingTreeDoesNotComputeIt() throws Exception {
+        //Set
+        CompactGraph graph = buildGraph(false);
+
+        //Test
+        ShortestPathTree missing = cache.findShortestPathTree(graph, graph.getVertex(1));
+        ShortestPathTree computed = cache.getShortestPathTree(graph, graph.getVertex(1));
+
+        //Verify
+        assertNull(missing);
+        assertSame(computed, cache.findShortestPathTree(graph, graph.getVertex(1)));
+        assertNull(cache.findShortestPathTree(buildGraph(false), graph.getVertex(1)));
+    }
+
+    @Test
+    public void verifyThatCacheIsBoundedByVertices() throws Exception {
+        //Set
+        ShortestPathTreeCache boundedCache = new ShortestPathTreeCache(64, 8);
+        CompactGraph graph = buildLine(4);
+
+        //Test
+        ShortestPathTree first = boundedCache.getShortestPathTree(graph, graph.getVertex(0));
+        boundedCache.getShortestPathTree(graph, graph.getVertex(1));
+        boundedCache.getShortestPathTree(graph, graph.getVertex(2));
+
+        //Verify
+        assertEquals(2, boundedCache.size());
+        assertEquals(8, boundedCache.getCachedVertices());
+        assertNull(boundedCache.findShortestPathTree(graph, graph.getVertex(0)));
+        assertNotSame(first, boundedCache.getShortestPathTree(graph, graph.getVertex(0)));
+    }
+
+    @Test
+    public void verifyThatOnlyHomePlanetRoutesComputeTrees() throws Exception {
+        //Set
+        CompactGraph graph = buildGraph(false);
+        ShortestPathService service = new ShortestPathService(null, cache);
+
+        //Test
+        RouteResult fromMoon = service.findRoute(graph, graph.getVertex(1), graph.getVertex(2));
+        int sizeAfterMoon = cache.size();
+        RouteResult fromEarth = service.findRoute(graph, graph.getVertex(0), graph.getVertex(2));
+
+        //Verify
+        assertEquals(2.0f, fromMoon.getCost(), 0f);
+        assertEquals(3.0f, fromEarth.getCost(), 0f);
+        assertEquals(0, sizeAfterMoon);
+        assertEquals(1, cache.size());
+        assertTrue(cache.findShortestPathTree(graph, graph.getVertex(0)) != null);
+    }
+
+    private static CompactGraph buildLine(int size) {
+        List<Vertex> vertices = new ArrayList<>();
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            vertices.add(new Vertex("V" + i, "Planet " + i));
+            if (i > 0) {
+                edges.add(new Edge(i, String.valueOf(i), "V" + (i - 1), "V" + i, 1.0f));
+            }
+        }
+        return CompactGraph.fromGraph(new Graph(vertices, edges, new ArrayList<>()));
+    }
+}
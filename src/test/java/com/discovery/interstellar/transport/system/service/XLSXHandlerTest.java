@@ -11,11 +11,16 @@ import com.discovery.interstellar.transport.system.service.XLSXHandler;
 
 import java.io.File;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 
 import static com.shazam.shazamcrest.MatcherAssert.assertThat;
 import static com.shazam.shazamcrest.matcher.Matchers.sameBeanAs;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 @Ignore
 public class XLSXHandlerTest {
     private static final String EXCEL_FILENAME = "/test.xlsx";
@@ -97,4 +102,86 @@ public class XLSXHandlerTest {
         assertThat(expectedTraffics, sameBeanAs(readTraffics));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void verifyThatStreamingVerticesFromFileIsCorrect() throws Exception {
+        //Set
+        List<Vertex> expectedVertexes = xlsxHandler.readVertexes();
+        List<Vertex> streamedVertexes = new ArrayList<>();
+
+        //Test
+        xlsxHandler.streamVertexes(streamedVertexes::add);
+
+        //Verify
+        assertThat(streamedVertexes, sameBeanAs(expectedVertexes));
+    }
+
+    @Test
+    public void verifyThatStreamingEdgesFromFileIsCorrect() throws Exception {
+        //Set
+        List<Edge> expectedEdges = xlsxHandler.readEdges();
+        List<Edge> streamedEdges = new ArrayList<>();
+
+        //Test
+        xlsxHandler.streamEdges(streamedEdges::add);
+
+        //Verify
+        assertThat(streamedEdges, sameBeanAs(expectedEdges));
+    }
+
+    @Test
+    public void verifyThatStreamingTrafficsFromFileIsCorrect() throws Exception {
+        //Set
+        List<Traffic> expectedTraffics = xlsxHandler.readTraffics();
+        List<Traffic> streamedTraffics = new ArrayList<>();
+
+        //Test
+        xlsxHandler.streamTraffics(streamedTraffics::add);
+
+        //Verify
+        assertThat(streamedTraffics, sameBeanAs(expectedTraffics));
+    }
+
+    @Test
+    public void verifyThatStreamingWorkbookFromFileIsCorrect() throws Exception {
+        //Set
+        List<Vertex> expectedVertexes = xlsxHandler.readVertexes();
+        List<Edge> expectedEdges = xlsxHandler.readEdges();
+        List<Traffic> expectedTraffics = xlsxHandler.readTraffics();
+        List<Vertex> streamedVertexes = new ArrayList<>();
+        List<Edge> streamedEdges = new ArrayList<>();
+        List<Traffic> streamedTraffics = new ArrayList<>();
+
+        //Test
+        xlsxHandler.streamWorkbook(streamedVertexes::add, streamedEdges::add, streamedTraffics::add);
+
+        //Verify
+        assertThat(streamedVertexes, sameBeanAs(expectedVertexes));
+        assertThat(streamedEdges, sameBeanAs(expectedEdges));
+        assertThat(streamedTraffics, sameBeanAs(expectedTraffics));
+    }
+
+    @Test
+    public void verifyThatUnreadableWorkbookStopsTheStream() throws Exception {
+        //Set
+        File file = File.createTempFile("interstellar", ".xlsx");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "Planet Node,Planet Name\nA,Earth\n".getBytes(StandardCharsets.UTF_8));
+        List<Edge> streamedEdges = new ArrayList<>();
+
+        //Test
+        try {
+            new XLSXHandler(file).streamEdges(streamedEdges::add);
+            fail("Expected a GraphImportException");
+        } catch (GraphImportException e) {
+            //Verify
+            assertTrue(streamedEdges.isEmpty());
+        }
+    }
+
+    @Test
+    public void verifyThatColumnIndexIsReadFromCellReference() throws Exception {
+        assertEquals(0, XLSXHandler.columnIndex("A2"));
+        assertEquals(3, XLSXHandler.columnIndex("D17"));
+        assertEquals(27, XLSXHandler.columnIndex("AB1"));
+    }
+}